@@ -41,6 +41,11 @@ android {
     buildFeatures {
         viewBinding = true
     }
+
+    testOptions {
+        // Log e demais chamadas do android.jar devolvem valores padrão nos testes locais
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -51,6 +56,7 @@ dependencies {
     implementation(libs.androidx.navigation.ui)
 
     implementation("com.github.bumptech.glide:glide:4.16.0")
+    implementation("androidx.exifinterface:exifinterface:1.3.7")
 
 
     implementation("androidx.credentials:credentials:1.3.0")
@@ -59,6 +65,8 @@ dependencies {
 
 
     testImplementation(libs.junit)
+    // org.json real nos testes locais; o do android.jar só devolve valores padrão
+    testImplementation(libs.json)
     androidTestImplementation(libs.androidx.junit)
     androidTestImplementation(libs.androidx.espresso.core)
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.example.baseapp.UI;
+
+import static org.junit.Assert.assertTrue;
+
+import android.app.Instrumentation;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.baseapp.R;
+import com.example.baseapp.utils.NavigationMetrics;
+import com.google.android.material.navigation.NavigationView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * Tempo do toque no drawer até o primeiro frame do destino, no host único: alterna Configurações, Perfil
+ * e Home pelo mesmo listener do toque real e publica mediana e p90 (status da instrumentação e Logcat,
+ * tag NavigationSwitchLatency). O procedimento de comparação com o build anterior está em docs/navigation.md.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NavigationSwitchLatencyTest {
+
+    private static final String TAG = "NavigationSwitchLatency";
+    private static final int WARMUP_SWITCHES = 6;
+    private static final int SWITCHES = 60;
+    private static final long TIMEOUT_MS = 5_000;
+    private static final int[] DESTINATIONS = {R.id.nav_settings, R.id.nav_profile, R.id.nav_home};
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+
+    @Test
+    public void drawerSwitch_reportsTapToFirstFrame() {
+        try (ActivityScenario<HomeActivity> scenario = ActivityScenario.launch(HomeActivity.class)) {
+            NavigationView[] drawer = new NavigationView[1];
+            scenario.onActivity(activity -> drawer[0] = activity.findViewById(R.id.nav_drawer));
+
+            // A primeira visita a cada destino infla o fragment do zero; fica fora da amostra
+            for (int i = 0; i < WARMUP_SWITCHES; i++) {
+                switchTo(drawer[0], DESTINATIONS[i % DESTINATIONS.length]);
+            }
+            long[] samples = new long[SWITCHES];
+            for (int i = 0; i < SWITCHES; i++) {
+                samples[i] = switchTo(drawer[0], DESTINATIONS[i % DESTINATIONS.length]);
+            }
+
+            Arrays.sort(samples);
+            long median = samples[SWITCHES / 2];
+            long p90 = samples[SWITCHES * 9 / 10];
+            Log.i(TAG, "Troca de destino: mediana " + median + " ms, p90 " + p90 + " ms em " + SWITCHES + " trocas");
+            Bundle results = new Bundle();
+            results.putLong("switch_median_ms", median);
+            results.putLong("switch_p90_ms", p90);
+            instrumentation.sendStatus(0, results);
+        }
+    }
+
+    // Dispara o item como um toque no drawer e espera o NavigationMetrics fechar a medição
+    private long switchTo(NavigationView drawer, int destinationId) {
+        int[] before = new int[1];
+        instrumentation.runOnMainSync(() -> {
+            before[0] = NavigationMetrics.getSwitchCount();
+            drawer.getMenu().performIdentifierAction(destinationId, 0);
+        });
+        long deadline = SystemClock.uptimeMillis() + TIMEOUT_MS;
+        int[] count = new int[1];
+        long[] last = new long[1];
+        do {
+            SystemClock.sleep(8);
+            instrumentation.runOnMainSync(() -> {
+                count[0] = NavigationMetrics.getSwitchCount();
+                last[0] = NavigationMetrics.getLastSwitchMs();
+            });
+        } while (count[0] == before[0] && SystemClock.uptimeMillis() < deadline);
+        assertTrue("Nenhum frame medido após trocar para " + destinationId, count[0] > before[0]);
+        return last[0];
+    }
+}
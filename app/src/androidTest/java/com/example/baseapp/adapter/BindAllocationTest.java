@@ -0,0 +1,209 @@
+package com.example.baseapp.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.Debug;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.CompoundButton;
+import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.widget.SwitchCompat;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.baseapp.R;
+import com.example.baseapp.model.BooleanSettingItem;
+import com.example.baseapp.model.IntSettingItem;
+import com.example.baseapp.model.ProfileItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bind dos adapters num aparelho, com as views reais dos layouts: um holder reciclado alternando entre
+ * linhas, pelo bind completo e pelo de payload, não aloca nada por bind (contagem do Debug na main
+ * thread), e os listeners registrados na criação do holder continuam os mesmos depois de cada bind.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BindAllocationTest {
+
+    private static final int BINDS = 10_000;
+
+    private final Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+    private Context context;
+    private FrameLayout parent;
+
+    @Before
+    public void setUp() {
+        context = new ContextThemeWrapper(instrumentation.getTargetContext(), R.style.BaseAppTheme);
+        instrumentation.runOnMainSync(() -> parent = new FrameLayout(context));
+    }
+
+    @Test
+    public void settingsBind_doesNotAllocate() {
+        // Mesmo valor de switch nas duas linhas: o setChecked do framework fica fora da conta
+        SettingsAdapter adapter = new SettingsAdapter(context, Arrays.asList(
+                new BooleanSettingItem("Notificações", "Ativar notificações", "notifications_enabled", false),
+                new IntSettingItem("Tamanho do texto", "Em pontos", "text_size", 14, 8, 32)), null);
+        long[] counts = new long[2];
+
+        instrumentation.runOnMainSync(() -> {
+            RecyclerView.ViewHolder holder = adapter.createViewHolder(parent, adapter.getItemViewType(0));
+            List<Object> payloads = Collections.singletonList(SettingItemCallback.PAYLOAD_VALUE);
+            counts[0] = countAllocations(() -> {
+                for (int i = 0; i < BINDS; i++) {
+                    adapter.bindViewHolder(holder, i & 1);
+                }
+            });
+            counts[1] = countAllocations(() -> {
+                for (int i = 0; i < BINDS; i++) {
+                    adapter.onBindViewHolder(holder, i & 1, payloads);
+                }
+            });
+        });
+
+        assertNoAllocationPerBind("bind completo", counts[0]);
+        assertNoAllocationPerBind("bind de payload", counts[1]);
+    }
+
+    @Test
+    public void profileBind_doesNotAllocate() {
+        ProfileAdapter adapter = new ProfileAdapter(context, Arrays.asList(
+                new ProfileItem("name", "Nome", "Usuário Anônimo", false),
+                new ProfileItem("logout", "Sair", "", true)), null);
+        long[] counts = new long[2];
+
+        instrumentation.runOnMainSync(() -> {
+            ProfileAdapter.ProfileViewHolder holder = adapter.createViewHolder(parent, 0);
+            List<Object> payloads = Collections.singletonList(ProfileAdapter.PAYLOAD_VALUE);
+            counts[0] = countAllocations(() -> {
+                for (int i = 0; i < BINDS; i++) {
+                    adapter.bindViewHolder(holder, i & 1);
+                }
+            });
+            counts[1] = countAllocations(() -> {
+                for (int i = 0; i < BINDS; i++) {
+                    adapter.onBindViewHolder(holder, i & 1, payloads);
+                }
+            });
+        });
+
+        assertNoAllocationPerBind("bind completo", counts[0]);
+        assertNoAllocationPerBind("bind de payload", counts[1]);
+    }
+
+    @Test
+    public void settingsRebind_keepsTheHolderListeners() {
+        SettingsAdapter adapter = new SettingsAdapter(context, Arrays.asList(
+                new BooleanSettingItem("Notificações", "Ativar notificações", "notifications_enabled", true),
+                new BooleanSettingItem("Sons", "Tocar sons", "sounds", false),
+                new IntSettingItem("Tamanho do texto", "Em pontos", "text_size", 14, 8, 32)), null);
+
+        instrumentation.runOnMainSync(() -> {
+            RecordingRow row = new RecordingRow(context);
+            RecordingSwitch toggle = new RecordingSwitch(context);
+            SettingsAdapter.SettingViewHolder holder = new SettingsAdapter.SettingViewHolder(row,
+                    new TextView(context), new TextView(context), new TextView(context), toggle,
+                    new SettingsAdapter.SettingViewHolder.Host() {
+                        @Override
+                        public void onToggleChanged(int position, boolean isChecked) {
+                        }
+
+                        @Override
+                        public void onRowClicked(int position) {
+                        }
+                    });
+            assertEquals(Collections.singletonList(holder), row.clickListeners);
+            assertEquals(Collections.singletonList(holder), toggle.checkedListeners);
+
+            // Linha ligada, depois desligada e depois sem switch no mesmo holder reciclado
+            adapter.bindViewHolder(holder, 0);
+            adapter.bindViewHolder(holder, 1);
+            adapter.onBindViewHolder(holder, 0, Collections.singletonList(SettingItemCallback.PAYLOAD_VALUE));
+            adapter.bindViewHolder(holder, 2);
+
+            assertEquals(Collections.singletonList(holder), row.clickListeners);
+            assertEquals(Collections.singletonList(holder), toggle.checkedListeners);
+        });
+    }
+
+    @Test
+    public void profileRebind_keepsTheHolderListener() {
+        ProfileAdapter adapter = new ProfileAdapter(context, Arrays.asList(
+                new ProfileItem("name", "Nome", "Usuário Anônimo", false),
+                new ProfileItem("logout", "Sair", "", true)), null);
+
+        instrumentation.runOnMainSync(() -> {
+            RecordingRow row = new RecordingRow(context);
+            ProfileAdapter.ProfileViewHolder holder = new ProfileAdapter.ProfileViewHolder(row,
+                    new TextView(context), new TextView(context), position -> {
+                    });
+            assertEquals(Collections.singletonList(holder), row.clickListeners);
+
+            adapter.bindViewHolder(holder, 0);
+            adapter.bindViewHolder(holder, 1);
+            adapter.onBindViewHolder(holder, 0, Collections.singletonList(ProfileAdapter.PAYLOAD_VALUE));
+
+            assertEquals(Collections.singletonList(holder), row.clickListeners);
+        });
+    }
+
+    // Objetos alocados pela main thread numa segunda rodada; a primeira aquece o JIT e os caches das views
+    private static long countAllocations(Runnable binds) {
+        binds.run();
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            binds.run();
+            return Debug.getThreadAllocCount();
+        } finally {
+            Debug.stopAllocCounting();
+        }
+    }
+
+    // Um listener ou lambda criado a cada bind somaria ao menos BINDS objetos
+    private static void assertNoAllocationPerBind(String path, long allocations) {
+        assertTrue(path + " alocou " + allocations + " objetos em " + BINDS + " binds", allocations < BINDS / 100);
+    }
+
+    private static final class RecordingRow extends LinearLayout {
+        final List<View.OnClickListener> clickListeners = new ArrayList<>();
+
+        RecordingRow(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void setOnClickListener(View.OnClickListener listener) {
+            clickListeners.add(listener);
+            super.setOnClickListener(listener);
+        }
+    }
+
+    private static final class RecordingSwitch extends SwitchCompat {
+        final List<CompoundButton.OnCheckedChangeListener> checkedListeners = new ArrayList<>();
+
+        RecordingSwitch(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void setOnCheckedChangeListener(CompoundButton.OnCheckedChangeListener listener) {
+            checkedListeners.add(listener);
+            super.setOnCheckedChangeListener(listener);
+        }
+    }
+}
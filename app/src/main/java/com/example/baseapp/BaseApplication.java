@@ -0,0 +1,37 @@
+package com.example.baseapp;
+
+import android.app.Application;
+
+import com.bumptech.glide.Glide;
+import com.example.baseapp.data.AvatarSync;
+import com.example.baseapp.data.PreferencesStore;
+import com.example.baseapp.data.ProfileSync;
+import com.example.baseapp.data.SettingsSchema;
+import com.example.baseapp.utils.AppExecutors;
+
+public class BaseApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        // Inicia a carga das preferências na thread de I/O; o tema salvo (ThemeSwitcher.applySaved, antes de cada
+        // atividade) e o roteamento do LoginActivity usam o mesmo snapshot
+        PreferencesStore.getInstance(this);
+
+        // Singletons caros aquecidos em segundo plano enquanto a primeira atividade é criada;
+        // prioridade baixa para não atrasar a carga das preferências
+        AppExecutors.getInstance().execute(AppExecutors.Pool.IO, "startup-prewarm", AppExecutors.Priority.LOW, this::prewarm);
+    }
+
+    private void prewarm() {
+        // Glide é inicializado no primeiro load (avatar do drawer); fora da main thread aqui
+        Glide.get(this);
+        // Esquema de configurações e índice de busca prontos antes de abrir a tela
+        SettingsSchema.getInstance(this).getSearchIndex();
+        // Edições do perfil que não chegaram ao servidor na execução anterior
+        ProfileSync.getInstance(this).start();
+        // Envio do avatar interrompido na execução anterior
+        AvatarSync.getInstance(this).start();
+    }
+}
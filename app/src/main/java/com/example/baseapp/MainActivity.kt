@@ -4,10 +4,12 @@ import android.content.Intent
 import android.os.Bundle
 import androidx.appcompat.app.AppCompatActivity
 import com.example.baseapp.UI.HomeActivity
+import com.example.baseapp.utils.TraceRecorder
 
 class MainActivity : AppCompatActivity() {
 
     override fun onCreate(savedInstanceState: Bundle?) {
+        TraceRecorder.begin(TRACE_CREATE)
         super.onCreate(savedInstanceState)
         // Operações não ligadas a UI (ex: inicializar serviços, verificar permissões)
         initServices()
@@ -15,9 +17,14 @@ class MainActivity : AppCompatActivity() {
         // Lançar a tela inicial de UI (MenuActivity)
         startActivity(Intent(this, HomeActivity::class.java))
         finish() // Finalizar MainActivity para não ficar na stack
+        TraceRecorder.end(TRACE_CREATE)
     }
 
     private fun initServices() {
         // Adicione lógica não UI aqui, ex: inicializar Firebase, verificar atualizações, etc.
     }
-}
\ No newline at end of file
+
+    companion object {
+        private val TRACE_CREATE = TraceRecorder.register("MainActivity.onCreate")
+    }
+}
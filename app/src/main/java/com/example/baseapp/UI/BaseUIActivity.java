@@ -1,34 +1,86 @@
 package com.example.baseapp.UI;
 
+import android.content.pm.ApplicationInfo;
+import android.content.res.Configuration;
 import android.os.Bundle;
+import android.util.Log;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.credentials.CredentialManager;
+import androidx.credentials.CredentialManagerCallback;
+import androidx.credentials.GetCredentialResponse;
+import androidx.credentials.exceptions.GetCredentialException;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.lifecycle.Lifecycle;
+import androidx.navigation.NavController;
 import com.example.baseapp.R;
+import com.example.baseapp.data.PreferencesStore;
+import com.example.baseapp.data.SessionManager;
+import com.example.baseapp.utils.AppExecutors;
+import com.example.baseapp.utils.FrameTracker;
+import com.example.baseapp.utils.GoogleCredentials;
+import com.example.baseapp.utils.InsetsController;
+import com.example.baseapp.utils.MainThreadIoDetector;
 import com.example.baseapp.utils.NavigationUtils;
+import com.example.baseapp.utils.ThemeSwitcher;
+import com.example.baseapp.utils.TraceRecorder;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.android.material.navigation.NavigationView;
 import androidx.appcompat.widget.Toolbar;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.google.android.libraries.identity.googleid.GoogleIdTokenCredential;
 
-public abstract class BaseUIActivity extends AppCompatActivity {
+public abstract class BaseUIActivity extends AppCompatActivity implements SessionManager.Listener {
+
+    private static final String TAG = "BaseUIActivity";
+    private static final int TRACE_SETUP_NAVIGATION = TraceRecorder.register("BaseUIActivity.setupNavigation");
 
     // Declaração da variável fab para corrigir o erro
     protected FloatingActionButton fab;
     protected BottomNavigationView bottomNavigationView;
+    protected InsetsController insetsController;
+    // Paleta com que a árvore de views foi desenhada; base para remapear as cores após uma troca de tema
+    private ThemeSwitcher.Palette renderedPalette;
+    private boolean themeRefreshPending;
+    // Frames gravados por tela enquanto a atividade está em primeiro plano
+    private FrameTracker.FrameSource frameSource;
+    private String screenName = getClass().getSimpleName();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        // Também quando o processo é recriado direto nesta atividade, sem passar pelo login
+        ThemeSwitcher.applySaved(this);
         super.onCreate(savedInstanceState);
-        // O layout será definido pelas subclasses (HomeActivity ou SettingsActivity)
+        // O layout será definido pelas subclasses (HomeActivity hospeda os destinos de navegação)
+        if (isDebuggable()) {
+            // I/O e chamadas lentas na main thread agrupados por local; relatório via MainThreadIoDetector.logReport()
+            MainThreadIoDetector.install();
+        }
+    }
+
+    protected boolean isDebuggable() {
+        return (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
     }
 
-    protected void setupNavigation() {
+    protected void setupNavigation(NavController navController) {
+        TraceRecorder.begin(TRACE_SETUP_NAVIGATION);
         Toolbar toolbar = findViewById(R.id.toolbar);
         DrawerLayout drawerLayout = findViewById(R.id.drawer_layout);
         NavigationView navigationView = findViewById(R.id.nav_drawer);
 
-        // Configurar menu hamburger e barras transparentes
-        NavigationUtils.setupNavigationDrawer(this, toolbar, drawerLayout, navigationView);
+        // Configurar menu hamburger
+        NavigationUtils.setupNavigationDrawer(this, toolbar, drawerLayout, navigationView, navController);
+
+        // Cada destino tem seus próprios histogramas de frames; o nome do id não muda com o idioma
+        navController.addOnDestinationChangedListener((controller, destination, arguments) -> {
+            screenName = getResources().getResourceEntryName(destination.getId());
+            FrameTracker.getInstance().setScreen(screenName);
+        });
+
+        // Barras transparentes: um único controlador de insets por atividade
+        insetsController = new InsetsController(this);
+        insetsController.install();
+        renderedPalette = ThemeSwitcher.Palette.resolve(this);
 
         // Configurar FloatingActionButton
         fab = findViewById(R.id.fab);
@@ -41,6 +93,88 @@ public abstract class BaseUIActivity extends AppCompatActivity {
         if (bottomNavigationView != null) {
             // Sem listener por enquanto, apenas vitrine
         }
+        TraceRecorder.end(TRACE_SETUP_NAVIGATION);
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        super.onConfigurationChanged(newConfig);
+        if (renderedPalette == null) {
+            return;
+        }
+        // Atividades fora de primeiro plano só atualizam as cores quando voltarem a ser exibidas
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.RESUMED)) {
+            refreshTheme();
+        } else {
+            themeRefreshPending = true;
+        }
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (themeRefreshPending) {
+            refreshTheme();
+        }
+        if (frameSource == null) {
+            frameSource = FrameTracker.sourceFor(this);
+        }
+        FrameTracker frameTracker = FrameTracker.getInstance();
+        frameTracker.setScreen(screenName);
+        frameTracker.attach(frameSource);
+    }
+
+    @Override
+    protected void onPause() {
+        FrameTracker.getInstance().detach();
+        super.onPause();
+    }
+
+    private void refreshTheme() {
+        themeRefreshPending = false;
+        renderedPalette = ThemeSwitcher.reapply(this, renderedPalette);
+        insetsController.onThemeChanged();
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        // Enquanto visível, esta tela renova o token antes que ele expire
+        SessionManager.getInstance(this).setListener(this);
+    }
+
+    // Seleção automática entre as contas já autorizadas; em geral conclui sem mostrar UI
+    @Override
+    public void onReauthenticationDue(SessionManager.Session session) {
+        SessionManager sessionManager = SessionManager.getInstance(this);
+        CredentialManager.create(this).getCredentialAsync(
+                this,
+                GoogleCredentials.buildRequest(this, true),
+                null,
+                AppExecutors.getInstance().executor(AppExecutors.Pool.UI_CRITICAL, "session-reauth", AppExecutors.Priority.HIGH),
+                new CredentialManagerCallback<GetCredentialResponse, GetCredentialException>() {
+                    @Override
+                    public void onResult(GetCredentialResponse response) {
+                        GoogleIdTokenCredential credential = GoogleCredentials.parse(response);
+                        if (credential == null || sessionManager.refresh(credential.getIdToken()) == null) {
+                            runOnUiThread(sessionManager::onReauthenticationFailed);
+                        }
+                    }
+
+                    @Override
+                    public void onError(GetCredentialException e) {
+                        Log.w(TAG, "Reautenticação falhou: " + e.getMessage());
+                        runOnUiThread(sessionManager::onReauthenticationFailed);
+                    }
+                });
+    }
+
+    @Override
+    protected void onStop() {
+        SessionManager.getInstance(this).clearListener(this);
+        super.onStop();
+        // Gravar escritas agrupadas antes que o processo possa ser encerrado em segundo plano
+        PreferencesStore.getInstance(this).flush();
     }
 
     protected abstract int getLayoutId();
@@ -1,36 +1,67 @@
 package com.example.baseapp.UI;
 
 import android.os.Bundle;
+import android.util.Log;
 import android.widget.Toast;
 
-import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.navigation.NavController;
+import androidx.navigation.NavDestination;
+import androidx.navigation.fragment.NavHostFragment;
 import com.example.baseapp.R;
-import com.example.baseapp.utils.NavigationUtils;
-import com.google.android.material.navigation.NavigationView;
-import androidx.appcompat.widget.Toolbar;
+import com.example.baseapp.utils.FrameTracker;
+import com.example.baseapp.utils.MainThreadIoDetector;
+import com.example.baseapp.utils.NavigationMetrics;
+import com.example.baseapp.utils.StartupMetrics;
+import com.example.baseapp.utils.TraceRecorder;
 
+// Atividade única: Home, Configurações e Perfil são destinos do NavHost e compartilham toolbar, drawer e FAB
 public class HomeActivity extends BaseUIActivity {
 
+    private static final int TRACE_CREATE = TraceRecorder.register("HomeActivity.onCreate");
+
+    private NavController navController;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        TraceRecorder.begin(TRACE_CREATE);
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_home);
 
-        Toolbar toolbar = findViewById(R.id.toolbar);
-        DrawerLayout drawerLayout = findViewById(R.id.drawer_layout);
-        NavigationView navigationView = findViewById(R.id.nav_drawer);
+        NavHostFragment navHostFragment = (NavHostFragment) getSupportFragmentManager().findFragmentById(R.id.nav_host_fragment);
+        navController = navHostFragment.getNavController();
+        NavigationMetrics.observe(navHostFragment.getChildFragmentManager());
+
+        // Configurar menu hamburger, barras e FAB uma única vez para todos os destinos
+        setupNavigation(navController);
+
+        // Fecha a medição de inicialização a frio quando vindo direto do roteamento
+        StartupMetrics.reportFirstFrame(this, StartupMetrics.PATH_SIGNED_IN);
+        // Ou a medição do toque no login até aqui
+        StartupMetrics.reportFirstFrame(this, StartupMetrics.PATH_SIGN_IN);
 
-        // Configurar menu hamburger e barras
-        NavigationUtils.setupNavigationDrawer(this, toolbar, drawerLayout, navigationView);
+        // Builds de debug: toque longo no FAB exporta o trace do app (abrir em ui.perfetto.dev)
+        // e os histogramas de frames por tela (Logcat, tag FrameTracker) e o ranking de I/O na main thread (tag MainThreadIo)
+        if (fab != null && isDebuggable()) {
+            fab.setOnLongClickListener(v -> {
+                Log.i("FrameTracker", FrameTracker.getInstance().toJson());
+                MainThreadIoDetector.logReport();
+                TraceRecorder.dumpAsync(this, file -> runOnUiThread(() -> Toast.makeText(this,
+                        file != null ? "Trace salvo em " + file : "Falha ao salvar o trace", Toast.LENGTH_LONG).show()));
+                return true;
+            });
+        }
+        TraceRecorder.end(TRACE_CREATE);
     }
 
     @Override
     protected int getLayoutId() {
-        return 0;
+        return R.layout.activity_home;
     }
 
     @Override
     protected void onFabClicked() {
-        Toast.makeText(this, "FAB clicado na HomeActivity", Toast.LENGTH_SHORT).show();
+        NavDestination destination = navController.getCurrentDestination();
+        CharSequence label = destination != null ? destination.getLabel() : null;
+        Toast.makeText(this, "FAB clicado em " + (label != null ? label : "Home"), Toast.LENGTH_SHORT).show();
     }
-}
\ No newline at end of file
+}
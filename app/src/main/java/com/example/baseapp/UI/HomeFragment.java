@@ -0,0 +1,31 @@
+package com.example.baseapp.UI;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.example.baseapp.R;
+import com.example.baseapp.data.ProfileRepository;
+
+public class HomeFragment extends Fragment {
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_home, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+        TextView greeting = view.findViewById(R.id.home_greeting);
+        ProfileRepository.getInstance(requireContext()).name().observe(getViewLifecycleOwner(),
+                name -> greeting.setText(getString(R.string.home_greeting, name)));
+    }
+}
@@ -1,106 +1,131 @@
 package com.example.baseapp.UI;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Log;
 import android.widget.Button;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
-import androidx.credentials.Credential;
-import androidx.credentials.CredentialManager;
-import androidx.credentials.CustomCredential;
-import androidx.credentials.GetCredentialRequest;
 import androidx.credentials.GetCredentialResponse;
 import androidx.credentials.exceptions.GetCredentialException;
 
 import com.example.baseapp.R;
-import com.google.android.libraries.identity.googleid.GetGoogleIdOption;
+import com.example.baseapp.data.SessionManager;
+import com.example.baseapp.utils.AppExecutors;
+import com.example.baseapp.utils.GoogleCredentials;
+import com.example.baseapp.utils.GoogleSignInFlow;
+import com.example.baseapp.utils.StartupMetrics;
+import com.example.baseapp.utils.ThemeSwitcher;
+import com.example.baseapp.utils.TraceRecorder;
 import com.google.android.libraries.identity.googleid.GoogleIdTokenCredential;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 public class LoginActivity extends AppCompatActivity {
 
-    private CredentialManager credentialManager;
-    private SharedPreferences prefs;
+    // Aberta a partir do perfil para conectar mais uma conta: sem roteamento, volta para quem chamou
+    public static final String EXTRA_ADD_ACCOUNT = "add_account";
+
+    private GoogleSignInFlow signInFlow;
+    private SessionManager sessionManager;
+    private boolean addingAccount;
+    // Resposta do login: o usuário está olhando para a tela esperando por ela
+    private final Executor credentialExecutor = AppExecutors.getInstance()
+            .executor(AppExecutors.Pool.UI_CRITICAL, "credential-callback", AppExecutors.Priority.HIGH);
     private static final String TAG = "LoginActivity";
+    private static final int TRACE_CREATE = TraceRecorder.register("LoginActivity.onCreate");
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        TraceRecorder.begin(TRACE_CREATE);
+        // Antes de o AppCompat aplicar o modo noturno ao contexto: a primeira tela já nasce no tema salvo
+        ThemeSwitcher.applySaved(this);
         super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_login);
+        sessionManager = SessionManager.getInstance(this);
+        addingAccount = getIntent().getBooleanExtra(EXTRA_ADD_ACCOUNT, false);
 
+        // Roteamento: decidir o destino antes de inflar o layout ou preparar o login;
+        // um token vencido não bloqueia a entrada, a Home pede a reautenticação
+        if (!addingAccount && sessionManager.isSignedIn()) {
+            StartupMetrics.onRouteDecided(StartupMetrics.PATH_SIGNED_IN);
+            startActivity(new Intent(this, HomeActivity.class));
+            finish();
+            TraceRecorder.end(TRACE_CREATE);
+            return;
+        }
+        StartupMetrics.onRouteDecided(StartupMetrics.PATH_LOGIN);
 
-        credentialManager = CredentialManager.create(this);
-        prefs = getSharedPreferences("BaseAppPrefs", MODE_PRIVATE);
+        setContentView(R.layout.activity_login);
+        StartupMetrics.reportFirstFrame(this, StartupMetrics.PATH_LOGIN);
+
+        // Pedidos montados e provedor preparado enquanto o usuário lê a tela, não no toque
+        GoogleSignInFlow.CredentialManagerClient client = new GoogleSignInFlow.CredentialManagerClient(this);
+        if (addingAccount) {
+            signInFlow = GoogleSignInFlow.forNewAccount(client, GoogleCredentials.buildAddAccountRequest(this),
+                    credentialExecutor, SystemClock::elapsedRealtime);
+        } else {
+            signInFlow = new GoogleSignInFlow(
+                    client,
+                    GoogleCredentials.buildRequest(this, true),
+                    GoogleCredentials.buildRequest(this, false),
+                    credentialExecutor,
+                    SystemClock::elapsedRealtime);
+        }
+        signInFlow.prepare();
 
         Button googleSignInButton = findViewById(R.id.button_google_sign_in);
         googleSignInButton.setOnClickListener(v -> signInWithGoogle());
+        TraceRecorder.end(TRACE_CREATE);
+    }
 
-        // Verificar se já está logado
-        if (prefs.getString("google_id_token", null) != null) {
-            startActivity(new Intent(this, HomeActivity.class));
-            finish();
+    @Override
+    protected void onDestroy() {
+        if (signInFlow != null) {
+            signInFlow.cancel();
         }
+        super.onDestroy();
     }
 
     private void signInWithGoogle() {
-        GetGoogleIdOption googleIdOption = new GetGoogleIdOption.Builder()
-                .setServerClientId(getString(R.string.default_web_client_id))
-                .setFilterByAuthorizedAccounts(false)
-                .setAutoSelectEnabled(true)
-                .build();
-
-        GetCredentialRequest request = new GetCredentialRequest.Builder()
-                .addCredentialOption(googleIdOption)
-                .build();
-
-        Executor executor = Executors.newSingleThreadExecutor();
-
-        credentialManager.getCredentialAsync(
-                this,
-                request,
-                null, // CancellationSignal
-                executor,
-                new androidx.credentials.CredentialManagerCallback<GetCredentialResponse, GetCredentialException>() {
-                    @Override
-                    public void onResult(GetCredentialResponse response) {
-                        handleSignIn(response);
-                    }
-
-                    @Override
-                    public void onError(GetCredentialException e) {
-                        Log.e(TAG, "Erro ao autenticar com Google: " + e.getMessage());
-                        runOnUiThread(() -> Toast.makeText(LoginActivity.this, "Falha no login: " + e.getMessage(), Toast.LENGTH_SHORT).show());
-                    }
-                }
-        );
+        if (signInFlow.isInFlight()) {
+            return;
+        }
+        StartupMetrics.onSignInTapped();
+        signInFlow.signIn(new GoogleSignInFlow.Callback() {
+            @Override
+            public void onSuccess(GetCredentialResponse response) {
+                handleSignIn(response);
+            }
+
+            @Override
+            public void onError(GetCredentialException e) {
+                Log.e(TAG, "Erro ao autenticar com Google: " + e.getMessage());
+                runOnUiThread(() -> Toast.makeText(LoginActivity.this, "Falha no login: " + e.getMessage(), Toast.LENGTH_SHORT).show());
+            }
+        });
     }
 
     private void handleSignIn(GetCredentialResponse response) {
-        Credential credential = response.getCredential();
-        if (credential instanceof CustomCredential && credential.getType().equals(GoogleIdTokenCredential.TYPE_GOOGLE_ID_TOKEN_CREDENTIAL)) {
-            GoogleIdTokenCredential googleIdTokenCredential = GoogleIdTokenCredential.createFrom(credential.getData());
-            String idToken = googleIdTokenCredential.getIdToken();
-            String displayName = googleIdTokenCredential.getDisplayName() != null ? googleIdTokenCredential.getDisplayName() : "Usuário Anônimo";
-
-            // Salvar dados no SharedPreferences
-            prefs.edit()
-                    .putString("google_id_token", idToken)
-                    .putString("user_name", displayName)
-                    .apply();
-
-            // Executar Toast e navegação na main thread
-            runOnUiThread(() -> {
-                Toast.makeText(LoginActivity.this, "Bem-vindo, " + displayName + "!", Toast.LENGTH_SHORT).show();
-                startActivity(new Intent(LoginActivity.this, HomeActivity.class));
-                finish();
-            });
+        GoogleIdTokenCredential googleIdTokenCredential = GoogleCredentials.parse(response);
+        if (googleIdTokenCredential != null) {
+            // Claims decodificadas uma vez; nome, e-mail e token gravados na partição da conta, que passa a ser a ativa
+            sessionManager.signIn(googleIdTokenCredential.getIdToken(), googleIdTokenCredential.getDisplayName(),
+                    // Executar Toast e navegação na main thread, com a conta já ativa
+                    () -> runOnUiThread(this::onSignedIn));
         } else {
             runOnUiThread(() -> Toast.makeText(LoginActivity.this, "Credencial inválida", Toast.LENGTH_SHORT).show());
         }
     }
+
+    private void onSignedIn() {
+        SessionManager.Session session = sessionManager.getSession();
+        String displayName = session != null && session.getName() != null ? session.getName() : "Usuário Anônimo";
+        Toast.makeText(this, "Bem-vindo, " + displayName + "!", Toast.LENGTH_SHORT).show();
+        if (!addingAccount) {
+            startActivity(new Intent(this, HomeActivity.class));
+        }
+        finish();
+    }
 }
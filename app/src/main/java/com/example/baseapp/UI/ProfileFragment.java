@@ -0,0 +1,338 @@
+package com.example.baseapp.UI;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Bundle;
+import android.provider.MediaStore;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.ProgressBar;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.baseapp.R;
+import com.example.baseapp.adapter.ProfileAdapter;
+import com.example.baseapp.data.AccountRegistry;
+import com.example.baseapp.data.AvatarSync;
+import com.example.baseapp.data.PreferencesStore;
+import com.example.baseapp.data.ProfileRepository;
+import com.example.baseapp.data.ProfileSync;
+import com.example.baseapp.data.SessionManager;
+import com.example.baseapp.model.ProfileItem;
+import com.example.baseapp.utils.AvatarCache;
+import com.example.baseapp.utils.AvatarImporter;
+import com.example.baseapp.utils.PermissionUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProfileFragment extends Fragment {
+
+    private static final String ITEM_NAME = "name";
+    private static final String ITEM_EMAIL = "email";
+    private static final String ITEM_CHANGE_IMAGE = "change_image";
+    private static final String ITEM_EDIT = "edit";
+    private static final String ITEM_SWITCH_ACCOUNT = "switch_account";
+    private static final String ITEM_LOGOUT = "logout";
+
+    private RecyclerView profileList;
+    private ProfileAdapter adapter;
+    private ProfileRepository profile;
+    private ImageView profileImage;
+    private ActivityResultLauncher<Intent> imagePickerLauncher;
+    private ActivityResultLauncher<String> storagePermissionLauncher;
+    private ProgressBar imageProgress;
+    private AvatarImporter avatarImporter;
+    private AvatarCache avatarCache;
+    private AvatarImporter.Task importTask;
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        // Configurar perfil e cache de avatar
+        profile = ProfileRepository.getInstance(requireContext());
+        avatarImporter = new AvatarImporter(requireContext());
+        avatarCache = new AvatarCache(requireContext());
+
+        // Configurar lançador para selecionar imagem
+        imagePickerLauncher = registerForActivityResult(new ActivityResultContracts.StartActivityForResult(), result -> {
+            if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
+                Uri imageUri = result.getData().getData();
+                if (imageUri != null) {
+                    importImage(imageUri);
+                }
+            }
+        });
+
+        storagePermissionLauncher = registerForActivityResult(new ActivityResultContracts.RequestPermission(), granted -> {
+            if (granted) {
+                pickImage();
+                Toast.makeText(requireContext(), "Permissão de armazenamento concedida", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(requireContext(), "Permissão de armazenamento negada", Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_profile, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Configurar ImageView
+        profileImage = view.findViewById(R.id.profile_image);
+        imageProgress = view.findViewById(R.id.profile_image_progress);
+        if (profile.getAvatarKey().isEmpty()) {
+            migrateLegacyImage();
+        }
+
+        // Configurar RecyclerView
+        profileList = view.findViewById(R.id.profile_list);
+        profileList.setLayoutManager(new LinearLayoutManager(requireContext()));
+
+        adapter = new ProfileAdapter(requireContext(), buildProfileItems(), (item, position) -> {
+            if (ITEM_CHANGE_IMAGE.equals(item.getKey())) {
+                if (PermissionUtils.isStoragePermissionGranted(requireContext())) {
+                    pickImage();
+                } else {
+                    storagePermissionLauncher.launch(PermissionUtils.getStoragePermission());
+                }
+            } else if (ITEM_EDIT.equals(item.getKey())) {
+                showEditProfileDialog();
+            } else if (ITEM_SWITCH_ACCOUNT.equals(item.getKey())) {
+                showAccountsDialog();
+            } else if (ITEM_LOGOUT.equals(item.getKey())) {
+                performLogout();
+            }
+        });
+        profileList.setAdapter(adapter);
+
+        // Cada linha e a imagem acompanham apenas o seu campo; o valor atual chega na inscrição
+        profile.name().observe(getViewLifecycleOwner(), name -> adapter.updateItem(nameItem(name)));
+        profile.email().observe(getViewLifecycleOwner(), email -> adapter.updateItem(emailItem(email)));
+        profile.avatarKey().observe(getViewLifecycleOwner(),
+                key -> avatarCache.loadInto(requireActivity(), key, AvatarCache.Variant.LARGE, profileImage));
+    }
+
+    @Override
+    public void onDestroyView() {
+        // A importação em andamento é cancelada pelo lifecycle da view (bindTo)
+        importTask = null;
+        profileList = null;
+        adapter = null;
+        profileImage = null;
+        imageProgress = null;
+        super.onDestroyView();
+    }
+
+    public void performLogout() {
+        // Desconecta só a conta ativa; se houver outra, ela assume e a tela continua aberta
+        Activity activity = requireActivity();
+        SessionManager sessionManager = SessionManager.getInstance(activity);
+        cancelImport();
+        sessionManager.signOut(() -> activity.runOnUiThread(() -> {
+            // O flush grava antes que a atividade seja encerrada
+            PreferencesStore.getInstance(activity).flush();
+            if (sessionManager.isSignedIn()) {
+                Toast.makeText(activity, "Conta desconectada", Toast.LENGTH_SHORT).show();
+            } else {
+                activity.startActivity(new Intent(activity, LoginActivity.class));
+                activity.finish();
+            }
+        }));
+    }
+
+    // Contas conectadas, com a ativa marcada; escolher outra troca na hora, sem passar pelo login
+    private void showAccountsDialog() {
+        AccountRegistry registry = AccountRegistry.getInstance(requireContext());
+        // Lê as partições inativas enquanto o usuário escolhe
+        registry.warmUp();
+        List<AccountRegistry.Account> accounts = registry.getAccounts();
+        CharSequence[] labels = new CharSequence[accounts.size()];
+        int checked = -1;
+        for (int i = 0; i < accounts.size(); i++) {
+            AccountRegistry.Account account = accounts.get(i);
+            labels[i] = account.getName() + "\n" + account.getEmail();
+            if (account == registry.getActive()) {
+                checked = i;
+            }
+        }
+        new AlertDialog.Builder(requireContext())
+                .setTitle(getString(R.string.profile_switch_account))
+                .setSingleChoiceItems(labels, checked, (dialog, which) -> {
+                    dialog.dismiss();
+                    AccountRegistry.Account account = accounts.get(which);
+                    if (account != registry.getActive()) {
+                        // Uma importação em andamento pertence à conta anterior
+                        cancelImport();
+                        SessionManager.getInstance(requireContext()).switchAccount(account, null);
+                    }
+                })
+                .setNeutralButton(getString(R.string.profile_add_account), (dialog, which) ->
+                        startActivity(new Intent(requireContext(), LoginActivity.class)
+                                .putExtra(LoginActivity.EXTRA_ADD_ACCOUNT, true)))
+                .setNegativeButton("Cancelar", null)
+                .show();
+    }
+
+    private void cancelImport() {
+        if (importTask != null) {
+            importTask.cancel();
+            importTask = null;
+        }
+    }
+
+    private void pickImage() {
+        Intent intent = new Intent(Intent.ACTION_PICK, MediaStore.Images.Media.EXTERNAL_CONTENT_URI);
+        imagePickerLauncher.launch(intent);
+    }
+
+    // Imagens salvas antes das variantes eram cópias em tamanho original; gerar as variantes uma vez
+    private void migrateLegacyImage() {
+        String imagePath = profile.getLegacyImagePath();
+        if (imagePath.isEmpty()) {
+            return;
+        }
+        importTask = avatarImporter.importAsync(Uri.fromFile(new File(imagePath)), new AvatarImporter.Callback() {
+            @Override
+            public void onProgress(int percent) {
+            }
+
+            @Override
+            public void onSuccess(String avatarKey) {
+                importTask = null;
+                profile.setAvatarKey(avatarKey);
+                avatarImporter.confirm(avatarKey);
+                AvatarSync.getInstance(requireContext()).start();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                importTask = null;
+                // Falha temporária (memória, leitura): o caminho fica para a próxima abertura da tela
+                if (AvatarImporter.isPermanent(e)) {
+                    profile.clearLegacyImagePath();
+                }
+            }
+
+            @Override
+            public void onCancelled() {
+            }
+        }).bindTo(getViewLifecycleOwner());
+    }
+
+    private void importImage(Uri imageUri) {
+        if (importTask != null) {
+            importTask.cancel();
+        }
+        imageProgress.setProgress(0);
+        imageProgress.setVisibility(View.VISIBLE);
+
+        // Decodificar, reduzir e recodificar a imagem fora da main thread
+        importTask = avatarImporter.importAsync(imageUri, new AvatarImporter.Callback() {
+            @Override
+            public void onProgress(int percent) {
+                imageProgress.setProgress(percent);
+            }
+
+            @Override
+            public void onSuccess(String avatarKey) {
+                importTask = null;
+                imageProgress.setVisibility(View.GONE);
+                // Esta tela e o cabeçalho do drawer observam a chave e recarregam sozinhos
+                profile.setAvatarKey(avatarKey);
+                avatarImporter.confirm(avatarKey);
+                // Enviado em segundo plano; sem rede, continua de onde parou
+                AvatarSync.getInstance(requireContext()).start();
+                Toast.makeText(requireContext(), "Imagem de perfil atualizada", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onError(Exception e) {
+                importTask = null;
+                imageProgress.setVisibility(View.GONE);
+                Toast.makeText(requireContext(), "Erro ao processar a imagem", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onCancelled() {
+                // Uma nova importação pode ter substituído esta; só esconder se nada estiver em andamento
+                if (importTask == null && imageProgress != null) {
+                    imageProgress.setVisibility(View.GONE);
+                }
+            }
+        }).bindTo(getViewLifecycleOwner());
+    }
+
+    private void showEditProfileDialog() {
+        AlertDialog.Builder builder = new AlertDialog.Builder(requireContext());
+        builder.setTitle(getString(R.string.profile_edit));
+
+        android.widget.LinearLayout layout = new android.widget.LinearLayout(requireContext());
+        layout.setOrientation(android.widget.LinearLayout.VERTICAL);
+        layout.setPadding(32, 16, 32, 16);
+
+        final android.widget.EditText nameInput = new android.widget.EditText(requireContext());
+        nameInput.setHint(getString(R.string.profile_name));
+        nameInput.setText(profile.getName());
+        layout.addView(nameInput);
+
+        final android.widget.EditText emailInput = new android.widget.EditText(requireContext());
+        emailInput.setHint(getString(R.string.profile_email));
+        emailInput.setText(profile.getEmail());
+        layout.addView(emailInput);
+
+        builder.setView(layout);
+
+        builder.setPositiveButton("Salvar", (dialog, which) -> {
+            String newName = nameInput.getText().toString().trim();
+            String newEmail = emailInput.getText().toString().trim();
+            if (!newName.isEmpty() && !newEmail.isEmpty()) {
+                // Aplicado na hora e enviado ao servidor em segundo plano, mesmo sem rede agora
+                ProfileSync.getInstance(requireContext()).edit(newName, newEmail);
+                Toast.makeText(requireContext(), "Perfil atualizado", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(requireContext(), "Preencha todos os campos", Toast.LENGTH_SHORT).show();
+            }
+        });
+        builder.setNegativeButton("Cancelar", null);
+        builder.show();
+    }
+
+    private List<ProfileItem> buildProfileItems() {
+        List<ProfileItem> items = new ArrayList<>();
+        items.add(nameItem(profile.getName()));
+        items.add(emailItem(profile.getEmail()));
+        items.add(new ProfileItem(ITEM_CHANGE_IMAGE, getString(R.string.profile_change_image), "", true));
+        items.add(new ProfileItem(ITEM_EDIT, getString(R.string.profile_edit), "", true));
+        items.add(new ProfileItem(ITEM_SWITCH_ACCOUNT, getString(R.string.profile_switch_account), "", true));
+        items.add(new ProfileItem(ITEM_LOGOUT, getString(R.string.profile_logout), "", true));
+        return items;
+    }
+
+    private ProfileItem nameItem(String name) {
+        return new ProfileItem(ITEM_NAME, getString(R.string.profile_name), name, false);
+    }
+
+    private ProfileItem emailItem(String email) {
+        return new ProfileItem(ITEM_EMAIL, getString(R.string.profile_email), email, false);
+    }
+}
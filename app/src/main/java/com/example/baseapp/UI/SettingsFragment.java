@@ -0,0 +1,207 @@
+package com.example.baseapp.UI;
+
+import android.os.Bundle;
+import android.text.InputType;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.Toast;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.widget.SearchView;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.example.baseapp.R;
+import com.example.baseapp.adapter.SettingsAdapter;
+import com.example.baseapp.data.PrefKeys;
+import com.example.baseapp.data.PreferencesStore;
+import com.example.baseapp.data.SettingsSchema;
+import com.example.baseapp.model.BooleanSettingItem;
+import com.example.baseapp.model.EnumSettingItem;
+import com.example.baseapp.model.IntSettingItem;
+import com.example.baseapp.model.SettingItem;
+import com.example.baseapp.model.StringSettingItem;
+import com.example.baseapp.utils.FrameTracker;
+import com.example.baseapp.utils.NotificationUtils;
+import com.example.baseapp.utils.PermissionUtils;
+import com.example.baseapp.utils.ThemeSwitcher;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SettingsFragment extends Fragment {
+
+    private RecyclerView settingsList;
+    private SettingsAdapter adapter;
+    private PreferencesStore prefs;
+    private SettingsSchema settingsSchema;
+    private ActivityResultLauncher<String> notificationPermissionLauncher;
+
+    @Override
+    public void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        prefs = PreferencesStore.getInstance(requireContext());
+        settingsSchema = SettingsSchema.getInstance(requireContext());
+        notificationPermissionLauncher = registerForActivityResult(new ActivityResultContracts.RequestPermission(),
+                this::onNotificationPermissionResult);
+    }
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_settings, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        // Configurar RecyclerView
+        settingsList = view.findViewById(R.id.settings_list);
+        settingsList.setLayoutManager(new LinearLayoutManager(requireContext()));
+
+        // Itens tipados a partir do esquema em res/xml; só leem o snapshot já carregado
+        List<SettingItem> settingItems = settingsSchema.buildItems(prefs.snapshot());
+
+        adapter = new SettingsAdapter(requireContext(), settingItems, new SettingsAdapter.OnSettingChangeListener() {
+            @Override
+            public void onSettingChanged(SettingItem item, boolean isChecked) {
+                onToggleChanged((BooleanSettingItem) item, isChecked);
+            }
+
+            @Override
+            public void onSettingClicked(SettingItem item) {
+                showValueEditor(item);
+            }
+        });
+        settingsList.setAdapter(adapter);
+
+        // Busca: consulta o índice pré-montado e entrega a lista filtrada ao diff incremental
+        SearchView searchView = view.findViewById(R.id.settings_search);
+        searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
+            @Override
+            public boolean onQueryTextSubmit(String query) {
+                searchView.clearFocus();
+                return true;
+            }
+
+            @Override
+            public boolean onQueryTextChange(String newText) {
+                applySearch(newText);
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        settingsList = null;
+        adapter = null;
+    }
+
+    private void applySearch(String query) {
+        List<SettingItem> allItems = settingsSchema.buildItems(prefs.snapshot());
+        if (query == null || query.trim().isEmpty()) {
+            adapter.submitList(allItems);
+            return;
+        }
+        int[] hits = settingsSchema.getSearchIndex().search(query);
+        List<SettingItem> results = new ArrayList<>(hits.length);
+        for (int index : hits) {
+            results.add(allItems.get(index));
+        }
+        adapter.submitList(results);
+    }
+
+    private void onToggleChanged(BooleanSettingItem item, boolean isChecked) {
+        // Os frames seguintes contam como reação ao switch, separados dos frames ociosos da tela
+        FrameTracker.getInstance().markInteraction(FrameTracker.INTERACTION_TOGGLE);
+        if (PrefKeys.NOTIFICATIONS_ENABLED.getName().equals(item.getKey())) {
+            if (isChecked) {
+                if (PermissionUtils.isNotificationPermissionGranted(requireContext())) {
+                    NotificationUtils.sendTestNotification(requireContext());
+                    prefs.edit().put(PrefKeys.NOTIFICATIONS_ENABLED, true).apply();
+                    Toast.makeText(requireContext(), "Notificações ativadas", Toast.LENGTH_SHORT).show();
+                } else {
+                    notificationPermissionLauncher.launch(PermissionUtils.NOTIFICATION_PERMISSION);
+                    adapter.updateItem(item.withToggleValue(false)); // Reverter até a permissão ser concedida
+                }
+            } else {
+                prefs.edit().put(PrefKeys.NOTIFICATIONS_ENABLED, false).apply();
+                Toast.makeText(requireContext(), "Notificações desativadas", Toast.LENGTH_SHORT).show();
+            }
+        } else if (PrefKeys.THEME_SELECTION.getName().equals(item.getKey())) {
+            prefs.edit().put(PrefKeys.THEME_SELECTION, isChecked).apply();
+            ThemeSwitcher.switchTo(requireActivity(), isChecked);
+            Toast.makeText(requireContext(), "Modo Escuro " + (isChecked ? "ativado" : "desativado"), Toast.LENGTH_SHORT).show();
+        } else {
+            saveSetting(item);
+        }
+    }
+
+    private void onNotificationPermissionResult(boolean granted) {
+        prefs.edit().put(PrefKeys.NOTIFICATIONS_ENABLED, granted).apply();
+        if (adapter != null) {
+            for (SettingItem setting : adapter.getSettingItems()) {
+                if (PrefKeys.NOTIFICATIONS_ENABLED.getName().equals(setting.getKey())) {
+                    adapter.updateItem(((BooleanSettingItem) setting).withToggleValue(granted));
+                    break;
+                }
+            }
+        }
+        if (granted) {
+            NotificationUtils.sendTestNotification(requireContext());
+            Toast.makeText(requireContext(), "Permissão de notificações concedida", Toast.LENGTH_SHORT).show();
+        } else {
+            Toast.makeText(requireContext(), "Permissão de notificações negada", Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    private void saveSetting(SettingItem item) {
+        adapter.updateItem(item);
+        PreferencesStore.Editor editor = prefs.edit();
+        settingsSchema.write(editor, item);
+        editor.apply();
+    }
+
+    private void showValueEditor(SettingItem item) {
+        AlertDialog.Builder builder = new AlertDialog.Builder(requireContext());
+        builder.setTitle(item.getTitle());
+
+        if (item instanceof EnumSettingItem) {
+            EnumSettingItem enumItem = (EnumSettingItem) item;
+            builder.setSingleChoiceItems(enumItem.getLabels(), enumItem.indexOf(enumItem.getStringValue()), (dialog, which) -> {
+                saveSetting(enumItem.withValue(enumItem.getValues()[which]));
+                dialog.dismiss();
+            });
+        } else if (item instanceof IntSettingItem || item instanceof StringSettingItem) {
+            final EditText input = new EditText(requireContext());
+            input.setText(item.getDisplayValue());
+            if (item instanceof IntSettingItem) {
+                input.setInputType(InputType.TYPE_CLASS_NUMBER | InputType.TYPE_NUMBER_FLAG_SIGNED);
+            }
+            builder.setView(input);
+            builder.setPositiveButton("Salvar", (dialog, which) -> {
+                String text = input.getText().toString().trim();
+                if (item instanceof IntSettingItem) {
+                    try {
+                        saveSetting(((IntSettingItem) item).withValue(Integer.parseInt(text)));
+                    } catch (NumberFormatException e) {
+                        Toast.makeText(requireContext(), "Valor inválido", Toast.LENGTH_SHORT).show();
+                    }
+                } else {
+                    saveSetting(((StringSettingItem) item).withValue(text));
+                }
+            });
+            builder.setNegativeButton("Cancelar", null);
+        } else {
+            return;
+        }
+        builder.show();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.baseapp.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.baseapp.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public abstract class IncrementalAdapter<T, VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> {
+
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final DiffUtil.ItemCallback<T> diffCallback;
+    private List<T> items = new ArrayList<>();
+    // Descarta resultados de diffs que já foram superados por uma submissão mais nova
+    private int generation;
+    // Diff ainda na fila; uma submissão mais nova o cancela antes que gaste CPU
+    private AppExecutors.Task pendingDiff;
+    // Lista que o diff em andamento vai aplicar; null sem diff pendente
+    private List<T> pendingTarget;
+
+    protected IncrementalAdapter(List<T> initialItems, DiffUtil.ItemCallback<T> diffCallback) {
+        this.diffCallback = diffCallback;
+        this.items.addAll(initialItems);
+        setHasStableIds(true);
+    }
+
+    protected abstract long getStableId(T item);
+
+    public List<T> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public T getItem(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getStableId(items.get(position));
+    }
+
+    // Substitui a lista inteira; o diff é calculado em segundo plano e só as linhas alteradas são notificadas
+    public void submitList(List<T> newItems) {
+        final int runGeneration = ++generation;
+        final List<T> oldItems = new ArrayList<>(items);
+        final List<T> target = new ArrayList<>(newItems);
+        pendingTarget = target;
+        if (pendingDiff != null) {
+            pendingDiff.cancel();
+        }
+        // Diffs de listas inteiras rodam fora da main thread
+        pendingDiff = AppExecutors.getInstance().execute(AppExecutors.Pool.CPU, "list-diff", () -> {
+            DiffUtil.DiffResult result = ItemDiff.calculate(oldItems, target, diffCallback);
+            MAIN_HANDLER.post(() -> {
+                if (runGeneration != generation) {
+                    return;
+                }
+                items = target;
+                pendingTarget = null;
+                result.dispatchUpdatesTo(this);
+            });
+        });
+    }
+
+    // Atualização síncrona de uma única linha já conhecida; notifica apenas essa posição com payload
+    public void updateItem(@NonNull T newItem) {
+        int index = indexOf(items, newItem);
+        if (index >= 0) {
+            T oldItem = items.get(index);
+            if (!diffCallback.areContentsTheSame(oldItem, newItem)) {
+                items.set(index, newItem);
+                notifyItemChanged(index, diffCallback.getChangePayload(oldItem, newItem));
+            }
+        }
+        if (pendingTarget != null) {
+            // O diff em andamento trocaria a lista por uma sem esta atualização: nova geração contra a lista atual
+            int targetIndex = indexOf(pendingTarget, newItem);
+            if (targetIndex >= 0 && !diffCallback.areContentsTheSame(pendingTarget.get(targetIndex), newItem)) {
+                List<T> updated = new ArrayList<>(pendingTarget);
+                updated.set(targetIndex, newItem);
+                submitList(updated);
+            }
+        }
+    }
+
+    private int indexOf(List<T> list, T item) {
+        for (int i = 0; i < list.size(); i++) {
+            if (diffCallback.areItemsTheSame(list.get(i), item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.baseapp.adapter;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.List;
+
+// Diff de duas listas com as regras de um ItemCallback; sem Handler nem views, roda também na JVM (benchmark)
+final class ItemDiff {
+
+    private ItemDiff() {
+    }
+
+    static <T> DiffUtil.DiffResult calculate(List<T> oldItems, List<T> newItems, DiffUtil.ItemCallback<T> callback) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newItems.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return callback.areItemsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                return callback.areContentsTheSame(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+
+            @Override
+            public Object getChangePayload(int oldPosition, int newPosition) {
+                return callback.getChangePayload(oldItems.get(oldPosition), newItems.get(newPosition));
+            }
+        });
+    }
+}
@@ -6,66 +6,128 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.baseapp.R;
 import com.example.baseapp.model.ProfileItem;
 import java.util.List;
 
-public class ProfileAdapter extends RecyclerView.Adapter<ProfileAdapter.ProfileViewHolder> {
+public class ProfileAdapter extends IncrementalAdapter<ProfileItem, ProfileAdapter.ProfileViewHolder> {
+
+    // Payload de bind parcial: apenas o valor exibido mudou
+    static final Object PAYLOAD_VALUE = new Object();
+
+    private static final DiffUtil.ItemCallback<ProfileItem> DIFF_CALLBACK = new DiffUtil.ItemCallback<ProfileItem>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ProfileItem oldItem, @NonNull ProfileItem newItem) {
+            return oldItem.getKey().equals(newItem.getKey());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ProfileItem oldItem, @NonNull ProfileItem newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull ProfileItem oldItem, @NonNull ProfileItem newItem) {
+            boolean onlyValueChanged = oldItem.getTitle().equals(newItem.getTitle())
+                    && oldItem.isAction() == newItem.isAction();
+            return onlyValueChanged ? PAYLOAD_VALUE : null;
+        }
+    };
 
-    private final List<ProfileItem> profileItems;
     private final Context context;
     private final OnProfileItemClickListener listener;
+    // Criado uma vez por adapter; os view holders resolvem o item pela posição atual
+    private final ProfileViewHolder.Host host = this::onRowClicked;
 
     public interface OnProfileItemClickListener {
         void onItemClick(ProfileItem item, int position);
     }
 
     public ProfileAdapter(Context context, List<ProfileItem> profileItems, OnProfileItemClickListener listener) {
+        super(profileItems, DIFF_CALLBACK);
         this.context = context;
-        this.profileItems = profileItems;
         this.listener = listener;
     }
 
     public void updateItems(List<ProfileItem> newItems) {
-        profileItems.clear();
-        profileItems.addAll(newItems);
-        notifyDataSetChanged();
+        submitList(newItems);
+    }
+
+    @Override
+    protected long getStableId(ProfileItem item) {
+        return item.getKey().hashCode();
+    }
+
+    private void onRowClicked(int position) {
+        ProfileItem item = getItem(position);
+        if (item.isAction() && listener != null) {
+            listener.onItemClick(item, position);
+        }
     }
 
     @NonNull
     @Override
     public ProfileViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_profile, parent, false);
-        return new ProfileViewHolder(view);
+        return new ProfileViewHolder(view, host);
     }
 
     @Override
-    public void onBindViewHolder(@NonNull ProfileViewHolder holder, int position) {
-        ProfileItem item = profileItems.get(position);
-        holder.title.setText(item.getTitle());
-        holder.value.setText(item.getValue());
-        holder.value.setVisibility(item.isAction() ? View.GONE : View.VISIBLE);
-        holder.itemView.setOnClickListener(item.isAction() ? v -> {
-            if (listener != null) {
-                listener.onItemClick(item, position);
-            }
-        } : null);
+    public void onBindViewHolder(@NonNull ProfileViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.contains(PAYLOAD_VALUE)) {
+            holder.bindValue(getItem(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
     }
 
     @Override
-    public int getItemCount() {
-        return profileItems.size();
+    public void onBindViewHolder(@NonNull ProfileViewHolder holder, int position) {
+        holder.bind(getItem(position));
     }
 
-    static class ProfileViewHolder extends RecyclerView.ViewHolder {
-        TextView title;
-        TextView value;
+    static class ProfileViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener {
+
+        interface Host {
+            void onRowClicked(int position);
+        }
+
+        final TextView title;
+        final TextView value;
+        private final Host host;
+
+        ProfileViewHolder(View itemView, Host host) {
+            this(itemView, itemView.findViewById(R.id.profile_title), itemView.findViewById(R.id.profile_value), host);
+        }
 
-        ProfileViewHolder(View itemView) {
+        ProfileViewHolder(View itemView, TextView title, TextView value, Host host) {
             super(itemView);
-            title = itemView.findViewById(R.id.profile_title);
-            value = itemView.findViewById(R.id.profile_value);
+            this.title = title;
+            this.value = value;
+            this.host = host;
+            // Um único listener por holder, registrado na criação e não a cada bind
+            itemView.setOnClickListener(this);
+        }
+
+        void bind(ProfileItem item) {
+            title.setText(item.getTitle());
+            bindValue(item);
+            value.setVisibility(item.isAction() ? View.GONE : View.VISIBLE);
+            itemView.setClickable(item.isAction());
+        }
+
+        void bindValue(ProfileItem item) {
+            value.setText(item.getValue());
+        }
+
+        @Override
+        public void onClick(View v) {
+            int position = getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                host.onRowClicked(position);
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package com.example.baseapp.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.baseapp.model.SettingItem;
+
+// Regras de diff dos itens de configuração, sem views: o SettingsAdapter e o benchmark usam a mesma instância
+final class SettingItemCallback extends DiffUtil.ItemCallback<SettingItem> {
+
+    // Payload de bind parcial: apenas o valor (switch ou texto) mudou
+    static final Object PAYLOAD_VALUE = new Object();
+
+    static final SettingItemCallback INSTANCE = new SettingItemCallback();
+
+    private SettingItemCallback() {
+    }
+
+    @Override
+    public boolean areItemsTheSame(@NonNull SettingItem oldItem, @NonNull SettingItem newItem) {
+        return oldItem.getKey().equals(newItem.getKey());
+    }
+
+    @Override
+    public boolean areContentsTheSame(@NonNull SettingItem oldItem, @NonNull SettingItem newItem) {
+        return oldItem.equals(newItem);
+    }
+
+    @Override
+    public Object getChangePayload(@NonNull SettingItem oldItem, @NonNull SettingItem newItem) {
+        return oldItem.hasSameDefinition(newItem) ? PAYLOAD_VALUE : null;
+    }
+}
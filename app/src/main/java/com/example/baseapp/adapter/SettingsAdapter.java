@@ -4,78 +4,189 @@ import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.CompoundButton;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
-import androidx.appcompat.widget.SwitchCompat;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.baseapp.R;
+import com.example.baseapp.model.BooleanSettingItem;
 import com.example.baseapp.model.SettingItem;
+import com.example.baseapp.model.SettingSection;
 import java.util.List;
 
-public class SettingsAdapter extends RecyclerView.Adapter<SettingsAdapter.SettingViewHolder> {
+public class SettingsAdapter extends IncrementalAdapter<SettingItem, RecyclerView.ViewHolder> {
+
+    private static final int TYPE_SECTION = 0;
+    private static final int TYPE_SETTING = 1;
 
-    private final List<SettingItem> settingItems;
     private final Context context;
     private final OnSettingChangeListener listener;
 
     public interface OnSettingChangeListener {
+        // Um switch foi alternado; o item já traz o novo valor
         void onSettingChanged(SettingItem item, boolean isChecked);
+
+        // Linha sem switch tocada (int, enum, string): a tela decide como editar o valor
+        default void onSettingClicked(SettingItem item) {
+        }
     }
 
     public SettingsAdapter(Context context, List<SettingItem> settingItems, OnSettingChangeListener listener) {
+        super(settingItems, SettingItemCallback.INSTANCE);
         this.context = context;
-        this.settingItems = settingItems;
         this.listener = listener;
     }
 
     public List<SettingItem> getSettingItems() {
-        return settingItems;
+        return getItems();
     }
 
-    @NonNull
     @Override
-    public SettingViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(context).inflate(R.layout.item_setting, parent, false);
-        return new SettingViewHolder(view);
+    protected long getStableId(SettingItem item) {
+        return item.getKey().hashCode();
     }
 
     @Override
-    public void onBindViewHolder(@NonNull SettingViewHolder holder, int position) {
-        SettingItem item = settingItems.get(position);
-        holder.title.setText(item.getTitle());
-        holder.description.setText(item.getDescription());
-        holder.switchCompat.setVisibility(item.isToggle() ? View.VISIBLE : View.GONE);
-        holder.switchCompat.setChecked(item.getToggleValue());
-        holder.switchCompat.setOnCheckedChangeListener((buttonView, isChecked) -> {
-            item.setToggleValue(isChecked);
+    public int getItemViewType(int position) {
+        return getItem(position) instanceof SettingSection ? TYPE_SECTION : TYPE_SETTING;
+    }
+
+    // Criado uma vez por adapter; os view holders resolvem o item pela posição atual
+    private final SettingViewHolder.Host host = new SettingViewHolder.Host() {
+        @Override
+        public void onToggleChanged(int position, boolean isChecked) {
+            SettingItem item = getItem(position);
+            if (!(item instanceof BooleanSettingItem)) {
+                return;
+            }
+            // Registrar o novo estado antes de avisar a tela, que pode revertê-lo
+            SettingItem updated = ((BooleanSettingItem) item).withToggleValue(isChecked);
+            updateItem(updated);
             if (listener != null) {
-                listener.onSettingChanged(item, isChecked);
+                listener.onSettingChanged(updated, isChecked);
             }
-        });
-        if (!item.isToggle()) {
-            holder.itemView.setOnClickListener(v -> {
-                if (listener != null) {
-                    listener.onSettingChanged(item, false);
-                }
-            });
         }
+
+        @Override
+        public void onRowClicked(int position) {
+            SettingItem item = getItem(position);
+            if (!item.isToggle() && listener != null) {
+                listener.onSettingClicked(item);
+            }
+        }
+    };
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(context);
+        if (viewType == TYPE_SECTION) {
+            return new SectionViewHolder(inflater.inflate(R.layout.item_setting_section, parent, false));
+        }
+        View view = inflater.inflate(R.layout.item_setting, parent, false);
+        return new SettingViewHolder(view, host);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (holder instanceof SettingViewHolder && payloads.contains(SettingItemCallback.PAYLOAD_VALUE)) {
+            // Mantém a animação do switch em andamento; só sincroniza o valor
+            ((SettingViewHolder) holder).bindValue(getItem(position));
+            return;
+        }
+        onBindViewHolder(holder, position);
     }
 
     @Override
-    public int getItemCount() {
-        return settingItems.size();
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        if (holder instanceof SectionViewHolder) {
+            ((SectionViewHolder) holder).title.setText(getItem(position).getTitle());
+        } else {
+            ((SettingViewHolder) holder).bind(getItem(position));
+        }
     }
 
-    static class SettingViewHolder extends RecyclerView.ViewHolder {
-        TextView title;
-        TextView description;
-        SwitchCompat switchCompat;
+    static class SectionViewHolder extends RecyclerView.ViewHolder {
+        final TextView title;
 
-        SettingViewHolder(View itemView) {
+        SectionViewHolder(View itemView) {
             super(itemView);
-            title = itemView.findViewById(R.id.setting_title);
-            description = itemView.findViewById(R.id.setting_description);
-            switchCompat = itemView.findViewById(R.id.setting_switch);
+            title = (TextView) itemView;
+        }
+    }
+
+    static class SettingViewHolder extends RecyclerView.ViewHolder
+            implements View.OnClickListener, CompoundButton.OnCheckedChangeListener {
+
+        interface Host {
+            void onToggleChanged(int position, boolean isChecked);
+
+            void onRowClicked(int position);
+        }
+
+        final TextView title;
+        final TextView description;
+        final TextView value;
+        final CompoundButton switchCompat;
+        private final Host host;
+        // Ignora callbacks disparados pelo próprio bind ao reciclar o holder
+        private boolean binding;
+
+        SettingViewHolder(View itemView, Host host) {
+            this(itemView,
+                    itemView.findViewById(R.id.setting_title),
+                    itemView.findViewById(R.id.setting_description),
+                    itemView.findViewById(R.id.setting_value),
+                    itemView.findViewById(R.id.setting_switch),
+                    host);
+        }
+
+        SettingViewHolder(View itemView, TextView title, TextView description, TextView value,
+                          CompoundButton switchCompat, Host host) {
+            super(itemView);
+            this.title = title;
+            this.description = description;
+            this.value = value;
+            this.switchCompat = switchCompat;
+            this.host = host;
+            // Listeners únicos por holder, registrados na criação e não a cada bind
+            itemView.setOnClickListener(this);
+            switchCompat.setOnCheckedChangeListener(this);
+        }
+
+        void bind(SettingItem item) {
+            title.setText(item.getTitle());
+            description.setText(item.getDescription());
+            switchCompat.setVisibility(item.isToggle() ? View.VISIBLE : View.GONE);
+            itemView.setClickable(!item.isToggle());
+            bindValue(item);
+        }
+
+        void bindValue(SettingItem item) {
+            String displayValue = item.getDisplayValue();
+            value.setVisibility(displayValue != null ? View.VISIBLE : View.GONE);
+            value.setText(displayValue);
+            if (switchCompat.isChecked() != item.getToggleValue()) {
+                binding = true;
+                switchCompat.setChecked(item.getToggleValue());
+                binding = false;
+            }
+        }
+
+        @Override
+        public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+            int position = getBindingAdapterPosition();
+            if (!binding && position != RecyclerView.NO_POSITION) {
+                host.onToggleChanged(position, isChecked);
+            }
+        }
+
+        @Override
+        public void onClick(View v) {
+            int position = getBindingAdapterPosition();
+            if (position != RecyclerView.NO_POSITION) {
+                host.onRowClicked(position);
+            }
         }
     }
-}
\ No newline at end of file
+}
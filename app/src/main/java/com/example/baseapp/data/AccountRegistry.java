@@ -0,0 +1,306 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.baseapp.utils.AppExecutors;
+import com.example.baseapp.utils.AvatarImporter;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Contas conectadas: cada uma grava sessão e perfil no seu próprio arquivo de preferências e o avatar no seu
+// diretório. A partição da conta ativa é lida na carga inicial; as das outras só quando são pedidas. Trocar
+// de conta é trocar o ponteiro da conta ativa: nada da conta anterior é apagado ou relido
+public class AccountRegistry {
+
+    public interface Listener {
+        // Chamado na thread que concluiu a troca; account é null quando a última conta sai
+        void onActiveAccountChanged(Account account);
+    }
+
+    private static final String TAG = "AccountRegistry";
+
+    private static volatile AccountRegistry instance;
+
+    private final PreferencesStore prefs;
+    private final File filesDir;
+    // Na ordem em que as contas foram adicionadas; acessada sob o lock da instância
+    private final List<Account> accounts = new ArrayList<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile Account active;
+
+    public static AccountRegistry getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AccountRegistry.class) {
+                if (instance == null) {
+                    instance = new AccountRegistry(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AccountRegistry(Context appContext) {
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.filesDir = appContext.getFilesDir();
+        PreferencesStore.Snapshot snapshot = prefs.snapshot();
+        accounts.addAll(parse(snapshot.get(PrefKeys.ACCOUNTS)));
+        if (accounts.isEmpty()) {
+            migrateLegacy(snapshot);
+        }
+        active = find(snapshot.get(PrefKeys.ACTIVE_ACCOUNT));
+        if (active == null && !accounts.isEmpty()) {
+            active = accounts.get(0);
+            persist();
+        }
+    }
+
+    // Instalações de antes das múltiplas contas: a conta logada continua em "BaseAppPrefs" e no diretório
+    // original, sem copiar nada
+    private void migrateLegacy(PreferencesStore.Snapshot snapshot) {
+        String idToken = snapshot.get(PrefKeys.GOOGLE_ID_TOKEN);
+        if (idToken == null) {
+            return;
+        }
+        SessionManager.Session session = SessionManager.Session.parse(idToken, null);
+        accounts.add(new Account(idFor(session), PreferencesStore.FILE_USER, AvatarImporter.DIRECTORY,
+                snapshot.get(PrefKeys.USER_NAME), snapshot.get(PrefKeys.USER_EMAIL)));
+        persist();
+    }
+
+    // Identificador estável da conta: a claim sub do Google, ou o e-mail em tokens sem ela
+    static String idFor(SessionManager.Session session) {
+        if (session.getSubject() != null) {
+            return session.getSubject();
+        }
+        return session.getEmail() != null ? session.getEmail() : "default";
+    }
+
+    public Account getActive() {
+        return active;
+    }
+
+    public synchronized List<Account> getAccounts() {
+        return Collections.unmodifiableList(new ArrayList<>(accounts));
+    }
+
+    // Chave do perfil ou da sessão na partição da conta ativa; sem conta, o arquivo padrão
+    public <T> PreferencesStore.Key<T> key(PreferencesStore.Key<T> base) {
+        Account current = active;
+        return current != null ? current.key(base) : base;
+    }
+
+    // Diretório de avatares da conta ativa, dentro de getFilesDir()
+    public File getAvatarDirectory() {
+        Account current = active;
+        return new File(filesDir, current != null ? current.avatarDirectory : AvatarImporter.DIRECTORY);
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    // Registra a conta (ou reaproveita a já conhecida) sem ativá-la; pode ser chamado de qualquer thread
+    public synchronized Account add(String id, String name, String email) {
+        Account account = find(id);
+        if (account == null) {
+            String suffix = "_" + id.replaceAll("[^A-Za-z0-9]", "_");
+            account = new Account(id, PreferencesStore.FILE_USER + suffix, AvatarImporter.DIRECTORY + suffix, name, email);
+            accounts.add(account);
+        } else {
+            account.name = name != null ? name : account.name;
+            account.email = email != null ? email : account.email;
+        }
+        persist();
+        return account;
+    }
+
+    // Partição já em memória: a troca acontece na hora, na thread atual. Senão é lida na thread de I/O e a
+    // troca acontece lá; onSwitched (opcional) roda depois dos listeners, na mesma thread
+    public void switchTo(Account account, Runnable onSwitched) {
+        if (prefs.isLoaded(account.prefsFile)) {
+            activate(account, onSwitched);
+        } else {
+            prefs.preload(account.prefsFile, () -> activate(account, onSwitched));
+        }
+    }
+
+    private void activate(Account account, Runnable onSwitched) {
+        synchronized (this) {
+            if (!accounts.contains(account)) {
+                return; // Removida enquanto a partição era lida
+            }
+            active = account;
+            persist();
+        }
+        notifyChanged(account);
+        if (onSwitched != null) {
+            onSwitched.run();
+        }
+    }
+
+    // Antecipa a leitura das partições inativas (ex.: ao abrir a lista de contas), para que a troca seja imediata
+    public void warmUp() {
+        for (Account account : getAccounts()) {
+            if (!prefs.isLoaded(account.prefsFile)) {
+                prefs.preload(account.prefsFile, null);
+            }
+        }
+    }
+
+    // Remove a conta ativa e apaga a partição e os avatares dela; a próxima conta, se houver, assume
+    public void removeActive(Runnable onSwitched) {
+        Account removed;
+        Account next;
+        synchronized (this) {
+            removed = active;
+            if (removed == null) {
+                return;
+            }
+            accounts.remove(removed);
+            next = accounts.isEmpty() ? null : accounts.get(0);
+            // Antes de apagar: a partir daqui key() já aponta para a próxima conta, e nenhuma escrita recria a
+            // partição removida. Escritas feitas antes da leitura da próxima partição prevalecem sobre o disco
+            active = next;
+            persist();
+        }
+        prefs.wipe(removed.prefsFile);
+        File avatars = new File(filesDir, removed.avatarDirectory);
+        AppExecutors.getInstance().execute(AppExecutors.Pool.IO, "account-cleanup", AppExecutors.Priority.LOW, () -> {
+            File[] files = avatars.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            avatars.delete();
+        });
+        if (next == null || prefs.isLoaded(next.prefsFile)) {
+            announce(next, onSwitched);
+        } else {
+            prefs.preload(next.prefsFile, () -> announce(next, onSwitched));
+        }
+    }
+
+    // Listeners avisados só com a partição em memória, para que releiam os valores da conta que assumiu
+    private void announce(Account account, Runnable onSwitched) {
+        if (active != account) {
+            return; // Outra troca aconteceu enquanto a partição era lida
+        }
+        notifyChanged(account);
+        if (onSwitched != null) {
+            onSwitched.run();
+        }
+    }
+
+    // Nome e e-mail exibidos na lista de contas, sem precisar ler a partição de cada uma
+    public synchronized void updateLabel(Account account, String name, String email) {
+        if (!accounts.contains(account)) {
+            return;
+        }
+        account.name = name;
+        account.email = email;
+        persist();
+    }
+
+    private void notifyChanged(Account account) {
+        for (Listener listener : listeners) {
+            listener.onActiveAccountChanged(account);
+        }
+    }
+
+    private Account find(String id) {
+        if (id == null) {
+            return null;
+        }
+        for (Account account : accounts) {
+            if (account.id.equals(id)) {
+                return account;
+            }
+        }
+        return null;
+    }
+
+    // Lista, conta ativa e partição dela num único apply; a partição é lida na carga inicial seguinte
+    private void persist() {
+        JSONArray array = new JSONArray();
+        try {
+            for (Account account : accounts) {
+                array.put(new JSONObject()
+                        .put("id", account.id)
+                        .put("file", account.prefsFile)
+                        .put("avatars", account.avatarDirectory)
+                        .put("name", account.name)
+                        .put("email", account.email));
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        Account current = active;
+        prefs.edit()
+                .put(PrefKeys.ACCOUNTS, array.toString())
+                .put(PrefKeys.ACTIVE_ACCOUNT, current != null ? current.id : null)
+                .put(PrefKeys.ACTIVE_PARTITION, current != null ? current.prefsFile : null)
+                .apply();
+    }
+
+    private static List<Account> parse(String json) {
+        List<Account> parsed = new ArrayList<>();
+        try {
+            JSONArray array = new JSONArray(json);
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject item = array.getJSONObject(i);
+                parsed.add(new Account(item.getString("id"), item.getString("file"), item.getString("avatars"),
+                        item.optString("name", null), item.optString("email", null)));
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Lista de contas ilegível; as contas precisarão entrar de novo", e);
+            parsed.clear();
+        }
+        return parsed;
+    }
+
+    public static final class Account {
+        private final String id;
+        private final String prefsFile;
+        private final String avatarDirectory;
+        private volatile String name;
+        private volatile String email;
+
+        Account(String id, String prefsFile, String avatarDirectory, String name, String email) {
+            this.id = id;
+            this.prefsFile = prefsFile;
+            this.avatarDirectory = avatarDirectory;
+            this.name = name;
+            this.email = email;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        <T> PreferencesStore.Key<T> key(PreferencesStore.Key<T> base) {
+            return base.inFile(prefsFile);
+        }
+    }
+}
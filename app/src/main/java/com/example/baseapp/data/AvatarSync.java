@@ -0,0 +1,155 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.util.Log;
+
+import com.example.baseapp.R;
+import com.example.baseapp.utils.AppExecutors;
+import com.example.baseapp.utils.AvatarCache;
+import com.example.baseapp.utils.ChunkedUploader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+// Leva o avatar da conta ativa ao servidor com o ChunkedUploader. Vai a variante LARGE, já recodificada em
+// WebP pelo AvatarCache; o progresso fica na partição da conta, então um envio interrompido (rede, app
+// encerrado, troca de conta) continua do último pedaço confirmado
+public class AvatarSync implements AccountRegistry.Listener {
+
+    private static final String TAG = "AvatarSync";
+    private static final long BASE_RETRY_MS = 30_000;
+    private static final long MAX_RETRY_MS = 30 * 60_000;
+
+    private static volatile AvatarSync instance;
+
+    private final PreferencesStore prefs;
+    private final AccountRegistry accounts;
+    private final ProfileRepository profile;
+    private final SessionManager sessionManager;
+    private final AvatarCache avatarCache;
+    private final ConnectivityManager connectivity;
+    // null sem endpoint configurado: o avatar fica só no aparelho
+    private final URL endpoint;
+    private final AppExecutors.SerialQueue queue =
+            AppExecutors.getInstance().serial(AppExecutors.Pool.IO, "avatar-upload", AppExecutors.Priority.LOW);
+    // Campos abaixo acessados apenas na fila
+    private int failures;
+    // Incrementado a cada start() ou troca de conta: continuações agendadas antes disso são descartadas
+    private int generation;
+    private ChunkedUploader uploader;
+    private String uploaderAccountId;
+
+    public static AvatarSync getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AvatarSync.class) {
+                if (instance == null) {
+                    instance = new AvatarSync(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AvatarSync(Context appContext) {
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.accounts = AccountRegistry.getInstance(appContext);
+        this.profile = ProfileRepository.getInstance(appContext);
+        this.sessionManager = SessionManager.getInstance(appContext);
+        this.avatarCache = new AvatarCache(appContext);
+        this.connectivity = (ConnectivityManager) appContext.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.endpoint = parseEndpoint(appContext.getString(R.string.avatar_upload_url));
+        accounts.addListener(this);
+    }
+
+    private static URL parseEndpoint(String url) {
+        if (url.isEmpty()) {
+            Log.w(TAG, "avatar_upload_url vazio; o avatar fica só no aparelho");
+            return null;
+        }
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("avatar_upload_url inválido: " + url, e);
+        }
+    }
+
+    // Envia o avatar atual, ou continua o envio interrompido; sem efeito se o servidor já o tem
+    public void start() {
+        queue.execute(this::restart);
+    }
+
+    @Override
+    public void onActiveAccountChanged(AccountRegistry.Account account) {
+        queue.execute(this::restart);
+    }
+
+    private void restart() {
+        generation++;
+        step();
+    }
+
+    // Um pedaço por tarefa da fila; as esperas entre pedaços e entre tentativas são agendadas na fila, sem
+    // ocupar uma thread do pool de IO
+    private void step() {
+        AccountRegistry.Account account = accounts.getActive();
+        String avatarKey = profile.getAvatarKey();
+        if (account == null || endpoint == null || avatarKey.isEmpty()) {
+            return;
+        }
+        File file = avatarCache.getFile(avatarKey, AvatarCache.Variant.LARGE);
+        SessionManager.Session session = sessionManager.getSession();
+        ChunkedUploader uploader = uploaderFor(account);
+        ChunkedUploader.Result result;
+        try {
+            result = uploader.step(file, session != null ? session.getIdToken() : null, null);
+        } catch (IOException e) {
+            // Arquivo substituído por uma importação mais nova, que chama start() de novo
+            Log.w(TAG, "Avatar indisponível para envio", e);
+            return;
+        }
+        long delay;
+        if (result == ChunkedUploader.Result.IN_PROGRESS) {
+            delay = uploader.getDelayMs();
+        } else if (result == ChunkedUploader.Result.INTERRUPTED) {
+            delay = Math.min(MAX_RETRY_MS, BASE_RETRY_MS << Math.min(failures, 10));
+            failures++;
+        } else {
+            failures = 0;
+            return;
+        }
+        int scheduledGeneration = generation;
+        Runnable next = () -> {
+            if (scheduledGeneration == generation) {
+                step();
+            }
+        };
+        if (delay > 0) {
+            queue.schedule(next, delay);
+        } else {
+            queue.execute(next);
+        }
+    }
+
+    // O uploader guarda as tentativas do pedaço atual entre passos; um por conta, ligado à partição dela
+    private ChunkedUploader uploaderFor(AccountRegistry.Account account) {
+        if (uploader == null || !account.getId().equals(uploaderAccountId)) {
+            PreferencesStore.Key<String> key = account.key(PrefKeys.AVATAR_UPLOAD);
+            uploader = new ChunkedUploader(endpoint, new ChunkedUploader.Storage() {
+                @Override
+                public String read() {
+                    return prefs.get(key);
+                }
+
+                @Override
+                public void write(String json) {
+                    prefs.edit().put(key, json).apply();
+                }
+            }, connectivity::isActiveNetworkMetered);
+            uploaderAccountId = account.getId();
+        }
+        return uploader;
+    }
+}
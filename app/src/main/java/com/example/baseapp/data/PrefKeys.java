@@ -0,0 +1,52 @@
+package com.example.baseapp.data;
+
+import static com.example.baseapp.data.PreferencesStore.FILE_APP;
+import static com.example.baseapp.data.PreferencesStore.FILE_USER;
+
+import com.example.baseapp.data.PreferencesStore.Key;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class PrefKeys {
+
+    // Sessão e perfil ("BaseAppPrefs"); cada conta grava as mesmas chaves na sua partição (Key.inFile)
+    public static final Key<String> GOOGLE_ID_TOKEN = new Key<>(FILE_USER, "google_id_token", String.class, null);
+    public static final Key<String> USER_NAME = new Key<>(FILE_USER, "user_name", String.class, "Usuário Anônimo");
+    public static final Key<String> USER_EMAIL = new Key<>(FILE_USER, "user_email", String.class, "email@exemplo.com");
+    // Caminho legado da imagem em tamanho original; migrado para PROFILE_AVATAR_KEY
+    public static final Key<String> PROFILE_IMAGE_PATH = new Key<>(FILE_USER, "profile_image_path", String.class, "");
+    public static final Key<String> PROFILE_AVATAR_KEY = new Key<>(FILE_USER, "profile_avatar_key", String.class, "");
+    // Edições do perfil ainda não enviadas ao servidor (ProfileOutbox em JSON)
+    public static final Key<String> PROFILE_OUTBOX = new Key<>(FILE_USER, "profile_outbox", String.class, null);
+
+    // Progresso do envio do avatar em pedaços (ChunkedUploader), ou o hash do último enviado
+    public static final Key<String> AVATAR_UPLOAD = new Key<>(FILE_USER, "avatar_upload", String.class, null);
+
+    // Configurações do aplicativo ("AppPrefs")
+    public static final Key<Boolean> NOTIFICATIONS_ENABLED = new Key<>(FILE_APP, "notifications_enabled", Boolean.class, false);
+    public static final Key<Boolean> THEME_SELECTION = new Key<>(FILE_APP, "theme_selection", Boolean.class, false);
+
+    // Chaves que o settings_schema.xml pode exibir, pelo nome; tipo e padrão vêm daqui, não do XML
+    static final Map<String, Key<?>> SETTINGS = settings(NOTIFICATIONS_ENABLED, THEME_SELECTION);
+
+    // Contas conectadas ("AppPrefs"): lista em JSON, conta ativa e arquivo da partição dela,
+    // que o PreferencesStore lê junto com a carga inicial
+    public static final Key<String> ACCOUNTS = new Key<>(FILE_APP, "accounts", String.class, "[]");
+    public static final Key<String> ACTIVE_ACCOUNT = new Key<>(FILE_APP, "active_account", String.class, null);
+    public static final Key<String> ACTIVE_PARTITION = new Key<>(FILE_APP, "active_partition", String.class, null);
+    // Nó deste aparelho nos vetores de versão da sincronização do perfil
+    public static final Key<String> DEVICE_ID = new Key<>(FILE_APP, "device_id", String.class, null);
+
+    private PrefKeys() {
+    }
+
+    private static Map<String, Key<?>> settings(Key<?>... keys) {
+        Map<String, Key<?>> byName = new HashMap<>();
+        for (Key<?> key : keys) {
+            byName.put(key.getName(), key);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.baseapp.utils.AppExecutors;
+import com.example.baseapp.utils.TraceRecorder;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+public class PreferencesStore {
+
+    public static final String FILE_USER = "BaseAppPrefs";
+    public static final String FILE_APP = "AppPrefs";
+
+    private static final String TAG = "PreferencesStore";
+    // Janela em que escritas seguidas são agrupadas num único commit
+    private static final long FLUSH_DELAY_MS = 300;
+    // Marcador de remoção dentro das alterações pendentes
+    private static final Object REMOVED = new Object();
+
+    private static final int TRACE_LOAD = TraceRecorder.register("PreferencesStore.load");
+    private static final int TRACE_WAIT = TraceRecorder.register("PreferencesStore.awaitLoad");
+
+    private static volatile PreferencesStore instance;
+
+    private final Context appContext;
+    private final AppExecutors.SerialQueue ioQueue;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+    private final Object writeLock = new Object();
+
+    // Snapshot imutável servido às leituras; trocado por inteiro a cada escrita
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    // Alterações ainda não gravadas em disco, por arquivo
+    private final Map<String, Map<String, Object>> pending = new HashMap<>();
+    private boolean flushScheduled;
+    // Arquivos já lidos do disco; partições de contas inativas só entram quando pedidas
+    private final Set<String> loadedFiles = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    public static PreferencesStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PreferencesStore.class) {
+                if (instance == null) {
+                    instance = new PreferencesStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private PreferencesStore(Context appContext) {
+        this.appContext = appContext;
+        // Prioridade alta: o roteamento da primeira tela espera pela carga inicial
+        this.ioQueue = AppExecutors.getInstance().serial(AppExecutors.Pool.IO, "prefs-io", AppExecutors.Priority.HIGH);
+        // Carregar os arquivos uma única vez, fora da main thread
+        ioQueue.execute(this::load);
+    }
+
+    private void load() {
+        TraceRecorder.begin(TRACE_LOAD);
+        try {
+            Map<String, Map<String, ?>> files = new HashMap<>();
+            files.put(FILE_USER, new HashMap<String, Object>(read(FILE_USER).getAll()));
+            files.put(FILE_APP, new HashMap<String, Object>(read(FILE_APP).getAll()));
+            // Partição da conta ativa junto com a carga inicial: a primeira tela já encontra sessão e perfil
+            Object partition = files.get(FILE_APP).get(PrefKeys.ACTIVE_PARTITION.getName());
+            if (partition instanceof String && !files.containsKey(partition)) {
+                files.put((String) partition, new HashMap<String, Object>(read((String) partition).getAll()));
+            }
+            synchronized (writeLock) {
+                // Escritas feitas antes do fim da carga prevalecem sobre o disco
+                snapshot = new Snapshot(files).with(pending);
+                loadedFiles.addAll(files.keySet());
+            }
+        } finally {
+            loaded.countDown();
+            TraceRecorder.end(TRACE_LOAD);
+        }
+    }
+
+    private SharedPreferences read(String file) {
+        return appContext.getSharedPreferences(file, Context.MODE_PRIVATE);
+    }
+
+    // Retorna o snapshot atual, aguardando apenas se a carga inicial ainda não terminou
+    public Snapshot snapshot() {
+        if (loaded.getCount() > 0) {
+            // Só aparece no trace quando uma leitura realmente bloqueou
+            TraceRecorder.begin(TRACE_WAIT);
+            try {
+                loaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                TraceRecorder.end(TRACE_WAIT);
+            }
+        }
+        return snapshot;
+    }
+
+    public boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    public boolean isLoaded(String file) {
+        return loadedFiles.contains(file);
+    }
+
+    // Lê um arquivo fora da carga inicial (ex.: partição de outra conta); onLoaded roda na thread de I/O
+    public void preload(String file, Runnable onLoaded) {
+        ioQueue.execute(() -> {
+            if (!loadedFiles.contains(file)) {
+                Map<String, Object> values = new HashMap<String, Object>(read(file).getAll());
+                synchronized (writeLock) {
+                    snapshot = snapshot.withFile(file, values);
+                    Map<String, Object> filePending = pending.get(file);
+                    if (filePending != null) {
+                        snapshot = snapshot.with(Collections.singletonMap(file, filePending));
+                    }
+                    loadedFiles.add(file);
+                }
+            }
+            if (onLoaded != null) {
+                onLoaded.run();
+            }
+        });
+    }
+
+    // Apaga um arquivo inteiro (ex.: partição de uma conta removida)
+    public void wipe(String file) {
+        synchronized (writeLock) {
+            snapshot = snapshot.withFile(file, Collections.<String, Object>emptyMap());
+            pending.remove(file);
+            loadedFiles.add(file);
+        }
+        ioQueue.execute(() -> {
+            if (!read(file).edit().clear().commit()) {
+                Log.e(TAG, "Falha ao apagar " + file);
+            }
+        });
+    }
+
+    public <T> T get(Key<T> key) {
+        return snapshot().get(key);
+    }
+
+    public Editor edit() {
+        return new Editor();
+    }
+
+    // Grava imediatamente as alterações pendentes, sem esperar a janela de agrupamento
+    public void flush() {
+        ioQueue.execute(this::writePending);
+    }
+
+    // Como flush(), e onWritten roda na thread de I/O depois que tudo o que estava pendente chegou ao disco
+    public void flush(Runnable onWritten) {
+        ioQueue.execute(() -> {
+            writePending();
+            onWritten.run();
+        });
+    }
+
+    private void commit(Map<String, Map<String, Object>> changes) {
+        synchronized (writeLock) {
+            snapshot = snapshot.with(changes);
+            for (Map.Entry<String, Map<String, Object>> entry : changes.entrySet()) {
+                Map<String, Object> filePending = pending.get(entry.getKey());
+                if (filePending == null) {
+                    filePending = new LinkedHashMap<>();
+                    pending.put(entry.getKey(), filePending);
+                }
+                filePending.putAll(entry.getValue());
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                ioQueue.schedule(this::writePending, FLUSH_DELAY_MS);
+            }
+        }
+    }
+
+    private void writePending() {
+        Map<String, Map<String, Object>> toWrite;
+        synchronized (writeLock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            toWrite = new HashMap<>(pending);
+            pending.clear();
+        }
+        for (Map.Entry<String, Map<String, Object>> entry : toWrite.entrySet()) {
+            SharedPreferences.Editor editor = read(entry.getKey()).edit();
+            for (Map.Entry<String, Object> change : entry.getValue().entrySet()) {
+                putValue(editor, change.getKey(), change.getValue());
+            }
+            // Um único commit síncrono por arquivo, já estamos na thread de I/O
+            if (!editor.commit()) {
+                Log.e(TAG, "Falha ao gravar " + entry.getKey());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putValue(SharedPreferences.Editor editor, String name, Object value) {
+        if (value == REMOVED || value == null) {
+            editor.remove(name);
+        } else if (value instanceof String) {
+            editor.putString(name, (String) value);
+        } else if (value instanceof Boolean) {
+            editor.putBoolean(name, (Boolean) value);
+        } else if (value instanceof Integer) {
+            editor.putInt(name, (Integer) value);
+        } else if (value instanceof Long) {
+            editor.putLong(name, (Long) value);
+        } else if (value instanceof Float) {
+            editor.putFloat(name, (Float) value);
+        } else if (value instanceof Set) {
+            editor.putStringSet(name, (Set<String>) value);
+        } else {
+            throw new IllegalArgumentException("Tipo não suportado: " + value.getClass());
+        }
+    }
+
+    public static final class Key<T> {
+        private final String file;
+        private final String name;
+        private final Class<T> type;
+        private final T defaultValue;
+
+        public Key(String file, String name, Class<T> type, T defaultValue) {
+            this.file = file;
+            this.name = name;
+            this.type = type;
+            this.defaultValue = defaultValue;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<T> getType() {
+            return type;
+        }
+
+        public T getDefaultValue() {
+            return defaultValue;
+        }
+
+        // Mesma chave gravada em outro arquivo; usado para as partições por conta
+        public Key<T> inFile(String otherFile) {
+            return otherFile.equals(file) ? this : new Key<>(otherFile, name, type, defaultValue);
+        }
+    }
+
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(Collections.emptyMap());
+
+        private final Map<String, Map<String, ?>> files;
+
+        Snapshot(Map<String, Map<String, ?>> files) {
+            this.files = files;
+        }
+
+        public <T> T get(Key<T> key) {
+            Map<String, ?> values = files.get(key.file);
+            Object value = values != null ? values.get(key.name) : null;
+            return key.type.isInstance(value) ? key.type.cast(value) : key.defaultValue;
+        }
+
+        // Novo snapshot com o conteúdo de um arquivo substituído por inteiro
+        Snapshot withFile(String file, Map<String, ?> values) {
+            Map<String, Map<String, ?>> copy = new HashMap<>(files);
+            copy.put(file, Collections.unmodifiableMap(new HashMap<>(values)));
+            return new Snapshot(Collections.unmodifiableMap(copy));
+        }
+
+        // Cria um novo snapshot com as alterações aplicadas, sem tocar no atual
+        Snapshot with(Map<String, Map<String, Object>> changes) {
+            if (changes.isEmpty()) {
+                return this;
+            }
+            Map<String, Map<String, ?>> copy = new HashMap<>(files);
+            for (Map.Entry<String, Map<String, Object>> entry : changes.entrySet()) {
+                Map<String, ?> current = files.get(entry.getKey());
+                Map<String, Object> values = current != null ? new HashMap<>(current) : new HashMap<>();
+                for (Map.Entry<String, Object> change : entry.getValue().entrySet()) {
+                    if (change.getValue() == REMOVED) {
+                        values.remove(change.getKey());
+                    } else {
+                        values.put(change.getKey(), change.getValue());
+                    }
+                }
+                copy.put(entry.getKey(), Collections.unmodifiableMap(values));
+            }
+            return new Snapshot(Collections.unmodifiableMap(copy));
+        }
+    }
+
+    public final class Editor {
+        private final Map<String, Map<String, Object>> changes = new HashMap<>();
+
+        private Editor() {
+        }
+
+        public <T> Editor put(Key<T> key, T value) {
+            return set(key, value != null ? value : REMOVED);
+        }
+
+        public Editor remove(Key<?> key) {
+            return set(key, REMOVED);
+        }
+
+        private Editor set(Key<?> key, Object value) {
+            Map<String, Object> fileChanges = changes.get(key.file);
+            if (fileChanges == null) {
+                fileChanges = new LinkedHashMap<>();
+                changes.put(key.file, fileChanges);
+            }
+            fileChanges.put(key.name, value);
+            return this;
+        }
+
+        // Atualiza o snapshot na hora e agenda a gravação agrupada em disco
+        public void apply() {
+            if (!changes.isEmpty()) {
+                commit(changes);
+            }
+        }
+    }
+}
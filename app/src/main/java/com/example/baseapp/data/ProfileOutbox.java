@@ -0,0 +1,287 @@
+package com.example.baseapp.data;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Edições do perfil ainda não confirmadas pelo servidor, uma entrada por campo: editar de novo o mesmo campo
+// substitui o valor pendente em vez de enfileirar outra alteração. O lote em envio fica congelado, com a sua
+// chave de idempotência, até o servidor responder; edições feitas nesse meio tempo vão para o próximo lote.
+// Todo o estado é gravado a cada mudança, então nada se perde se o processo morrer sem rede
+public class ProfileOutbox {
+
+    private static final String TAG = "ProfileOutbox";
+
+    public interface Storage {
+        // null quando nada foi gravado
+        String read();
+
+        void write(String json);
+    }
+
+    private final Storage storage;
+    // Nó deste aparelho nos vetores de versão
+    private final String node;
+    private final Map<String, Change> pending = new LinkedHashMap<>();
+    // Última versão de cada campo confirmada pelo servidor; base da próxima edição
+    private final Map<String, VersionVector> known = new HashMap<>();
+    private Batch batch;
+    private long nextSeq;
+
+    public ProfileOutbox(Storage storage, String node) {
+        this.storage = storage;
+        this.node = node;
+        load(storage.read());
+    }
+
+    // Edição local; pode ser chamado de qualquer thread
+    public synchronized void record(String field, String value, long editedAt) {
+        Change current = pending.get(field);
+        VersionVector base = current != null ? current.vector : known(field);
+        pending.put(field, new Change(field, value, base.increment(node), editedAt, nextSeq++));
+        persist();
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty() && batch == null;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    // Valor pendente do campo; null se não houver edição a enviar
+    public synchronized String getPendingValue(String field) {
+        Change change = pending.get(field);
+        return change != null ? change.value : null;
+    }
+
+    public synchronized VersionVector getKnownVersion(String field) {
+        return known(field);
+    }
+
+    // Lote a enviar: o mesmo de antes, com a mesma chave, enquanto não houver resposta; senão um novo com
+    // até maxSize campos. null sem nada pendente
+    public synchronized Batch nextBatch(int maxSize) {
+        if (batch == null && !pending.isEmpty()) {
+            List<Change> changes = new ArrayList<>();
+            for (Change change : pending.values()) {
+                if (changes.size() == maxSize) {
+                    break;
+                }
+                changes.add(change);
+            }
+            batch = new Batch(UUID.randomUUID().toString(), changes);
+            persist();
+        }
+        return batch;
+    }
+
+    // O servidor gravou a alteração enviada; serverVector é a versão que ele guardou
+    synchronized void onApplied(Change sent, VersionVector serverVector) {
+        known.put(sent.field, serverVector);
+        Change current = pending.get(sent.field);
+        if (current != null && current.seq == sent.seq) {
+            pending.remove(sent.field);
+        } else if (current != null) {
+            // Editado de novo durante o envio: a edição nova passa a partir da versão confirmada
+            pending.put(sent.field, current.withVector(current.vector.merge(serverVector)));
+        }
+        persist();
+    }
+
+    // O servidor tinha uma escrita que esta alteração não conhecia. Vence a que conhece a outra; entre escritas
+    // concorrentes, a mais recente, com empate para o servidor (todos os aparelhos decidem igual).
+    // Devolve true se o valor do servidor deve ser aplicado localmente
+    synchronized boolean onConflict(Change sent, String serverValue, VersionVector serverVector, long serverEditedAt) {
+        VersionVector merged = serverVector.merge(sent.vector);
+        known.put(sent.field, merged);
+        Change current = pending.get(sent.field);
+        if (current != null && current.seq != sent.seq) {
+            // Uma edição mais nova já espera o próximo lote; ela vence por conhecer as duas versões
+            pending.put(sent.field, current.withVector(current.vector.merge(serverVector)));
+            persist();
+            return false;
+        }
+        VersionVector.Order order = sent.vector.compare(serverVector);
+        boolean serverWins = order == VersionVector.Order.BEFORE || order == VersionVector.Order.EQUAL
+                || (order == VersionVector.Order.CONCURRENT && serverEditedAt >= sent.editedAt);
+        if (serverWins) {
+            pending.remove(sent.field);
+        } else {
+            // Reenviar o valor local com uma versão posterior às duas
+            pending.put(sent.field, new Change(sent.field, sent.value, merged.increment(node), sent.editedAt, nextSeq++));
+        }
+        persist();
+        return serverWins;
+    }
+
+    // Resposta processada; campos sem resultado continuam pendentes e vão no próximo lote
+    synchronized void completeBatch() {
+        batch = null;
+        persist();
+    }
+
+    // Lote recusado pelo servidor: as alterações enviadas são descartadas, edições mais novas ficam
+    synchronized void dropBatch() {
+        if (batch == null) {
+            return;
+        }
+        for (Change sent : batch.changes) {
+            Change current = pending.get(sent.field);
+            if (current != null && current.seq == sent.seq) {
+                pending.remove(sent.field);
+            }
+        }
+        batch = null;
+        persist();
+    }
+
+    private VersionVector known(String field) {
+        VersionVector version = known.get(field);
+        return version != null ? version : VersionVector.EMPTY;
+    }
+
+    private void persist() {
+        try {
+            JSONArray pendingJson = new JSONArray();
+            for (Change change : pending.values()) {
+                pendingJson.put(change.toJson());
+            }
+            JSONObject knownJson = new JSONObject();
+            for (Map.Entry<String, VersionVector> entry : known.entrySet()) {
+                knownJson.put(entry.getKey(), entry.getValue().toJson());
+            }
+            JSONObject json = new JSONObject()
+                    .put("pending", pendingJson)
+                    .put("known", knownJson)
+                    .put("nextSeq", nextSeq);
+            if (batch != null) {
+                JSONArray changes = new JSONArray();
+                for (Change change : batch.changes) {
+                    changes.put(change.toJson());
+                }
+                json.put("batch", new JSONObject().put("key", batch.key).put("changes", changes));
+            }
+            storage.write(json.toString());
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void load(String stored) {
+        if (stored == null) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(stored);
+            JSONArray pendingJson = json.getJSONArray("pending");
+            for (int i = 0; i < pendingJson.length(); i++) {
+                Change change = Change.fromJson(pendingJson.getJSONObject(i));
+                pending.put(change.field, change);
+            }
+            JSONObject knownJson = json.getJSONObject("known");
+            Iterator<String> fields = knownJson.keys();
+            while (fields.hasNext()) {
+                String field = fields.next();
+                known.put(field, VersionVector.fromJson(knownJson.getJSONObject(field)));
+            }
+            nextSeq = json.getLong("nextSeq");
+            JSONObject batchJson = json.optJSONObject("batch");
+            if (batchJson != null) {
+                JSONArray changesJson = batchJson.getJSONArray("changes");
+                List<Change> changes = new ArrayList<>();
+                for (int i = 0; i < changesJson.length(); i++) {
+                    changes.add(Change.fromJson(changesJson.getJSONObject(i)));
+                }
+                batch = new Batch(batchJson.getString("key"), changes);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Fila de sincronização ilegível; edições não enviadas foram perdidas", e);
+            pending.clear();
+            known.clear();
+            batch = null;
+        }
+    }
+
+    public static final class Change {
+        final String field;
+        final String value;
+        final VersionVector vector;
+        final long editedAt;
+        // Identifica a edição; distingue a enviada de uma mais nova no mesmo campo
+        final long seq;
+
+        Change(String field, String value, VersionVector vector, long editedAt, long seq) {
+            this.field = field;
+            this.value = value;
+            this.vector = vector;
+            this.editedAt = editedAt;
+            this.seq = seq;
+        }
+
+        Change withVector(VersionVector newVector) {
+            return new Change(field, value, newVector, editedAt, seq);
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public VersionVector getVector() {
+            return vector;
+        }
+
+        public long getEditedAt() {
+            return editedAt;
+        }
+
+        JSONObject toJson() throws JSONException {
+            return new JSONObject()
+                    .put("field", field)
+                    .put("value", value)
+                    .put("vector", vector.toJson())
+                    .put("editedAt", editedAt)
+                    .put("seq", seq);
+        }
+
+        static Change fromJson(JSONObject json) throws JSONException {
+            return new Change(json.getString("field"), json.getString("value"),
+                    VersionVector.fromJson(json.getJSONObject("vector")), json.getLong("editedAt"), json.getLong("seq"));
+        }
+    }
+
+    public static final class Batch {
+        // Chave de idempotência: a mesma em todas as tentativas deste lote
+        final String key;
+        final List<Change> changes;
+
+        Batch(String key, List<Change> changes) {
+            this.key = key;
+            this.changes = Collections.unmodifiableList(changes);
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public List<Change> getChanges() {
+            return changes;
+        }
+    }
+}
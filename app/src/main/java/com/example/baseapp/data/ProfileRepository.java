@@ -0,0 +1,171 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+// Perfil do usuário em memória: lido uma vez do PreferencesStore, observável campo a campo e gravado em
+// segundo plano. Uma edição notifica apenas quem observa o campo alterado. Segue a conta ativa: na troca,
+// os campos são relidos da partição da nova conta, já em memória
+public class ProfileRepository implements AccountRegistry.Listener {
+
+    private static volatile ProfileRepository instance;
+
+    private final PreferencesStore prefs;
+    private final AccountRegistry accounts;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<String> name;
+    private final MutableLiveData<String> email;
+    private final MutableLiveData<String> avatarKey;
+    // Valores atuais para leitura síncrona de qualquer thread; o LiveData só é atualizado na main thread
+    private volatile String currentName;
+    private volatile String currentEmail;
+    private volatile String currentAvatarKey;
+
+    public static ProfileRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProfileRepository.class) {
+                if (instance == null) {
+                    instance = new ProfileRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ProfileRepository(Context appContext) {
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.accounts = AccountRegistry.getInstance(appContext);
+        PreferencesStore.Snapshot snapshot = prefs.snapshot();
+        currentName = snapshot.get(accounts.key(PrefKeys.USER_NAME));
+        currentEmail = snapshot.get(accounts.key(PrefKeys.USER_EMAIL));
+        currentAvatarKey = snapshot.get(accounts.key(PrefKeys.PROFILE_AVATAR_KEY));
+        name = new MutableLiveData<>(currentName);
+        email = new MutableLiveData<>(currentEmail);
+        avatarKey = new MutableLiveData<>(currentAvatarKey);
+        accounts.addListener(this);
+    }
+
+    // Nova conta ativa (ou nenhuma): apenas os campos que mudaram são publicados
+    @Override
+    public synchronized void onActiveAccountChanged(AccountRegistry.Account account) {
+        PreferencesStore.Snapshot snapshot = prefs.snapshot();
+        String newName = snapshot.get(accounts.key(PrefKeys.USER_NAME));
+        String newEmail = snapshot.get(accounts.key(PrefKeys.USER_EMAIL));
+        String newAvatarKey = snapshot.get(accounts.key(PrefKeys.PROFILE_AVATAR_KEY));
+        if (!newName.equals(currentName)) {
+            currentName = newName;
+            publish(name);
+        }
+        if (!newEmail.equals(currentEmail)) {
+            currentEmail = newEmail;
+            publish(email);
+        }
+        if (!newAvatarKey.equals(currentAvatarKey)) {
+            currentAvatarKey = newAvatarKey;
+            publish(avatarKey);
+        }
+    }
+
+    public LiveData<String> name() {
+        return name;
+    }
+
+    public LiveData<String> email() {
+        return email;
+    }
+
+    // Chave das variantes em AvatarCache; vazia sem imagem
+    public LiveData<String> avatarKey() {
+        return avatarKey;
+    }
+
+    public String getName() {
+        return currentName;
+    }
+
+    public String getEmail() {
+        return currentEmail;
+    }
+
+    public String getAvatarKey() {
+        return currentAvatarKey;
+    }
+
+    // Pode ser chamado de qualquer thread; campos iguais ao atual não notificam nem gravam
+    public synchronized void update(String newName, String newEmail) {
+        PreferencesStore.Editor editor = prefs.edit();
+        boolean changed = false;
+        if (newName != null && !newName.equals(currentName)) {
+            currentName = newName;
+            editor.put(accounts.key(PrefKeys.USER_NAME), newName);
+            publish(name);
+            changed = true;
+        }
+        if (newEmail != null && !newEmail.equals(currentEmail)) {
+            currentEmail = newEmail;
+            editor.put(accounts.key(PrefKeys.USER_EMAIL), newEmail);
+            publish(email);
+            changed = true;
+        }
+        if (changed) {
+            editor.apply();
+            AccountRegistry.Account account = accounts.getActive();
+            if (account != null) {
+                accounts.updateLabel(account, currentName, currentEmail);
+            }
+        }
+    }
+
+    public void setName(String newName) {
+        update(newName, null);
+    }
+
+    public void setEmail(String newEmail) {
+        update(null, newEmail);
+    }
+
+    // A nova chave substitui também o caminho legado, já migrado
+    public synchronized void setAvatarKey(String key) {
+        PreferencesStore.Editor editor = prefs.edit().remove(accounts.key(PrefKeys.PROFILE_IMAGE_PATH));
+        if (!key.equals(currentAvatarKey)) {
+            currentAvatarKey = key;
+            editor.put(accounts.key(PrefKeys.PROFILE_AVATAR_KEY), key);
+            publish(avatarKey);
+        }
+        editor.apply();
+    }
+
+    // Imagem salva em tamanho original por versões antigas; vazio quando não há o que migrar
+    public String getLegacyImagePath() {
+        return prefs.get(accounts.key(PrefKeys.PROFILE_IMAGE_PATH));
+    }
+
+    public void clearLegacyImagePath() {
+        prefs.edit().remove(accounts.key(PrefKeys.PROFILE_IMAGE_PATH)).apply();
+    }
+
+    // Sempre pela main thread e com o valor atual na hora da entrega, não o da chamada: publicações de threads
+    // diferentes chegando fora de ordem não deixam o LiveData num valor mais antigo que getName()/getEmail()
+    private void publish(MutableLiveData<String> field) {
+        mainHandler.post(() -> {
+            String value = current(field);
+            if (!value.equals(field.getValue())) {
+                field.setValue(value);
+            }
+        });
+    }
+
+    private String current(MutableLiveData<String> field) {
+        if (field == name) {
+            return currentName;
+        }
+        if (field == email) {
+            return currentEmail;
+        }
+        return currentAvatarKey;
+    }
+}
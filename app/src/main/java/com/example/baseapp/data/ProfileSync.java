@@ -0,0 +1,179 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.baseapp.R;
+import com.example.baseapp.utils.AppExecutors;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Random;
+import java.util.UUID;
+
+// Edições do perfil enviadas ao servidor sem depender de rede no momento da edição: a alteração vai primeiro
+// para a ProfileOutbox da conta ativa (gravada na partição dela) e a fila "profile-sync" tenta enviar até
+// conseguir, inclusive depois de reiniciar o app
+public class ProfileSync implements AccountRegistry.Listener {
+
+    public static final String FIELD_NAME = "name";
+    public static final String FIELD_EMAIL = "email";
+
+    private static final String TAG = "ProfileSync";
+
+    private static volatile ProfileSync instance;
+
+    private final PreferencesStore prefs;
+    private final AccountRegistry accounts;
+    private final ProfileRepository profile;
+    private final SessionManager sessionManager;
+    // null sem endpoint configurado: as edições ficam guardadas na fila até haver um
+    private final URL endpoint;
+    private final String deviceId;
+    private final Random random = new Random();
+    private final AppExecutors.SerialQueue queue =
+            AppExecutors.getInstance().serial(AppExecutors.Pool.IO, "profile-sync", AppExecutors.Priority.LOW);
+    // Campos abaixo acessados apenas na fila
+    private AccountSync current;
+    private boolean retryScheduled;
+
+    public static ProfileSync getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ProfileSync.class) {
+                if (instance == null) {
+                    instance = new ProfileSync(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ProfileSync(Context appContext) {
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.accounts = AccountRegistry.getInstance(appContext);
+        this.profile = ProfileRepository.getInstance(appContext);
+        this.sessionManager = SessionManager.getInstance(appContext);
+        this.endpoint = parseEndpoint(appContext.getString(R.string.profile_sync_url));
+        String id = prefs.get(PrefKeys.DEVICE_ID);
+        if (id == null) {
+            id = UUID.randomUUID().toString();
+            prefs.edit().put(PrefKeys.DEVICE_ID, id).apply();
+        }
+        this.deviceId = id;
+        accounts.addListener(this);
+    }
+
+    private static URL parseEndpoint(String url) {
+        if (url.isEmpty()) {
+            Log.w(TAG, "profile_sync_url vazio; edições do perfil ficam só no aparelho");
+            return null;
+        }
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("profile_sync_url inválido: " + url, e);
+        }
+    }
+
+    // Envia o que ficou pendente de execuções anteriores
+    public void start() {
+        queue.execute(this::step);
+    }
+
+    // Edição feita pelo usuário: aplicada ao perfil na hora e registrada para envio; só campos alterados
+    public void edit(String name, String email) {
+        long editedAt = System.currentTimeMillis();
+        boolean nameChanged = name != null && !name.equals(profile.getName());
+        boolean emailChanged = email != null && !email.equals(profile.getEmail());
+        AccountRegistry.Account account = accounts.getActive();
+        profile.update(name, email);
+        if (account == null || (!nameChanged && !emailChanged)) {
+            return;
+        }
+        queue.execute(() -> {
+            ProfileOutbox outbox = syncFor(account).outbox;
+            if (nameChanged) {
+                outbox.record(FIELD_NAME, name, editedAt);
+            }
+            if (emailChanged) {
+                outbox.record(FIELD_EMAIL, email, editedAt);
+            }
+            step();
+        });
+    }
+
+    @Override
+    public void onActiveAccountChanged(AccountRegistry.Account account) {
+        queue.execute(this::step);
+    }
+
+    private void step() {
+        AccountRegistry.Account account = accounts.getActive();
+        if (account == null || endpoint == null) {
+            return;
+        }
+        SessionManager.Session session = sessionManager.getSession();
+        long delay = syncFor(account).engine.syncOnce(session != null ? session.getIdToken() : null);
+        if (delay == 0) {
+            queue.execute(this::step);
+        } else if (delay > 0 && !retryScheduled) {
+            retryScheduled = true;
+            queue.schedule(() -> {
+                retryScheduled = false;
+                step();
+            }, delay);
+        }
+    }
+
+    // Fila e motor da conta; recriados quando a conta ativa muda
+    private AccountSync syncFor(AccountRegistry.Account account) {
+        if (current == null || current.account != account) {
+            PreferencesStore.Key<String> key = account.key(PrefKeys.PROFILE_OUTBOX);
+            ProfileOutbox outbox = new ProfileOutbox(new ProfileOutbox.Storage() {
+                @Override
+                public String read() {
+                    return prefs.get(key);
+                }
+
+                @Override
+                public void write(String json) {
+                    prefs.edit().put(key, json).apply();
+                }
+            }, deviceId);
+            ProfileSyncEngine engine = new ProfileSyncEngine(endpoint, deviceId, outbox,
+                    (field, value) -> applyRemote(account, field, value), random);
+            current = new AccountSync(account, outbox, engine);
+        }
+        return current;
+    }
+
+    // Valor de outro aparelho que venceu o conflito; uma conta que já não está ativa recebe direto na partição
+    private void applyRemote(AccountRegistry.Account account, String field, String value) {
+        String name = FIELD_NAME.equals(field) ? value : null;
+        String email = FIELD_EMAIL.equals(field) ? value : null;
+        if (accounts.getActive() == account) {
+            profile.update(name, email);
+            return;
+        }
+        PreferencesStore.Editor editor = prefs.edit();
+        if (name != null) {
+            editor.put(account.key(PrefKeys.USER_NAME), name);
+        }
+        if (email != null) {
+            editor.put(account.key(PrefKeys.USER_EMAIL), email);
+        }
+        editor.apply();
+    }
+
+    private static final class AccountSync {
+        final AccountRegistry.Account account;
+        final ProfileOutbox outbox;
+        final ProfileSyncEngine engine;
+
+        AccountSync(AccountRegistry.Account account, ProfileOutbox outbox, ProfileSyncEngine engine) {
+            this.account = account;
+            this.outbox = outbox;
+            this.engine = engine;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.baseapp.data;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Envia as alterações da ProfileOutbox ao servidor em lotes. Cada lote leva uma chave de idempotência que se
+// repete em todas as tentativas, então uma resposta perdida no caminho não grava nada duas vezes; falhas
+// temporárias esperam um recuo exponencial com jitter. Sem threads próprias: quem usa chama syncOnce() e
+// agenda o próximo passo com o atraso devolvido
+public class ProfileSyncEngine {
+
+    public interface Applier {
+        // Valor do servidor que venceu um conflito; chamado na thread do syncOnce()
+        void apply(String field, String value);
+    }
+
+    // Nada mais a enviar
+    public static final long IDLE = -1;
+
+    static final long BASE_BACKOFF_MS = 2_000;
+    static final long MAX_BACKOFF_MS = 10 * 60_000;
+    static final int MAX_BATCH_SIZE = 20;
+    private static final String TAG = "ProfileSyncEngine";
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 20_000;
+
+    private final URL endpoint;
+    private final String node;
+    private final ProfileOutbox outbox;
+    private final Applier applier;
+    private final Random random;
+    // Falhas seguidas; zera com qualquer resposta processada
+    private int failures;
+
+    public ProfileSyncEngine(URL endpoint, String node, ProfileOutbox outbox, Applier applier, Random random) {
+        this.endpoint = endpoint;
+        this.node = node;
+        this.outbox = outbox;
+        this.applier = applier;
+        this.random = random;
+    }
+
+    // Um envio: o lote pendente (ou o mesmo da tentativa anterior) e a resposta aplicada. Devolve o atraso até
+    // o próximo passo: 0 se ainda há o que enviar, IDLE se acabou. authToken pode ser null
+    public long syncOnce(String authToken) {
+        ProfileOutbox.Batch batch = outbox.nextBatch(MAX_BATCH_SIZE);
+        if (batch == null) {
+            failures = 0;
+            return IDLE;
+        }
+        Response response;
+        try {
+            response = post(batch, authToken);
+        } catch (IOException e) {
+            Log.w(TAG, "Envio falhou; o lote será repetido com a mesma chave", e);
+            return backoff(0);
+        }
+        if (response.code >= 200 && response.code < 300) {
+            List<Result> results;
+            try {
+                results = parse(response.body);
+            } catch (JSONException e) {
+                Log.w(TAG, "Resposta ilegível; o lote será repetido com a mesma chave", e);
+                return backoff(0);
+            }
+            apply(batch, results);
+            outbox.completeBatch();
+        } else if (isRetryable(response.code)) {
+            return backoff(response.retryAfterMs);
+        } else {
+            // Recusado (ex.: 400): repetir o mesmo lote não mudaria a resposta
+            Log.e(TAG, "Lote recusado pelo servidor (" + response.code + "); alterações descartadas");
+            outbox.dropBatch();
+        }
+        failures = 0;
+        return outbox.isEmpty() ? IDLE : 0;
+    }
+
+    // 401: o token venceu e a reautenticação está a caminho
+    private static boolean isRetryable(int code) {
+        return code == 401 || code == 408 || code == 429 || code >= 500;
+    }
+
+    // Metade fixa e metade aleatória, para que aparelhos que falharam juntos não voltem juntos
+    private long backoff(long retryAfterMs) {
+        int exponent = Math.min(failures, 20);
+        failures++;
+        long ceiling = Math.min(MAX_BACKOFF_MS, BASE_BACKOFF_MS << exponent);
+        long delay = ceiling / 2 + (long) (random.nextDouble() * (ceiling / 2));
+        return Math.max(delay, retryAfterMs);
+    }
+
+    private void apply(ProfileOutbox.Batch batch, List<Result> results) {
+        for (Result result : results) {
+            ProfileOutbox.Change sent = find(batch, result.field);
+            if (sent == null) {
+                continue;
+            }
+            if (result.conflict) {
+                if (outbox.onConflict(sent, result.value, result.vector, result.editedAt)) {
+                    applier.apply(result.field, result.value);
+                }
+            } else {
+                outbox.onApplied(sent, result.vector);
+            }
+        }
+    }
+
+    private static ProfileOutbox.Change find(ProfileOutbox.Batch batch, String field) {
+        for (ProfileOutbox.Change change : batch.changes) {
+            if (change.field.equals(field)) {
+                return change;
+            }
+        }
+        return null;
+    }
+
+    private Response post(ProfileOutbox.Batch batch, String authToken) throws IOException {
+        byte[] body = encode(batch).getBytes(StandardCharsets.UTF_8);
+        HttpURLConnection connection = (HttpURLConnection) endpoint.openConnection();
+        try {
+            connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+            connection.setReadTimeout(READ_TIMEOUT_MS);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setRequestProperty("Idempotency-Key", batch.key);
+            if (authToken != null) {
+                connection.setRequestProperty("Authorization", "Bearer " + authToken);
+            }
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+            int code = connection.getResponseCode();
+            InputStream in = code < 400 ? connection.getInputStream() : connection.getErrorStream();
+            long retryAfterMs = 0;
+            String retryAfter = connection.getHeaderField("Retry-After");
+            if (retryAfter != null) {
+                try {
+                    retryAfterMs = Long.parseLong(retryAfter.trim()) * 1000;
+                } catch (NumberFormatException ignored) {
+                    // Formato de data HTTP: o recuo exponencial já cobre
+                }
+            }
+            return new Response(code, in != null ? readAll(in) : "", retryAfterMs);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private String encode(ProfileOutbox.Batch batch) {
+        try {
+            JSONArray changes = new JSONArray();
+            for (ProfileOutbox.Change change : batch.changes) {
+                changes.put(new JSONObject()
+                        .put("field", change.field)
+                        .put("value", change.value)
+                        .put("vector", change.vector.toJson())
+                        .put("editedAt", change.editedAt));
+            }
+            return new JSONObject().put("node", node).put("changes", changes).toString();
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // {"results":[{"field","status":"applied","vector"} | {"field","status":"conflict","value","vector","editedAt"}]}
+    private static List<Result> parse(String body) throws JSONException {
+        JSONArray array = new JSONObject(body).getJSONArray("results");
+        List<Result> results = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject item = array.getJSONObject(i);
+            boolean conflict = "conflict".equals(item.getString("status"));
+            results.add(new Result(item.getString("field"), conflict,
+                    conflict ? item.getString("value") : null,
+                    VersionVector.fromJson(item.getJSONObject("vector")),
+                    item.optLong("editedAt", 0)));
+        }
+        return results;
+    }
+
+    private static String readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Response {
+        final int code;
+        final String body;
+        final long retryAfterMs;
+
+        Response(int code, String body, long retryAfterMs) {
+            this.code = code;
+            this.body = body;
+            this.retryAfterMs = retryAfterMs;
+        }
+    }
+
+    private static final class Result {
+        final String field;
+        final boolean conflict;
+        final String value;
+        final VersionVector vector;
+        final long editedAt;
+
+        Result(String field, boolean conflict, String value, VersionVector vector, long editedAt) {
+            this.field = field;
+            this.conflict = conflict;
+            this.value = value;
+            this.vector = vector;
+            this.editedAt = editedAt;
+        }
+    }
+}
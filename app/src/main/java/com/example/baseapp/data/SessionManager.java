@@ -0,0 +1,313 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Base64;
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// Sessão do usuário em memória: o ID token é decodificado uma vez e o estado consultado sem I/O;
+// a reautenticação é pedida antes que o token expire, não no meio de um fluxo. Com várias contas,
+// vale a sessão da conta ativa; as das outras ficam decodificadas para a troca
+public class SessionManager implements AccountRegistry.Listener {
+
+    public enum State {
+        SIGNED_OUT,
+        // Token válido
+        ACTIVE,
+        // Token ainda válido, mas dentro da margem de renovação
+        EXPIRING,
+        // Token vencido (ou ilegível); o usuário continua logado até a reautenticação
+        EXPIRED
+    }
+
+    // Implementado pela tela em primeiro plano, que tem o contexto de atividade exigido pelo CredentialManager
+    public interface Listener {
+        void onReauthenticationDue(Session session);
+    }
+
+    private static final String TAG = "SessionManager";
+    // Renovar com essa antecedência; ID tokens do Google valem cerca de uma hora
+    static final long REFRESH_MARGIN_MS = 5 * 60 * 1000;
+
+    private static volatile SessionManager instance;
+
+    private final PreferencesStore prefs;
+    private final AccountRegistry accounts;
+    private final ProfileRepository profile;
+    // Sessões já decodificadas, por id de conta
+    private final Map<String, Session> sessions = new HashMap<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable refreshDue = this::requestReauthentication;
+    private volatile Session session;
+    // Campos abaixo acessados apenas na main thread
+    private Listener listener;
+    private boolean reauthRequested;
+
+    public static SessionManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SessionManager.class) {
+                if (instance == null) {
+                    instance = new SessionManager(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private SessionManager(Context appContext) {
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.accounts = AccountRegistry.getInstance(appContext);
+        this.profile = ProfileRepository.getInstance(appContext);
+        this.session = restore(accounts.getActive());
+        accounts.addListener(this);
+        mainHandler.post(this::scheduleRefresh);
+    }
+
+    // Token salvo na partição da conta; o e-mail nunca era gravado, então é preenchido a partir das claims
+    private Session restore(AccountRegistry.Account account) {
+        if (account == null) {
+            return null;
+        }
+        synchronized (sessions) {
+            Session cached = sessions.get(account.getId());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String idToken = prefs.get(account.key(PrefKeys.GOOGLE_ID_TOKEN));
+        if (idToken == null) {
+            return null;
+        }
+        Session restored = Session.parse(idToken, profile.getName());
+        if (restored.email != null && PrefKeys.USER_EMAIL.getDefaultValue().equals(profile.getEmail())) {
+            profile.setEmail(restored.email);
+        }
+        cache(account, restored);
+        return restored;
+    }
+
+    private void cache(AccountRegistry.Account account, Session value) {
+        synchronized (sessions) {
+            sessions.put(account.getId(), value);
+        }
+    }
+
+    // O perfil já foi recarregado (ProfileRepository se registra antes); a sessão da nova conta passa a valer
+    @Override
+    public void onActiveAccountChanged(AccountRegistry.Account account) {
+        replace(restore(account));
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public State getState() {
+        return stateAt(session, System.currentTimeMillis());
+    }
+
+    static State stateAt(Session current, long now) {
+        if (current == null) {
+            return State.SIGNED_OUT;
+        }
+        if (now >= current.expiresAtMillis) {
+            return State.EXPIRED;
+        }
+        return now >= current.expiresAtMillis - REFRESH_MARGIN_MS ? State.EXPIRING : State.ACTIVE;
+    }
+
+    public boolean isSignedIn() {
+        return session != null;
+    }
+
+    // Login explícito, também usado para adicionar uma conta: grava token, nome e e-mail na partição da conta
+    // e a torna ativa; pode ser chamado de qualquer thread. onSwitched roda quando a conta já está ativa
+    public Session signIn(String idToken, String displayName, Runnable onSwitched) {
+        Session signedIn = Session.parse(idToken, displayName);
+        AccountRegistry.Account account = accounts.add(AccountRegistry.idFor(signedIn), signedIn.name, signedIn.email);
+        // Gravado antes da troca: a partição lida em seguida já inclui o token e os dados novos
+        PreferencesStore.Editor editor = prefs.edit().put(account.key(PrefKeys.GOOGLE_ID_TOKEN), idToken);
+        if (signedIn.name != null) {
+            editor.put(account.key(PrefKeys.USER_NAME), signedIn.name);
+        }
+        if (signedIn.email != null) {
+            editor.put(account.key(PrefKeys.USER_EMAIL), signedIn.email);
+        }
+        editor.apply();
+        cache(account, signedIn);
+        accounts.switchTo(account, onSwitched);
+        return signedIn;
+    }
+
+    // Token renovado pela reautenticação; nome e e-mail editados no perfil são mantidos.
+    // null se o token for de outra conta (a seleção automática pode escolher qualquer uma já autorizada)
+    public Session refresh(String idToken) {
+        AccountRegistry.Account account = accounts.getActive();
+        if (account == null) {
+            return null;
+        }
+        Session refreshed = Session.parse(idToken, profile.getName());
+        if (!AccountRegistry.idFor(refreshed).equals(account.getId())) {
+            return null;
+        }
+        prefs.edit().put(account.key(PrefKeys.GOOGLE_ID_TOKEN), idToken).apply();
+        cache(account, refreshed);
+        replace(refreshed);
+        return refreshed;
+    }
+
+    // Troca para outra conta já conectada; instantânea se a partição dela já estiver em memória
+    public void switchAccount(AccountRegistry.Account account, Runnable onSwitched) {
+        accounts.switchTo(account, onSwitched);
+    }
+
+    private void replace(Session next) {
+        session = next;
+        mainHandler.post(() -> {
+            reauthRequested = false;
+            scheduleRefresh();
+        });
+    }
+
+    // Desconecta só a conta ativa e apaga os dados dela; havendo outra conta, ela assume.
+    // onSwitched roda depois disso; isSignedIn() diz se ainda há uma conta ativa
+    public void signOut(Runnable onSwitched) {
+        AccountRegistry.Account account = accounts.getActive();
+        if (account != null) {
+            synchronized (sessions) {
+                sessions.remove(account.getId());
+            }
+        }
+        // Sem sessão até a próxima conta assumir: isSignedIn() não responde pela conta removida
+        replace(null);
+        accounts.removeActive(onSwitched);
+    }
+
+    // Chamar na main thread; um token perto de vencer é repassado assim que houver um listener
+    public void setListener(Listener listener) {
+        this.listener = listener;
+        if (listener != null) {
+            requestReauthentication();
+        }
+    }
+
+    // Solta o listener só se ainda for ele: numa transição, o onStop da tela que sai roda depois do onStart
+    // da que entra, que já registrou o seu
+    public void clearListener(Listener listener) {
+        if (this.listener == listener) {
+            this.listener = null;
+        }
+    }
+
+    // A reautenticação falhou (ex.: sem rede); uma nova tentativa acontece no próximo setListener
+    public void onReauthenticationFailed() {
+        reauthRequested = false;
+    }
+
+    private void scheduleRefresh() {
+        mainHandler.removeCallbacks(refreshDue);
+        Session current = session;
+        if (current == null) {
+            return;
+        }
+        long delay = current.expiresAtMillis - REFRESH_MARGIN_MS - System.currentTimeMillis();
+        if (delay > 0) {
+            mainHandler.postDelayed(refreshDue, delay);
+        } else {
+            requestReauthentication();
+        }
+    }
+
+    private void requestReauthentication() {
+        Session current = session;
+        if (current == null || listener == null || reauthRequested) {
+            return;
+        }
+        State state = getState();
+        if (state == State.EXPIRING || state == State.EXPIRED) {
+            reauthRequested = true;
+            listener.onReauthenticationDue(current);
+        }
+    }
+
+    public static final class Session {
+        private final String idToken;
+        private final String subject;
+        private final String email;
+        private final String name;
+        private final long expiresAtMillis;
+
+        private Session(String idToken, String subject, String email, String name, long expiresAtMillis) {
+            this.idToken = idToken;
+            this.subject = subject;
+            this.email = email;
+            this.name = name;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        // Lê exp, sub, email e name do payload do JWT; a assinatura não é verificada aqui, só no servidor
+        static Session parse(String idToken, String fallbackName) {
+            String[] parts = idToken.split("\\.");
+            String claims = null;
+            if (parts.length >= 2) {
+                try {
+                    byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_PADDING | Base64.NO_WRAP);
+                    claims = new String(payload, StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    Log.w(TAG, "ID token ilegível; a sessão será tratada como expirada", e);
+                }
+            }
+            return fromClaims(idToken, claims, fallbackName);
+        }
+
+        // Payload já decodificado (JSON); null ou ilegível vira uma sessão sem claims, já expirada
+        static Session fromClaims(String idToken, String claimsJson, String fallbackName) {
+            String subject = null;
+            String email = null;
+            String name = null;
+            long expiresAt = 0;
+            if (claimsJson != null) {
+                try {
+                    JSONObject claims = new JSONObject(claimsJson);
+                    expiresAt = claims.optLong("exp", 0) * 1000;
+                    subject = claims.optString("sub", null);
+                    email = claims.optString("email", null);
+                    name = claims.optString("name", null);
+                } catch (JSONException e) {
+                    Log.w(TAG, "ID token ilegível; a sessão será tratada como expirada", e);
+                }
+            }
+            return new Session(idToken, subject, email, fallbackName != null ? fallbackName : name, expiresAt);
+        }
+
+        public String getIdToken() {
+            return idToken;
+        }
+
+        // Identificador da conta Google; null quando o token não traz a claim sub
+        public String getSubject() {
+            return subject;
+        }
+
+        // null quando o token não traz a claim email
+        public String getEmail() {
+            return email;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.baseapp.data;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.XmlResourceParser;
+
+import com.example.baseapp.R;
+import com.example.baseapp.data.PreferencesStore.Key;
+import com.example.baseapp.model.BooleanSettingItem;
+import com.example.baseapp.model.EnumSettingItem;
+import com.example.baseapp.model.IntSettingItem;
+import com.example.baseapp.model.SettingItem;
+import com.example.baseapp.model.SettingSection;
+import com.example.baseapp.model.StringSettingItem;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SettingsSchema {
+
+    private static final String TYPE_SECTION = "section";
+    private static final String TYPE_BOOLEAN = "boolean";
+    private static final String TYPE_INT = "int";
+    private static final String TYPE_ENUM = "enum";
+    private static final String TYPE_STRING = "string";
+
+    private static volatile SettingsSchema instance;
+
+    private final List<Entry> entries;
+    private final Map<String, Entry> entriesByKey;
+    private final String localeTag;
+
+    private SettingsSearchIndex searchIndex;
+
+    // Itens montados para o último snapshot; reaproveitados enquanto as preferências não mudam
+    private PreferencesStore.Snapshot lastSnapshot;
+    private List<SettingItem> lastItems;
+
+    // O esquema é lido do XML uma única vez e refeito apenas se o idioma mudar
+    public static SettingsSchema getInstance(Context context) {
+        Resources resources = context.getApplicationContext().getResources();
+        String localeTag = resources.getConfiguration().locale.toString();
+        SettingsSchema schema = instance;
+        if (schema == null || !schema.localeTag.equals(localeTag)) {
+            synchronized (SettingsSchema.class) {
+                schema = instance;
+                if (schema == null || !schema.localeTag.equals(localeTag)) {
+                    schema = new SettingsSchema(parse(resources), localeTag);
+                    instance = schema;
+                }
+            }
+        }
+        return schema;
+    }
+
+    SettingsSchema(List<Entry> entries, String localeTag) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.entriesByKey = new HashMap<>();
+        for (Entry entry : entries) {
+            entriesByKey.put(entry.key, entry);
+        }
+        this.localeTag = localeTag;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    // Monta os itens tipados a partir do snapshot; o mesmo snapshot devolve a mesma lista
+    public synchronized List<SettingItem> buildItems(PreferencesStore.Snapshot snapshot) {
+        if (snapshot == lastSnapshot && lastItems != null) {
+            return lastItems;
+        }
+        List<SettingItem> items = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            items.add(entry.createItem(snapshot));
+        }
+        lastSnapshot = snapshot;
+        lastItems = Collections.unmodifiableList(items);
+        return lastItems;
+    }
+
+    // Índice de busca sobre os textos já traduzidos; posições correspondem às de buildItems
+    public synchronized SettingsSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            List<String> titles = new ArrayList<>(entries.size());
+            List<String> descriptions = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                // Seções não são resultados de busca
+                titles.add(TYPE_SECTION.equals(entry.type) ? null : entry.title);
+                descriptions.add(entry.description);
+            }
+            searchIndex = new SettingsSearchIndex(titles, descriptions);
+        }
+        return searchIndex;
+    }
+
+    // Grava o valor do item na chave declarada no esquema
+    @SuppressWarnings("unchecked")
+    public void write(PreferencesStore.Editor editor, SettingItem item) {
+        Entry entry = entriesByKey.get(item.getKey());
+        if (entry == null || entry.prefKey == null) {
+            throw new IllegalArgumentException("Configuração desconhecida: " + item.getKey());
+        }
+        editor.put((Key<Object>) entry.prefKey, item.getValue());
+    }
+
+    public static final class Entry {
+        final String type;
+        final String key;
+        final String title;
+        final String description;
+        final Key<?> prefKey;
+        final int min;
+        final int max;
+        final String[] labels;
+        final String[] values;
+
+        Entry(String type, String key, String title, String description, Key<?> prefKey,
+              int min, int max, String[] labels, String[] values) {
+            this.type = type;
+            this.key = key;
+            this.title = title;
+            this.description = description;
+            this.prefKey = prefKey;
+            this.min = min;
+            this.max = max;
+            this.labels = labels;
+            this.values = values;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        SettingItem createItem(PreferencesStore.Snapshot snapshot) {
+            switch (type) {
+                case TYPE_SECTION:
+                    return new SettingSection(title, key);
+                case TYPE_BOOLEAN:
+                    return new BooleanSettingItem(title, description, key, (Boolean) snapshot.get(prefKey));
+                case TYPE_INT:
+                    return new IntSettingItem(title, description, key, (Integer) snapshot.get(prefKey), min, max);
+                case TYPE_ENUM:
+                    return new EnumSettingItem(title, description, key, (String) snapshot.get(prefKey), labels, values);
+                case TYPE_STRING:
+                    return new StringSettingItem(title, description, key, (String) snapshot.get(prefKey));
+                default:
+                    throw new IllegalStateException("Tipo desconhecido: " + type);
+            }
+        }
+    }
+
+    // Atributos de um elemento do esquema; separa a leitura do XML compilado da montagem das entradas
+    interface Attributes {
+        // Texto do atributo, com referências (@string/...) resolvidas; null se ausente
+        String text(String name);
+
+        // Array referenciado pelo atributo (@array/...); null se ausente
+        String[] array(String name);
+
+        // Posição do elemento para as mensagens de erro
+        String position();
+    }
+
+    private static List<Entry> parse(Resources resources) {
+        List<Entry> entries = new ArrayList<>();
+        try (XmlResourceParser parser = resources.getXml(R.xml.settings_schema)) {
+            Attributes attributes = new ResourceAttributes(resources, parser);
+            int event;
+            while ((event = parser.next()) != XmlPullParser.END_DOCUMENT) {
+                if (event != XmlPullParser.START_TAG || "settings".equals(parser.getName())) {
+                    continue;
+                }
+                entries.add(parseEntry(parser.getName(), attributes, PrefKeys.SETTINGS));
+            }
+        } catch (XmlPullParserException | IOException e) {
+            throw new IllegalStateException("Esquema de configurações inválido", e);
+        }
+        return entries;
+    }
+
+    // Cada item aponta para uma chave de PrefKeys pelo nome; o tipo do elemento precisa bater com o da chave
+    static Entry parseEntry(String type, Attributes attributes, Map<String, Key<?>> keys) {
+        String key = attributes.text("key");
+        if (key == null) {
+            throw new IllegalStateException("Elemento <" + type + "> sem key " + attributes.position());
+        }
+        String title = attributes.text("title");
+        if (TYPE_SECTION.equals(type)) {
+            return new Entry(type, key, title, null, null, 0, 0, null, null);
+        }
+        if (attributes.text("defaultValue") != null) {
+            throw new IllegalStateException("defaultValue em " + key + ": o padrão fica na chave de PrefKeys");
+        }
+        String description = attributes.text("description");
+
+        switch (type) {
+            case TYPE_BOOLEAN:
+                return new Entry(type, key, title, description, resolve(keys, key, Boolean.class), 0, 0, null, null);
+            case TYPE_INT: {
+                Key<Integer> prefKey = resolve(keys, key, Integer.class);
+                int min = intAttribute(attributes, key, "min", Integer.MIN_VALUE);
+                int max = intAttribute(attributes, key, "max", Integer.MAX_VALUE);
+                int fallback = prefKey.getDefaultValue();
+                if (min > max || fallback < min || fallback > max) {
+                    throw new IllegalStateException("Intervalo inválido em " + key + ": min=" + min + " max=" + max
+                            + " padrão=" + fallback);
+                }
+                return new Entry(type, key, title, description, prefKey, min, max, null, null);
+            }
+            case TYPE_ENUM: {
+                Key<String> prefKey = resolve(keys, key, String.class);
+                String[] labels = attributes.array("entries");
+                String[] values = attributes.array("entryValues");
+                if (labels == null || values == null || labels.length != values.length || values.length == 0) {
+                    throw new IllegalStateException("entries e entryValues incompatíveis em " + key);
+                }
+                if (prefKey.getDefaultValue() != null && !Arrays.asList(values).contains(prefKey.getDefaultValue())) {
+                    throw new IllegalStateException("Padrão de " + key + " fora de entryValues: " + prefKey.getDefaultValue());
+                }
+                return new Entry(type, key, title, description, prefKey, 0, 0, labels, values);
+            }
+            case TYPE_STRING:
+                return new Entry(type, key, title, description, resolve(keys, key, String.class), 0, 0, null, null);
+            default:
+                throw new IllegalStateException("Elemento desconhecido <" + type + "> " + attributes.position());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Key<T> resolve(Map<String, Key<?>> keys, String name, Class<T> type) {
+        Key<?> key = keys.get(name);
+        if (key == null) {
+            throw new IllegalStateException("Configuração sem chave em PrefKeys: " + name);
+        }
+        if (key.getType() != type) {
+            throw new IllegalStateException("Tipo de " + name + " no esquema (" + type.getSimpleName()
+                    + ") diferente do de PrefKeys (" + key.getType().getSimpleName() + ")");
+        }
+        return (Key<T>) key;
+    }
+
+    private static int intAttribute(Attributes attributes, String key, String name, int fallback) {
+        String value = attributes.text(name);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(name + " inválido em " + key + ": " + value, e);
+        }
+    }
+
+    // Atributos do elemento atual do parser; aceita tanto referências (@string/...) quanto texto literal
+    private static final class ResourceAttributes implements Attributes {
+        private final Resources resources;
+        private final XmlResourceParser parser;
+
+        ResourceAttributes(Resources resources, XmlResourceParser parser) {
+            this.resources = resources;
+            this.parser = parser;
+        }
+
+        @Override
+        public String text(String name) {
+            int resId = parser.getAttributeResourceValue(null, name, 0);
+            if (resId != 0) {
+                return resources.getString(resId);
+            }
+            return parser.getAttributeValue(null, name);
+        }
+
+        @Override
+        public String[] array(String name) {
+            int resId = parser.getAttributeResourceValue(null, name, 0);
+            return resId != 0 ? resources.getStringArray(resId) : null;
+        }
+
+        @Override
+        public String position() {
+            return "na linha " + parser.getLineNumber();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.baseapp.data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Índice de busca montado uma vez sobre títulos e descrições: prefixos de palavras + trigramas
+public class SettingsSearchIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{Mn}+");
+    private static final int FIELD_TITLE = 0;
+    private static final int FIELD_DESCRIPTION = 1;
+
+    // Pesos por tipo de ocorrência de cada termo
+    private static final int SCORE_TITLE_START = 100;
+    private static final int SCORE_TITLE_PREFIX = 60;
+    private static final int SCORE_DESCRIPTION_PREFIX = 30;
+    private static final int SCORE_TITLE_SUBSTRING = 20;
+    private static final int SCORE_DESCRIPTION_SUBSTRING = 10;
+
+    private final int documentCount;
+    private final String[] titles;
+    private final String[] descriptions;
+
+    // Palavras ordenadas para busca binária por prefixo; arrays paralelos com documento e campo
+    private final String[] words;
+    private final int[] wordDocument;
+    private final byte[] wordField;
+    private final boolean[] wordIsFirst;
+
+    // Trigrama -> documentos (ordenados, sem repetição) que o contêm em qualquer campo
+    private final Map<Long, int[]> trigrams;
+
+    // titles[i] null marca um documento que não deve aparecer na busca (ex.: seções)
+    public SettingsSearchIndex(List<String> titles, List<String> descriptions) {
+        this.documentCount = titles.size();
+        this.titles = new String[documentCount];
+        this.descriptions = new String[documentCount];
+
+        List<Object[]> postings = new ArrayList<>();
+        Map<Long, List<Integer>> trigramLists = new HashMap<>();
+        for (int doc = 0; doc < documentCount; doc++) {
+            if (titles.get(doc) == null) {
+                continue;
+            }
+            this.titles[doc] = normalize(titles.get(doc));
+            this.descriptions[doc] = descriptions.get(doc) != null ? normalize(descriptions.get(doc)) : "";
+            addWords(postings, this.titles[doc], doc, FIELD_TITLE);
+            addWords(postings, this.descriptions[doc], doc, FIELD_DESCRIPTION);
+            addTrigrams(trigramLists, this.titles[doc], doc);
+            addTrigrams(trigramLists, this.descriptions[doc], doc);
+        }
+
+        // Collections.sort e não List.sort, que só existe a partir da API 24
+        Collections.sort(postings, (a, b) -> ((String) a[0]).compareTo((String) b[0]));
+        int size = postings.size();
+        words = new String[size];
+        wordDocument = new int[size];
+        wordField = new byte[size];
+        wordIsFirst = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Object[] posting = postings.get(i);
+            words[i] = (String) posting[0];
+            wordDocument[i] = (Integer) posting[1];
+            wordField[i] = (byte) (int) (Integer) posting[2];
+            wordIsFirst[i] = (Boolean) posting[3];
+        }
+
+        trigrams = new HashMap<>(trigramLists.size() * 2);
+        for (Map.Entry<Long, List<Integer>> entry : trigramLists.entrySet()) {
+            List<Integer> docs = entry.getValue();
+            int[] array = new int[docs.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = docs.get(i);
+            }
+            trigrams.put(entry.getKey(), array);
+        }
+    }
+
+    // Retorna os documentos que contêm todos os termos, do mais relevante para o menos relevante
+    public int[] search(String query) {
+        String[] terms = normalize(query).trim().split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return new int[0];
+        }
+        int[] total = new int[documentCount];
+        int[] termScore = new int[documentCount];
+        boolean first = true;
+        for (String term : terms) {
+            Arrays.fill(termScore, 0);
+            scorePrefixes(term, termScore);
+            if (term.length() >= 3) {
+                scoreSubstrings(term, termScore);
+            }
+            for (int doc = 0; doc < documentCount; doc++) {
+                // Todos os termos precisam ocorrer; um termo sem ocorrência zera o documento
+                if (termScore[doc] == 0 || (!first && total[doc] == 0)) {
+                    total[doc] = 0;
+                } else {
+                    total[doc] += termScore[doc];
+                }
+            }
+            first = false;
+        }
+        return rank(total);
+    }
+
+    private void scorePrefixes(String term, int[] scores) {
+        int index = lowerBound(term);
+        while (index < words.length && words[index].startsWith(term)) {
+            int doc = wordDocument[index];
+            int score;
+            if (wordField[index] == FIELD_TITLE) {
+                score = wordIsFirst[index] ? SCORE_TITLE_START : SCORE_TITLE_PREFIX;
+            } else {
+                score = SCORE_DESCRIPTION_PREFIX;
+            }
+            scores[doc] = Math.max(scores[doc], score);
+            index++;
+        }
+    }
+
+    private void scoreSubstrings(String term, int[] scores) {
+        // Interseção das listas de trigramas do termo filtra os candidatos antes de comparar texto
+        int[] candidates = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            int[] docs = trigrams.get(trigramKey(term, i));
+            if (docs == null) {
+                return;
+            }
+            candidates = candidates == null ? docs : intersect(candidates, docs);
+            if (candidates.length == 0) {
+                return;
+            }
+        }
+        if (candidates == null) {
+            return;
+        }
+        for (int doc : candidates) {
+            if (scores[doc] >= SCORE_TITLE_SUBSTRING) {
+                continue;
+            }
+            if (titles[doc].contains(term)) {
+                scores[doc] = SCORE_TITLE_SUBSTRING;
+            } else if (scores[doc] < SCORE_DESCRIPTION_SUBSTRING && descriptions[doc].contains(term)) {
+                scores[doc] = SCORE_DESCRIPTION_SUBSTRING;
+            }
+        }
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] rank(int[] scores) {
+        int count = 0;
+        for (int score : scores) {
+            if (score > 0) count++;
+        }
+        // Ordena por pontuação (decrescente) e depois pela ordem original do esquema
+        long[] packed = new long[count];
+        int n = 0;
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0) {
+                packed[n++] = ((long) (Integer.MAX_VALUE - scores[doc]) << 32) | doc;
+            }
+        }
+        Arrays.sort(packed);
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = (int) packed[i];
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private static void addWords(List<Object[]> postings, String text, int doc, int field) {
+        boolean firstWord = true;
+        for (String word : text.split("[^\\p{L}\\p{Nd}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            postings.add(new Object[]{word, doc, field, firstWord});
+            firstWord = false;
+        }
+    }
+
+    private static void addTrigrams(Map<Long, List<Integer>> trigramLists, String text, int doc) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            List<Integer> docs = trigramLists.get(trigramKey(text, i));
+            if (docs == null) {
+                docs = new ArrayList<>();
+                trigramLists.put(trigramKey(text, i), docs);
+            }
+            // Documentos entram em ordem crescente; basta evitar repetir o último
+            if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+                docs.add(doc);
+            }
+        }
+    }
+
+    private static long trigramKey(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    // Minúsculas e sem acentos: "Notificações" e "notificacoes" casam igualmente
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.baseapp.data;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Contador de escritas por nó (aparelho ou servidor) de um campo. Comparar dois vetores diz se uma escrita
+// já conhecia a outra ou se as duas aconteceram sem se ver. Imutável: cada operação devolve um novo vetor
+public final class VersionVector {
+
+    public enum Order {
+        EQUAL,
+        // Este vetor é anterior ao outro: o outro já conhecia todas as escritas deste
+        BEFORE,
+        AFTER,
+        // Escritas concorrentes; cada lado tem alguma que o outro não viu
+        CONCURRENT
+    }
+
+    public static final VersionVector EMPTY = new VersionVector(Collections.<String, Long>emptyMap());
+
+    // Ordenado pelo nó para que o JSON seja estável
+    private final Map<String, Long> counters;
+
+    private VersionVector(Map<String, Long> counters) {
+        this.counters = counters;
+    }
+
+    public long get(String node) {
+        Long counter = counters.get(node);
+        return counter != null ? counter : 0;
+    }
+
+    // Mais uma escrita do nó
+    public VersionVector increment(String node) {
+        Map<String, Long> copy = new TreeMap<>(counters);
+        copy.put(node, get(node) + 1);
+        return new VersionVector(Collections.unmodifiableMap(copy));
+    }
+
+    // Máximo de cada nó: um vetor que conhece as escritas dos dois
+    public VersionVector merge(VersionVector other) {
+        Map<String, Long> copy = new TreeMap<>(counters);
+        for (Map.Entry<String, Long> entry : other.counters.entrySet()) {
+            copy.put(entry.getKey(), Math.max(get(entry.getKey()), entry.getValue()));
+        }
+        return new VersionVector(Collections.unmodifiableMap(copy));
+    }
+
+    public Order compare(VersionVector other) {
+        boolean ahead = false;
+        boolean behind = false;
+        Map<String, Long> nodes = new TreeMap<>(counters);
+        nodes.putAll(other.counters);
+        for (String node : nodes.keySet()) {
+            long mine = get(node);
+            long theirs = other.get(node);
+            if (mine > theirs) {
+                ahead = true;
+            } else if (mine < theirs) {
+                behind = true;
+            }
+        }
+        if (ahead && behind) {
+            return Order.CONCURRENT;
+        }
+        if (ahead) {
+            return Order.AFTER;
+        }
+        return behind ? Order.BEFORE : Order.EQUAL;
+    }
+
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        try {
+            for (Map.Entry<String, Long> entry : counters.entrySet()) {
+                json.put(entry.getKey(), (long) entry.getValue());
+            }
+        } catch (JSONException e) {
+            throw new IllegalStateException(e);
+        }
+        return json;
+    }
+
+    // null ou vazio vira EMPTY
+    public static VersionVector fromJson(JSONObject json) {
+        if (json == null || json.length() == 0) {
+            return EMPTY;
+        }
+        Map<String, Long> counters = new TreeMap<>();
+        Iterator<String> nodes = json.keys();
+        while (nodes.hasNext()) {
+            String node = nodes.next();
+            counters.put(node, json.optLong(node, 0));
+        }
+        return new VersionVector(Collections.unmodifiableMap(counters));
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof VersionVector && compare((VersionVector) other) == Order.EQUAL;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (entry.getValue() != 0) {
+                hash += entry.getKey().hashCode() ^ entry.getValue().hashCode();
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return counters.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.baseapp.model;
+
+public class BooleanSettingItem extends SettingItem {
+    private final boolean toggleValue;
+
+    public BooleanSettingItem(String title, String description, String key, boolean toggleValue) {
+        super(title, description, key);
+        this.toggleValue = toggleValue;
+    }
+
+    @Override
+    public boolean isToggle() {
+        return true;
+    }
+
+    @Override
+    public boolean getToggleValue() {
+        return toggleValue;
+    }
+
+    @Override
+    public Object getValue() {
+        return toggleValue;
+    }
+
+    // Itens são imutáveis para que o diff compare versões antigas e novas com segurança
+    public BooleanSettingItem withToggleValue(boolean toggleValue) {
+        return new BooleanSettingItem(getTitle(), getDescription(), getKey(), toggleValue);
+    }
+}
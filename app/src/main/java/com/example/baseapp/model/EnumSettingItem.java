@@ -0,0 +1,61 @@
+package com.example.baseapp.model;
+
+import java.util.Arrays;
+
+public class EnumSettingItem extends SettingItem {
+    private final String value;
+    private final String[] labels;
+    private final String[] values;
+    private final String displayValue;
+
+    public EnumSettingItem(String title, String description, String key, String value, String[] labels, String[] values) {
+        super(title, description, key);
+        this.value = value;
+        this.labels = labels;
+        this.values = values;
+        int index = indexOf(value);
+        this.displayValue = index >= 0 ? labels[index] : value;
+    }
+
+    public String getStringValue() {
+        return value;
+    }
+
+    public String[] getLabels() {
+        return labels.clone();
+    }
+
+    public String[] getValues() {
+        return values.clone();
+    }
+
+    public int indexOf(String candidate) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(candidate)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getDisplayValue() {
+        return displayValue;
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean hasSameDefinition(SettingItem other) {
+        return super.hasSameDefinition(other)
+                && Arrays.equals(labels, ((EnumSettingItem) other).labels)
+                && Arrays.equals(values, ((EnumSettingItem) other).values);
+    }
+
+    public EnumSettingItem withValue(String value) {
+        return new EnumSettingItem(getTitle(), getDescription(), getKey(), value, labels, values);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.baseapp.model;
+
+public class IntSettingItem extends SettingItem {
+    private final int value;
+    private final int min;
+    private final int max;
+    private final String displayValue;
+
+    public IntSettingItem(String title, String description, String key, int value, int min, int max) {
+        super(title, description, key);
+        this.min = min;
+        this.max = max;
+        this.value = Math.max(min, Math.min(max, value));
+        this.displayValue = String.valueOf(this.value);
+    }
+
+    public int getIntValue() {
+        return value;
+    }
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String getDisplayValue() {
+        return displayValue;
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean hasSameDefinition(SettingItem other) {
+        return super.hasSameDefinition(other)
+                && min == ((IntSettingItem) other).min
+                && max == ((IntSettingItem) other).max;
+    }
+
+    public IntSettingItem withValue(int value) {
+        return new IntSettingItem(getTitle(), getDescription(), getKey(), value, min, max);
+    }
+}
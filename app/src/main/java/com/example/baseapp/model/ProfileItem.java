@@ -1,16 +1,24 @@
 package com.example.baseapp.model;
 
+import java.util.Objects;
+
 public class ProfileItem {
-    private String title;
-    private String value;
-    private boolean isAction;
+    private final String key;
+    private final String title;
+    private final String value;
+    private final boolean isAction;
 
-    public ProfileItem(String title, String value, boolean isAction) {
+    public ProfileItem(String key, String title, String value, boolean isAction) {
+        this.key = key;
         this.title = title;
         this.value = value;
         this.isAction = isAction;
     }
 
+    public String getKey() {
+        return key;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -22,4 +30,20 @@ public class ProfileItem {
     public boolean isAction() {
         return isAction;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProfileItem)) return false;
+        ProfileItem that = (ProfileItem) o;
+        return isAction == that.isAction
+                && Objects.equals(key, that.key)
+                && Objects.equals(title, that.title)
+                && Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, title, value, isAction);
+    }
+}
@@ -1,18 +1,16 @@
 package com.example.baseapp.model;
 
-public class SettingItem {
-    private String title;
-    private String description;
-    private String key;
-    private boolean isToggle;
-    private boolean toggleValue;
-
-    public SettingItem(String title, String description, String key, boolean isToggle, boolean toggleValue) {
+import java.util.Objects;
+
+public abstract class SettingItem {
+    private final String title;
+    private final String description;
+    private final String key;
+
+    protected SettingItem(String title, String description, String key) {
         this.title = title;
         this.description = description;
         this.key = key;
-        this.isToggle = isToggle;
-        this.toggleValue = toggleValue;
     }
 
     public String getTitle() {
@@ -28,14 +26,39 @@ public class SettingItem {
     }
 
     public boolean isToggle() {
-        return isToggle;
+        return false;
     }
 
     public boolean getToggleValue() {
-        return toggleValue;
+        return false;
+    }
+
+    // Texto do valor atual exibido na linha; null quando a linha não mostra valor
+    public String getDisplayValue() {
+        return null;
+    }
+
+    public abstract Object getValue();
+
+    // Mesmo item com a mesma definição, diferindo no máximo no valor
+    public boolean hasSameDefinition(SettingItem other) {
+        return other != null
+                && getClass() == other.getClass()
+                && Objects.equals(key, other.key)
+                && Objects.equals(title, other.title)
+                && Objects.equals(description, other.description);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SettingItem)) return false;
+        SettingItem that = (SettingItem) o;
+        return hasSameDefinition(that) && Objects.equals(getValue(), that.getValue());
     }
 
-    public void setToggleValue(boolean toggleValue) {
-        this.toggleValue = toggleValue;
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, description, key, getValue());
     }
-}
\ No newline at end of file
+}
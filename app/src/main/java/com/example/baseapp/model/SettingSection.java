@@ -0,0 +1,14 @@
+package com.example.baseapp.model;
+
+// Cabeçalho de seção na lista de configurações; não guarda valor
+public class SettingSection extends SettingItem {
+
+    public SettingSection(String title, String key) {
+        super(title, null, key);
+    }
+
+    @Override
+    public Object getValue() {
+        return null;
+    }
+}
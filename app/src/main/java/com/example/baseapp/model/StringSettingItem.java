@@ -0,0 +1,28 @@
+package com.example.baseapp.model;
+
+public class StringSettingItem extends SettingItem {
+    private final String value;
+
+    public StringSettingItem(String title, String description, String key, String value) {
+        super(title, description, key);
+        this.value = value;
+    }
+
+    public String getStringValue() {
+        return value;
+    }
+
+    @Override
+    public String getDisplayValue() {
+        return value;
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    public StringSettingItem withValue(String value) {
+        return new StringSettingItem(getTitle(), getDescription(), getKey(), value);
+    }
+}
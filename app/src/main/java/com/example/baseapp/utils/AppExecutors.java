@@ -0,0 +1,317 @@
+package com.example.baseapp.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Threads de segundo plano do app inteiro: um pool limitado por tipo de trabalho, fila por prioridade
+// e métricas por tipo de tarefa, em vez de cada classe criar (e esquecer) seus próprios executores
+public final class AppExecutors {
+
+    public enum Pool {
+        // Disco e rede: threads que passam a maior parte do tempo bloqueadas
+        IO("app-io", 4, Thread.NORM_PRIORITY - 1),
+        // Cálculo puro (diffs, bitmaps): no máximo um por núcleo, deixando um para a main thread
+        CPU("app-cpu", Math.max(2, Math.min(Runtime.getRuntime().availableProcessors() - 1, 4)), Thread.NORM_PRIORITY - 1),
+        // Trabalho que o usuário está esperando na tela (ex.: resposta do login)
+        UI_CRITICAL("app-ui", 2, Thread.NORM_PRIORITY);
+
+        final String threadName;
+        final int threads;
+        final int threadPriority;
+
+        Pool(String threadName, int threads, int threadPriority) {
+            this.threadName = threadName;
+            this.threads = threads;
+            this.threadPriority = threadPriority;
+        }
+    }
+
+    // Ordem de saída da fila de um pool; dentro da mesma prioridade, ordem de envio
+    public enum Priority {
+        HIGH,
+        NORMAL,
+        LOW
+    }
+
+    // Threads ociosas por mais que isso são encerradas; o pool volta a crescer sob demanda
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    private static final int CANCELLED = 3;
+
+    private static volatile AppExecutors instance;
+
+    private final Map<Pool, ThreadPoolExecutor> pools = new EnumMap<>(Pool.class);
+    // Só conta os atrasos de SerialQueue.schedule; o trabalho em si roda nos pools
+    private final ScheduledExecutorService timer;
+    private final ConcurrentHashMap<String, TaskStats> stats = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public static AppExecutors getInstance() {
+        if (instance == null) {
+            synchronized (AppExecutors.class) {
+                if (instance == null) {
+                    instance = new AppExecutors();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private AppExecutors() {
+        for (Pool pool : Pool.values()) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(pool.threads, pool.threads,
+                    KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>(),
+                    threadFactory(pool.threadName, pool.threadPriority));
+            executor.allowCoreThreadTimeOut(true);
+            pools.put(pool, executor);
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(threadFactory("app-timer", Thread.NORM_PRIORITY));
+    }
+
+    private static ThreadFactory threadFactory(String name, int priority) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setPriority(priority);
+            return thread;
+        };
+    }
+
+    public Task execute(Pool pool, String type, Runnable body) {
+        return execute(pool, type, Priority.NORMAL, body);
+    }
+
+    public Task execute(Pool pool, String type, Priority priority, Runnable body) {
+        Task task = new Task(pool, statsFor(type), priority, body, null);
+        task.markEnqueued();
+        pools.get(pool).execute(task);
+        return task;
+    }
+
+    // Para APIs que recebem um Executor (ex.: callbacks do CredentialManager)
+    public Executor executor(Pool pool, String type, Priority priority) {
+        return body -> execute(pool, type, priority, body);
+    }
+
+    // Fila que executa uma tarefa por vez, na ordem de envio; o estado acessado só por ela dispensa locks
+    public SerialQueue serial(Pool pool, String type, Priority priority) {
+        return new SerialQueue(pool, statsFor(type), priority);
+    }
+
+    public SerialQueue serial(Pool pool, String type) {
+        return serial(pool, type, Priority.NORMAL);
+    }
+
+    // Métricas por tipo de tarefa, ordenadas pelo nome
+    public Map<String, TaskStats> getStats() {
+        return Collections.unmodifiableMap(new TreeMap<>(stats));
+    }
+
+    public int getQueueDepth(Pool pool) {
+        return pools.get(pool).getQueue().size();
+    }
+
+    private TaskStats statsFor(String type) {
+        TaskStats existing = stats.get(type);
+        if (existing != null) {
+            return existing;
+        }
+        // computeIfAbsent só existe a partir da API 24
+        TaskStats created = new TaskStats(type);
+        existing = stats.putIfAbsent(type, created);
+        return existing != null ? existing : created;
+    }
+
+    // Roda action quando o dono é destruído (ou já, se ele já foi); o Runnable devolvido solta o observer antes
+    // disso. Chamar na main thread
+    static Runnable onDestroy(LifecycleOwner owner, Runnable action) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            action.run();
+            return () -> {
+            };
+        }
+        LifecycleEventObserver observer = new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    lifecycle.removeObserver(this);
+                    action.run();
+                }
+            }
+        };
+        lifecycle.addObserver(observer);
+        return () -> lifecycle.removeObserver(observer);
+    }
+
+    public final class Task implements Runnable, Comparable<Task> {
+        private final Pool pool;
+        private final TaskStats taskStats;
+        private final Priority priority;
+        private final long order = sequence.getAndIncrement();
+        private final Runnable body;
+        private final SerialQueue serial;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private long enqueuedAt;
+        private volatile Runnable unbind;
+
+        private Task(Pool pool, TaskStats taskStats, Priority priority, Runnable body, SerialQueue serial) {
+            this.pool = pool;
+            this.taskStats = taskStats;
+            this.priority = priority;
+            this.body = body;
+            this.serial = serial;
+        }
+
+        private void markEnqueued() {
+            enqueuedAt = System.nanoTime();
+            taskStats.onEnqueued();
+        }
+
+        // Impede que a tarefa comece; uma tarefa já em execução termina normalmente
+        public boolean cancel() {
+            if (!state.compareAndSet(QUEUED, CANCELLED)) {
+                return false;
+            }
+            taskStats.onCancelled();
+            if (serial == null) {
+                pools.get(pool).remove(this);
+            } else {
+                // Se já for a ativa da fila serial, fica no pool: run() a descarta e libera a próxima
+                serial.remove(this);
+            }
+            release();
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isDone() {
+            return state.get() >= DONE;
+        }
+
+        // Cancela a tarefa se ela ainda estiver na fila quando o dono for destruído; chamar na main thread
+        public Task bindTo(LifecycleOwner owner) {
+            unbind = onDestroy(owner, this::cancel);
+            if (isDone()) {
+                release();
+            }
+            return this;
+        }
+
+        // Solta o observer do lifecycle para que a atividade não retenha tarefas já concluídas
+        private void release() {
+            Runnable pending = unbind;
+            if (pending != null) {
+                unbind = null;
+                mainHandler.post(pending);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                if (serial != null) {
+                    serial.onFinished();
+                }
+                return;
+            }
+            long start = System.nanoTime();
+            taskStats.onStarted(start - enqueuedAt);
+            try {
+                body.run();
+            } finally {
+                taskStats.onFinished(System.nanoTime() - start);
+                state.set(DONE);
+                release();
+                if (serial != null) {
+                    serial.onFinished();
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+
+    public final class SerialQueue implements Executor {
+        private final Pool pool;
+        private final TaskStats queueStats;
+        private final Priority priority;
+        private final ArrayDeque<Task> waiting = new ArrayDeque<>();
+        private Task active;
+
+        private SerialQueue(Pool pool, TaskStats queueStats, Priority priority) {
+            this.pool = pool;
+            this.queueStats = queueStats;
+            this.priority = priority;
+        }
+
+        @Override
+        public void execute(Runnable body) {
+            submit(body);
+        }
+
+        public Task submit(Runnable body) {
+            Task task = new Task(pool, queueStats, priority, body, this);
+            task.markEnqueued();
+            synchronized (this) {
+                waiting.add(task);
+                if (active == null) {
+                    startNext();
+                }
+            }
+            return task;
+        }
+
+        // Envia a tarefa para esta fila depois do atraso; o timer não executa trabalho próprio
+        public void schedule(Runnable body, long delayMs) {
+            timer.schedule(() -> submit(body), delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void startNext() {
+            active = waiting.poll();
+            if (active != null) {
+                pools.get(pool).execute(active);
+            }
+        }
+
+        private synchronized void onFinished() {
+            startNext();
+        }
+
+        private synchronized void remove(Task task) {
+            waiting.remove(task);
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.baseapp.utils;
+
+import android.app.Activity;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.target.DrawableImageViewTarget;
+import com.bumptech.glide.request.target.Target;
+import com.example.baseapp.R;
+import com.example.baseapp.data.AccountRegistry;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AvatarCache {
+
+    private static final int QUALITY = 90;
+    private static final String PREFIX = "avatar_";
+    private static final int TRACE_LOAD = TraceRecorder.register("AvatarCache.load");
+    // Um cookie por carga: duas cargas na mesma view (uma substituindo a outra) não fecham o span uma da outra
+    private static final AtomicInteger NEXT_COOKIE = new AtomicInteger();
+
+    // Tamanhos fixos em que o avatar é exibido; cada tela carrega exatamente o seu
+    public enum Variant {
+        MEDIUM(R.dimen.avatar_size_medium),
+        LARGE(R.dimen.avatar_size_large);
+
+        private final int dimenRes;
+
+        Variant(int dimenRes) {
+            this.dimenRes = dimenRes;
+        }
+    }
+
+    private final AccountRegistry accounts;
+    private final int[] sizes = new int[Variant.values().length];
+
+    public AvatarCache(Context context) {
+        Context appContext = context.getApplicationContext();
+        this.accounts = AccountRegistry.getInstance(appContext);
+        for (Variant variant : Variant.values()) {
+            sizes[variant.ordinal()] = appContext.getResources().getDimensionPixelSize(variant.dimenRes);
+        }
+    }
+
+    // Diretório da conta ativa no momento da chamada; cada conta tem o seu
+    public File getDirectory() {
+        return accounts.getAvatarDirectory();
+    }
+
+    // Grava todas as variantes já recortadas em círculo e retorna a chave derivada do conteúdo
+    public String writeVariants(File directory, Bitmap square) throws IOException {
+        String key = contentKey(square);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Não foi possível criar " + directory);
+        }
+        for (Variant variant : Variant.values()) {
+            File target = getFile(directory, key, variant);
+            if (target.exists()) {
+                continue; // Mesmo conteúdo já renderizado anteriormente
+            }
+            Bitmap circle = renderCircle(square, sizes[variant.ordinal()]);
+            File temp = new File(directory, target.getName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                circle.compress(compressFormat(), QUALITY, out);
+            } finally {
+                circle.recycle();
+            }
+            if (!temp.renameTo(target)) {
+                temp.delete();
+                throw new IOException("Falha ao salvar " + target);
+            }
+        }
+        return key;
+    }
+
+    public File getFile(String key, Variant variant) {
+        return getFile(getDirectory(), key, variant);
+    }
+
+    private static File getFile(File directory, String key, Variant variant) {
+        return new File(directory, fileName(key, variant));
+    }
+
+    private static String fileName(String key, Variant variant) {
+        return PREFIX + key + "_" + variant.name().toLowerCase(Locale.ROOT) + ".webp";
+    }
+
+    // Remove variantes de outras chaves e imagens legadas do diretório de avatares
+    public void deleteAllExcept(File directory, Collection<String> keys) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (!belongsTo(file.getName(), keys)) {
+                file.delete();
+            }
+        }
+    }
+
+    // Só as variantes atuais contam; arquivos de variantes que deixaram de existir também são removidos
+    private static boolean belongsTo(String fileName, Collection<String> keys) {
+        for (String key : keys) {
+            if (key == null || key.isEmpty()) {
+                continue;
+            }
+            for (Variant variant : Variant.values()) {
+                if (fileName.equals(fileName(key, variant))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Carrega a variante pronta, sem transformação: o arquivo já está no tamanho e formato finais
+    public void loadInto(Activity activity, String key, Variant variant, ImageView target) {
+        if (key == null || key.isEmpty()) {
+            target.setImageResource(R.drawable.ic_profile);
+            return;
+        }
+        // Do pedido até a imagem pronta, inclusive a decodificação nas threads do Glide
+        TracedLoad load = new TracedLoad(NEXT_COOKIE.incrementAndGet());
+        TraceRecorder.beginAsync(TRACE_LOAD, load.cookie);
+        Glide.with(activity)
+                .load(getFile(key, variant))
+                .dontTransform()
+                // O nome do arquivo já muda com o conteúdo; não há o que guardar no cache em disco do Glide
+                .diskCacheStrategy(DiskCacheStrategy.NONE)
+                .error(R.drawable.ic_profile)
+                .listener(load)
+                .into(new TracedTarget(target, load));
+    }
+
+    // Fecha o span da carga uma única vez: ao terminar, ao falhar ou ao ser cancelada. Callbacks do Glide
+    // chegam na main thread
+    private static final class TracedLoad implements RequestListener<Drawable> {
+        final int cookie;
+        private boolean ended;
+
+        TracedLoad(int cookie) {
+            this.cookie = cookie;
+        }
+
+        void end() {
+            if (!ended) {
+                ended = true;
+                TraceRecorder.endAsync(TRACE_LOAD, cookie);
+            }
+        }
+
+        @Override
+        public boolean onLoadFailed(@Nullable GlideException e, @Nullable Object model,
+                                    @NonNull Target<Drawable> target, boolean isFirstResource) {
+            end();
+            return false;
+        }
+
+        @Override
+        public boolean onResourceReady(@NonNull Drawable resource, @NonNull Object model, Target<Drawable> target,
+                                       @NonNull DataSource dataSource, boolean isFirstResource) {
+            end();
+            return false;
+        }
+    }
+
+    // O Glide não chama o listener quando o pedido é limpo antes de terminar: outra chave carregada na mesma
+    // view ou a view do fragmento destruída. Só o target fica sabendo
+    private static final class TracedTarget extends DrawableImageViewTarget {
+        private final TracedLoad load;
+
+        TracedTarget(ImageView view, TracedLoad load) {
+            super(view);
+            this.load = load;
+        }
+
+        @Override
+        public void onLoadCleared(@Nullable Drawable placeholder) {
+            super.onLoadCleared(placeholder);
+            load.end();
+        }
+    }
+
+    private static Bitmap renderCircle(Bitmap source, int size) {
+        Bitmap result = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        BitmapShader shader = new BitmapShader(source, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        Matrix matrix = new Matrix();
+        float scale = (float) size / Math.min(source.getWidth(), source.getHeight());
+        matrix.setScale(scale, scale);
+        shader.setLocalMatrix(matrix);
+
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.FILTER_BITMAP_FLAG);
+        paint.setShader(shader);
+        float radius = size / 2f;
+        new Canvas(result).drawCircle(radius, radius, radius, paint);
+        return result;
+    }
+
+    // Hash dos pixels: a mesma imagem importada duas vezes reaproveita as variantes
+    private static String contentKey(Bitmap bitmap) throws IOException {
+        ByteBuffer pixels = ByteBuffer.allocate(bitmap.getByteCount());
+        bitmap.copyPixelsToBuffer(pixels);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(pixels.array());
+            StringBuilder hex = new StringBuilder(16);
+            for (int i = 0; i < 8; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Bitmap.CompressFormat compressFormat() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            return Bitmap.CompressFormat.WEBP_LOSSY;
+        }
+        return Bitmap.CompressFormat.WEBP;
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.baseapp.utils;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.exifinterface.media.ExifInterface;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.baseapp.R;
+import com.example.baseapp.data.PreferencesStore;
+import com.example.baseapp.data.ProfileRepository;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class AvatarImporter {
+
+    // Diretório da primeira conta; as adicionadas depois usam "profile_images_<conta>"
+    public static final String DIRECTORY = "profile_images";
+
+    // Uma importação por vez; fotos grandes não devem competir por memória
+    private static final AppExecutors.SerialQueue QUEUE = AppExecutors.getInstance().serial(AppExecutors.Pool.CPU, "avatar-import");
+    // Chaves gravadas por importações cujo resultado ainda não foi salvo no perfil; a limpeza não as apaga
+    private static final Set<String> UNCONFIRMED = Collections.synchronizedSet(new HashSet<>());
+
+    public interface Callback {
+        void onProgress(int percent);
+
+        void onSuccess(String avatarKey);
+
+        void onError(Exception e);
+
+        void onCancelled();
+    }
+
+    // Arquivo ilegível ou que não é uma imagem: tentar de novo não muda o resultado
+    public static final class UnreadableImageException extends IOException {
+        UnreadableImageException(String message) {
+            super(message);
+        }
+    }
+
+    private final ContentResolver contentResolver;
+    private final AvatarCache avatarCache;
+    private final PreferencesStore prefs;
+    private final ProfileRepository profile;
+    private final int targetSize;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public AvatarImporter(Context context) {
+        Context appContext = context.getApplicationContext();
+        this.contentResolver = appContext.getContentResolver();
+        this.avatarCache = new AvatarCache(appContext);
+        this.prefs = PreferencesStore.getInstance(appContext);
+        this.profile = ProfileRepository.getInstance(appContext);
+        this.targetSize = appContext.getResources().getDimensionPixelSize(R.dimen.avatar_size_large);
+    }
+
+    public Task importAsync(Uri imageUri, Callback callback) {
+        Task task = new Task(callback);
+        task.work = QUEUE.submit(() -> task.run(imageUri));
+        return task;
+    }
+
+    // Chamar na main thread depois de salvar no perfil a chave recebida em onSuccess. As variantes antigas só
+    // são apagadas quando a chave nova já está no disco; importações canceladas deixam arquivos que esta
+    // mesma limpeza recolhe
+    public void confirm(String key) {
+        File directory = avatarCache.getDirectory();
+        prefs.flush(() -> QUEUE.execute(() -> {
+            UNCONFIRMED.remove(key);
+            // A conta ativa mudou no caminho: a chave atual é de outro diretório
+            if (!directory.equals(avatarCache.getDirectory())) {
+                return;
+            }
+            Set<String> keep;
+            synchronized (UNCONFIRMED) {
+                keep = new HashSet<>(UNCONFIRMED);
+            }
+            keep.add(profile.getAvatarKey());
+            avatarCache.deleteAllExcept(directory, keep);
+        }));
+    }
+
+    // Falhas que se repetiriam numa nova tentativa: arquivo sumiu ou não é uma imagem
+    public static boolean isPermanent(Exception e) {
+        return e instanceof FileNotFoundException || e instanceof UnreadableImageException;
+    }
+
+    public final class Task {
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final Callback callback;
+        private AppExecutors.Task work;
+        // Solta o observer de bindTo; acessado só na main thread
+        private Runnable unbind;
+
+        private Task(Callback callback) {
+            this.callback = callback;
+        }
+
+        // Cancela a importação; o callback recebe onCancelled no próximo ponto de verificação
+        public void cancel() {
+            cancelled.set(true);
+            // Ainda na fila: nem chega a rodar, então o aviso sai daqui
+            if (work != null && work.cancel()) {
+                deliver(callback::onCancelled);
+            }
+        }
+
+        // Cancela quando o dono é destruído, inclusive no meio da importação; com getViewLifecycleOwner() os
+        // callbacks nunca encontram as views já destruídas. Chamar na main thread
+        public Task bindTo(LifecycleOwner owner) {
+            unbind = AppExecutors.onDestroy(owner, this::cancel);
+            return this;
+        }
+
+        // Resultado final na main thread; o lifecycle deixa de reter a tarefa
+        private void deliver(Runnable result) {
+            mainHandler.post(() -> {
+                if (unbind != null) {
+                    unbind.run();
+                    unbind = null;
+                }
+                result.run();
+            });
+        }
+
+        public boolean isCancelled() {
+            return cancelled.get();
+        }
+
+        private void run(Uri imageUri) {
+            // Diretório da conta que pediu a importação, mesmo que a conta ativa mude no meio
+            File directory = avatarCache.getDirectory();
+            try {
+                // 1. Ler apenas as dimensões, sem alocar pixels
+                BitmapFactory.Options bounds = new BitmapFactory.Options();
+                bounds.inJustDecodeBounds = true;
+                try (InputStream in = open(imageUri)) {
+                    BitmapFactory.decodeStream(in, null, bounds);
+                }
+                if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+                    throw new UnreadableImageException("Imagem inválida");
+                }
+                if (checkCancelled()) return;
+                progress(10);
+
+                // 2. Orientação EXIF
+                int orientation;
+                try (InputStream in = open(imageUri)) {
+                    orientation = new ExifInterface(in).getAttributeInt(
+                            ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+                }
+                if (checkCancelled()) return;
+                progress(20);
+
+                // 3. Decodificar com subamostragem até perto do maior tamanho exibido
+                BitmapFactory.Options options = new BitmapFactory.Options();
+                options.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, targetSize);
+                options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+                Bitmap decoded;
+                try (InputStream in = open(imageUri)) {
+                    decoded = BitmapFactory.decodeStream(in, null, options);
+                }
+                if (decoded == null) {
+                    throw new UnreadableImageException("Falha ao decodificar a imagem");
+                }
+                if (checkCancelled()) {
+                    decoded.recycle();
+                    return;
+                }
+                progress(60);
+
+                // 4. Recorte quadrado central, orientação e escala final numa única passada
+                Bitmap avatar = renderSquare(decoded, orientation, targetSize);
+                if (avatar != decoded) {
+                    decoded.recycle();
+                }
+                if (checkCancelled()) {
+                    avatar.recycle();
+                    return;
+                }
+                progress(80);
+
+                // 5. Gravar as variantes circulares de cada tamanho exibido
+                // As variantes anteriores ficam até confirm(): o perfil ainda aponta para elas
+                String key;
+                try {
+                    key = avatarCache.writeVariants(directory, avatar);
+                } finally {
+                    avatar.recycle();
+                }
+                UNCONFIRMED.add(key);
+                if (checkCancelled()) {
+                    UNCONFIRMED.remove(key);
+                    return;
+                }
+                progress(100);
+
+                deliver(() -> {
+                    if (!isCancelled()) {
+                        callback.onSuccess(key);
+                    } else {
+                        UNCONFIRMED.remove(key);
+                        callback.onCancelled();
+                    }
+                });
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                Exception error = e instanceof Exception ? (Exception) e : new IOException(e);
+                deliver(() -> {
+                    if (!isCancelled()) {
+                        callback.onError(error);
+                    } else {
+                        callback.onCancelled();
+                    }
+                });
+            }
+        }
+
+        private InputStream open(Uri imageUri) throws IOException {
+            InputStream in = contentResolver.openInputStream(imageUri);
+            if (in == null) {
+                throw new IOException("Não foi possível abrir " + imageUri);
+            }
+            return in;
+        }
+
+        private boolean checkCancelled() {
+            if (!cancelled.get()) {
+                return false;
+            }
+            deliver(callback::onCancelled);
+            return true;
+        }
+
+        private void progress(int percent) {
+            mainHandler.post(() -> {
+                if (!isCancelled()) {
+                    callback.onProgress(percent);
+                }
+            });
+        }
+    }
+
+    // Maior potência de 2 que mantém o lado menor da imagem acima do tamanho alvo
+    static int calculateInSampleSize(int width, int height, int target) {
+        int sampleSize = 1;
+        int shortSide = Math.min(width, height);
+        while (shortSide / (sampleSize * 2) >= target) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static Bitmap renderSquare(Bitmap source, int orientation, int target) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        int left = (source.getWidth() - side) / 2;
+        int top = (source.getHeight() - side) / 2;
+        int size = Math.min(side, target);
+
+        Matrix matrix = new Matrix();
+        float scale = (float) size / side;
+        matrix.postScale(scale, scale);
+        applyOrientation(matrix, orientation, size);
+
+        Bitmap result = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(result);
+        canvas.concat(matrix);
+        canvas.drawBitmap(source, new Rect(left, top, left + side, top + side),
+                new Rect(0, 0, side, side), new Paint(Paint.FILTER_BITMAP_FLAG));
+        return result;
+    }
+
+    // Rotações e espelhamentos sobre o centro do quadrado de saída
+    private static void applyOrientation(Matrix matrix, int orientation, int size) {
+        float center = size / 2f;
+        switch (orientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1, 1, center, center);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180, center, center);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1, -1, center, center);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90, center, center);
+                matrix.postScale(-1, 1, center, center);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90, center, center);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(-90, center, center);
+                matrix.postScale(-1, 1, center, center);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270, center, center);
+                break;
+            default:
+                break;
+        }
+    }
+}
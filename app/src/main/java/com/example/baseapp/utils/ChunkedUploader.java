@@ -0,0 +1,367 @@
+package com.example.baseapp.utils;
+
+import android.util.Log;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// Envio de arquivo em pedaços de tamanho fixo, cada um com o seu SHA-256, lidos do disco um de cada vez.
+// O último pedaço confirmado pelo servidor fica gravado: uma conexão que cai retoma dali, inclusive depois de
+// reiniciar o app. Conteúdo que o servidor já tem (mesmo hash) não é enviado de novo. Em rede tarifada o
+// envio é limitado a METERED_BYTES_PER_SECOND. Sem esperas próprias: cada chamada a step() manda no máximo um
+// pedaço e diz quanto esperar antes da próxima, para que quem usa agende a continuação sem prender uma thread
+public class ChunkedUploader {
+
+    public enum Result {
+        UPLOADED,
+        // O servidor já tinha o conteúdo; nada foi enviado
+        ALREADY_ON_SERVER,
+        // Falta enviar: chamar step() de novo depois de getDelayMs() (limite da rede tarifada ou nova tentativa)
+        IN_PROGRESS,
+        // Rede falhou além das tentativas; o progresso está gravado para a próxima chamada
+        INTERRUPTED
+    }
+
+    public interface Storage {
+        // null quando nada foi gravado
+        String read();
+
+        // null apaga
+        void write(String json);
+    }
+
+    public interface NetworkPolicy {
+        boolean isMetered();
+    }
+
+    public interface ProgressListener {
+        void onProgress(long sentBytes, long totalBytes);
+    }
+
+    static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    static final long METERED_BYTES_PER_SECOND = 64 * 1024;
+    // Tentativas por pedaço antes de desistir desta chamada
+    static final int MAX_ATTEMPTS = 4;
+    static final long BASE_RETRY_MS = 1_000;
+    private static final String TAG = "ChunkedUploader";
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int READ_TIMEOUT_MS = 30_000;
+    private static final int SESSION_LOST = -2;
+
+    private final URL baseUrl;
+    private final int chunkSize;
+    private final Storage storage;
+    private final NetworkPolicy network;
+    // Estado entre chamadas a step(); a instância é usada por uma thread de cada vez
+    private long delayMs;
+    // Tentativas já falhas do pedaço atual
+    private int failedAttempts;
+
+    public ChunkedUploader(URL baseUrl, int chunkSize, Storage storage, NetworkPolicy network) {
+        this.baseUrl = baseUrl;
+        this.chunkSize = chunkSize;
+        this.storage = storage;
+        this.network = network;
+    }
+
+    public ChunkedUploader(URL baseUrl, Storage storage, NetworkPolicy network) {
+        this(baseUrl, DEFAULT_CHUNK_SIZE, storage, network);
+    }
+
+    // Espera pedida pelo último step() que devolveu IN_PROGRESS
+    public long getDelayMs() {
+        return delayMs;
+    }
+
+    // Cria a sessão se preciso e envia o próximo pedaço; depois do último, conclui o envio. Chamar fora da main
+    // thread. IOException só para falhas de leitura do arquivo
+    public Result step(File file, String authToken, ProgressListener listener) throws IOException {
+        delayMs = 0;
+        // Relido a cada passo: um arquivo trocado no meio do envio abandona a sessão antiga
+        String sha256 = hashFile(file);
+        long size = file.length();
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+
+        State state = State.parse(storage.read());
+        if (state != null && sha256.equals(state.completedSha256)) {
+            return Result.ALREADY_ON_SERVER;
+        }
+        if (state == null || !sha256.equals(state.sha256) || state.chunkSize != chunkSize) {
+            // Arquivo novo: a sessão anterior, se havia, é abandonada
+            state = null;
+        }
+
+        try {
+            if (state == null) {
+                failedAttempts = 0;
+                JSONObject created = startSession(sha256, size, authToken);
+                if (created == null) {
+                    return Result.INTERRUPTED;
+                }
+                if ("exists".equals(created.optString("status", null))) {
+                    storage.write(State.completed(sha256));
+                    return Result.ALREADY_ON_SERVER;
+                }
+                state = new State(sha256, created.getString("uploadId"), created.optInt("nextChunk", 0),
+                        chunkSize, null);
+                storage.write(state.toJson());
+            }
+            if (state.nextChunk < chunks) {
+                long offset = (long) state.nextChunk * chunkSize;
+                byte[] chunk = new byte[(int) Math.min(chunkSize, size - offset)];
+                try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+                    input.seek(offset);
+                    input.readFully(chunk);
+                }
+                long start = System.nanoTime();
+                int next = sendChunk(state.uploadId, state.nextChunk, chunk, authToken);
+                if (next == SESSION_LOST) {
+                    // O servidor descartou a sessão: recomeçar do zero na próxima chamada
+                    failedAttempts = 0;
+                    storage.write(null);
+                    return Result.INTERRUPTED;
+                }
+                if (next < 0) {
+                    failedAttempts++;
+                    if (failedAttempts >= MAX_ATTEMPTS) {
+                        failedAttempts = 0;
+                        return Result.INTERRUPTED;
+                    }
+                    delayMs = BASE_RETRY_MS << (failedAttempts - 1);
+                    return Result.IN_PROGRESS;
+                }
+                failedAttempts = 0;
+                state = state.withNextChunk(next);
+                storage.write(state.toJson());
+                if (listener != null) {
+                    listener.onProgress(Math.min(size, (long) next * chunkSize), size);
+                }
+                if (next < chunks) {
+                    delayMs = throttle(chunk.length, System.nanoTime() - start);
+                    return Result.IN_PROGRESS;
+                }
+            }
+            if (!complete(state.uploadId, authToken)) {
+                return Result.INTERRUPTED;
+            }
+            storage.write(State.completed(sha256));
+            return Result.UPLOADED;
+        } catch (JSONException e) {
+            Log.w(TAG, "Resposta ilegível do servidor", e);
+            return Result.INTERRUPTED;
+        }
+    }
+
+    // Índice do próximo pedaço esperado pelo servidor; -1 se a tentativa falhou, SESSION_LOST em 404
+    private int sendChunk(String uploadId, int index, byte[] chunk, String authToken) throws JSONException {
+        String checksum = hex(sha256(chunk, chunk.length));
+        try {
+            HttpURLConnection connection = open("uploads/" + uploadId + "/chunks/" + index, "PUT", authToken);
+            try {
+                connection.setFixedLengthStreamingMode(chunk.length);
+                connection.setRequestProperty("Content-Type", "application/octet-stream");
+                connection.setRequestProperty("X-Chunk-SHA256", checksum);
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(chunk);
+                }
+                int code = connection.getResponseCode();
+                if (code == 200 || code == 409) {
+                    // 409: o servidor já tinha este pedaço e informa de onde continuar
+                    return new JSONObject(readBody(connection, code)).getInt("nextChunk");
+                }
+                if (code == 404) {
+                    return SESSION_LOST;
+                }
+                // 422: checksum não confere, o pedaço chegou corrompido; 5xx: falha temporária
+                Log.w(TAG, "Pedaço " + index + " recusado (" + code + ")");
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Conexão caiu no pedaço " + index, e);
+        }
+        return -1;
+    }
+
+    // Cria a sessão, ou descobre que o servidor já tem o conteúdo; null se a rede falhar
+    private JSONObject startSession(String sha256, long size, String authToken) throws JSONException {
+        byte[] body = new JSONObject().put("sha256", sha256).put("size", size).put("chunkSize", chunkSize)
+                .toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            HttpURLConnection connection = open("uploads", "POST", authToken);
+            try {
+                connection.setFixedLengthStreamingMode(body.length);
+                connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body);
+                }
+                int code = connection.getResponseCode();
+                if (code == 200 || code == 201) {
+                    return new JSONObject(readBody(connection, code));
+                }
+                Log.w(TAG, "Sessão de envio recusada (" + code + ")");
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Falha ao criar a sessão de envio", e);
+        }
+        return null;
+    }
+
+    // O servidor confere o hash do arquivo inteiro; se não conferir, a sessão é descartada e recomeça
+    private boolean complete(String uploadId, String authToken) {
+        try {
+            HttpURLConnection connection = open("uploads/" + uploadId + "/complete", "POST", authToken);
+            try {
+                connection.setFixedLengthStreamingMode(0);
+                connection.getOutputStream().close();
+                int code = connection.getResponseCode();
+                if (code == 200) {
+                    return true;
+                }
+                if (code == 404 || code == 422) {
+                    storage.write(null);
+                }
+                Log.w(TAG, "Conclusão do envio recusada (" + code + ")");
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Falha ao concluir o envio", e);
+        }
+        return false;
+    }
+
+    // Em rede tarifada, quanto esperar para que o pedaço não passe do limite de bytes por segundo
+    private long throttle(int bytes, long elapsedNanos) {
+        if (!network.isMetered()) {
+            return 0;
+        }
+        long budgetMs = bytes * 1000L / METERED_BYTES_PER_SECOND;
+        return Math.max(0, budgetMs - elapsedNanos / 1_000_000);
+    }
+
+    private HttpURLConnection open(String path, String method, String authToken) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl, path).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        connection.setRequestMethod(method);
+        connection.setDoOutput(true);
+        if (authToken != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + authToken);
+        }
+        return connection;
+    }
+
+    private static String readBody(HttpURLConnection connection, int code) throws IOException {
+        try (InputStream in = code < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Lido em blocos; o arquivo nunca fica inteiro em memória
+    static String hashFile(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return hex(digest.digest());
+    }
+
+    static byte[] sha256(byte[] data, int length) {
+        MessageDigest digest = newDigest();
+        digest.update(data, 0, length);
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    // Progresso gravado: sessão em andamento ou hash do último arquivo concluído
+    private static final class State {
+        final String sha256;
+        final String uploadId;
+        final int nextChunk;
+        final int chunkSize;
+        final String completedSha256;
+
+        State(String sha256, String uploadId, int nextChunk, int chunkSize, String completedSha256) {
+            this.sha256 = sha256;
+            this.uploadId = uploadId;
+            this.nextChunk = nextChunk;
+            this.chunkSize = chunkSize;
+            this.completedSha256 = completedSha256;
+        }
+
+        State withNextChunk(int next) {
+            return new State(sha256, uploadId, next, chunkSize, null);
+        }
+
+        String toJson() throws JSONException {
+            return new JSONObject()
+                    .put("sha256", sha256)
+                    .put("uploadId", uploadId)
+                    .put("nextChunk", nextChunk)
+                    .put("chunkSize", chunkSize)
+                    .toString();
+        }
+
+        static String completed(String sha256) throws JSONException {
+            return new JSONObject().put("completed", sha256).toString();
+        }
+
+        static State parse(String json) {
+            if (json == null) {
+                return null;
+            }
+            try {
+                JSONObject object = new JSONObject(json);
+                if (object.has("completed")) {
+                    return new State(null, null, 0, 0, object.getString("completed"));
+                }
+                return new State(object.getString("sha256"), object.getString("uploadId"),
+                        object.getInt("nextChunk"), object.getInt("chunkSize"), null);
+            } catch (JSONException e) {
+                Log.w(TAG, "Progresso de envio ilegível; o envio recomeça", e);
+                return null;
+            }
+        }
+    }
+}
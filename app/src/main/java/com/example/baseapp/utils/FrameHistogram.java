@@ -0,0 +1,116 @@
+package com.example.baseapp.utils;
+
+// Histograma de duração de frames com baldes fixos: 1 ms de resolução até 100 ms, 100 ms até 1 s e um balde
+// final para o que passar disso. Gravar é um incremento em array; os percentis saem da contagem acumulada
+public class FrameHistogram {
+
+    // Limites de frame lento e congelado usados pelo Android vitals
+    public static final long SLOW_FRAME_NS = 16_000_000L;
+    public static final long FROZEN_FRAME_NS = 700_000_000L;
+
+    private static final int FINE_BUCKETS = 101;
+    private static final int COARSE_BUCKETS = 9;
+    private static final long MS = 1_000_000L;
+    // Balde i (até 100) cobre (i - 1, i] ms; balde 101 + j cobre (100 * (j + 1), 100 * (j + 2)] ms
+    private static final int OVERFLOW = FINE_BUCKETS + COARSE_BUCKETS;
+
+    private final int[] buckets = new int[OVERFLOW + 1];
+    private long count;
+    private long slowCount;
+    private long frozenCount;
+    private long totalNanos;
+    private long maxNanos;
+
+    public void record(long durationNanos) {
+        if (durationNanos < 0) {
+            return;
+        }
+        buckets[bucketOf(durationNanos)]++;
+        count++;
+        totalNanos += durationNanos;
+        if (durationNanos > maxNanos) {
+            maxNanos = durationNanos;
+        }
+        if (durationNanos > SLOW_FRAME_NS) {
+            slowCount++;
+        }
+        if (durationNanos > FROZEN_FRAME_NS) {
+            frozenCount++;
+        }
+    }
+
+    private static int bucketOf(long durationNanos) {
+        long ms = (durationNanos + MS - 1) / MS; // Arredondado para cima: 16,2 ms cai no balde de 17 ms
+        if (ms < FINE_BUCKETS) {
+            return (int) ms;
+        }
+        int coarse = (int) ((ms - 1) / 100) - 1;
+        return coarse < COARSE_BUCKETS ? FINE_BUCKETS + coarse : OVERFLOW;
+    }
+
+    // Limite superior do balde, em ms; no balde final, a maior duração observada
+    private long upperBoundMs(int bucket) {
+        if (bucket < FINE_BUCKETS) {
+            return bucket;
+        }
+        if (bucket < OVERFLOW) {
+            return (bucket - FINE_BUCKETS + 2) * 100L;
+        }
+        return (maxNanos + MS - 1) / MS;
+    }
+
+    // Percentil em ms (ex.: 0.99); -1 sem frames
+    public long percentileMs(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return upperBoundMs(i);
+            }
+        }
+        return upperBoundMs(OVERFLOW);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // Frames acima de 16 ms, incluindo os congelados
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    // Frames acima de 700 ms
+    public long getFrozenCount() {
+        return frozenCount;
+    }
+
+    public long getMaxMs() {
+        return (maxNanos + MS - 1) / MS;
+    }
+
+    public double getMeanMs() {
+        return count > 0 ? (double) totalNanos / count / MS : 0;
+    }
+
+    public FrameHistogram copy() {
+        FrameHistogram copy = new FrameHistogram();
+        System.arraycopy(buckets, 0, copy.buckets, 0, buckets.length);
+        copy.count = count;
+        copy.slowCount = slowCount;
+        copy.frozenCount = frozenCount;
+        copy.totalNanos = totalNanos;
+        copy.maxNanos = maxNanos;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return count + " frames, p50 " + percentileMs(0.50) + " ms, p90 " + percentileMs(0.90)
+                + " ms, p99 " + percentileMs(0.99) + " ms, " + slowCount + " lentos, " + frozenCount + " congelados";
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.baseapp.utils;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.View;
+import android.view.ViewTreeObserver;
+import android.view.Window;
+
+import androidx.annotation.RequiresApi;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Duração dos frames por tela e por interação, enquanto a tela está visível. Cada combinação tem um
+// FrameHistogram; os frames logo após uma interação marcada (abrir a tela, mexer num switch) são
+// separados dos frames ociosos para que a engasgada não se dilua na média
+public class FrameTracker {
+
+    public static final String INTERACTION_IDLE = "idle";
+    public static final String INTERACTION_OPEN = "open";
+    public static final String INTERACTION_TOGGLE = "toggle";
+
+    // Frames que começam a partir da marcação e até esse tempo depois dela contam para a interação
+    static final long INTERACTION_WINDOW_NS = 1_000_000_000L;
+
+    // Origem dos frames; FrameMetrics a partir da API 24, Choreographer antes disso, um fake nos testes
+    public interface FrameSource {
+        void start(Listener listener);
+
+        void stop();
+    }
+
+    public interface Listener {
+        // Início (vsync, na base de System.nanoTime) e duração do frame
+        void onFrame(long frameStartNanos, long durationNanos);
+    }
+
+    public interface Clock {
+        long nanoTime();
+    }
+
+    private static volatile FrameTracker instance;
+
+    private final Clock clock;
+    private final Listener listener = this::onFrame;
+    // Chave "tela/interação", na ordem em que apareceram
+    private final Map<String, FrameHistogram> histograms = new LinkedHashMap<>();
+    private FrameSource source;
+    private String screen = "?";
+    private String interaction = INTERACTION_IDLE;
+    // Métricas chegam atrasadas: frames que começaram antes da marcação continuam ociosos
+    private long interactionStart = Long.MAX_VALUE;
+    private long interactionDeadline = Long.MIN_VALUE;
+    // Resolvidos na troca de tela/interação para que gravar um frame não monte chaves
+    private FrameHistogram idleHistogram;
+    private FrameHistogram interactionHistogram;
+
+    public static FrameTracker getInstance() {
+        if (instance == null) {
+            synchronized (FrameTracker.class) {
+                if (instance == null) {
+                    instance = new FrameTracker(System::nanoTime);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public FrameTracker(Clock clock) {
+        this.clock = clock;
+        idleHistogram = histogram(screen, INTERACTION_IDLE);
+        interactionHistogram = idleHistogram;
+    }
+
+    // Passa a receber frames da fonte; uma fonte anterior é parada
+    public synchronized void attach(FrameSource frameSource) {
+        detach();
+        source = frameSource;
+        frameSource.start(listener);
+    }
+
+    public synchronized void detach() {
+        if (source != null) {
+            source.stop();
+            source = null;
+        }
+    }
+
+    // Tela exibida (ex.: destino de navegação); os primeiros frames contam como abertura
+    public synchronized void setScreen(String screen) {
+        this.screen = screen;
+        idleHistogram = histogram(screen, INTERACTION_IDLE);
+        markInteraction(INTERACTION_OPEN);
+    }
+
+    public synchronized void markInteraction(String name) {
+        interaction = name;
+        interactionStart = clock.nanoTime();
+        interactionDeadline = interactionStart + INTERACTION_WINDOW_NS;
+        interactionHistogram = histogram(screen, name);
+    }
+
+    private synchronized void onFrame(long frameStartNanos, long durationNanos) {
+        if (source == null) {
+            return; // Callback atrasado de uma fonte já desligada
+        }
+        boolean inWindow = frameStartNanos >= interactionStart && frameStartNanos <= interactionDeadline;
+        FrameHistogram target = inWindow ? interactionHistogram : idleHistogram;
+        target.record(durationNanos);
+    }
+
+    private FrameHistogram histogram(String screen, String interaction) {
+        String key = key(screen, interaction);
+        FrameHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = new FrameHistogram();
+            histograms.put(key, histogram);
+        }
+        return histogram;
+    }
+
+    private static String key(String screen, String interaction) {
+        return screen + "/" + interaction;
+    }
+
+    public synchronized String getScreen() {
+        return screen;
+    }
+
+    // Cópia do histograma da combinação; null se nenhum frame foi gravado nela
+    public synchronized FrameHistogram getHistogram(String screen, String interaction) {
+        FrameHistogram histogram = histograms.get(key(screen, interaction));
+        return histogram != null && histogram.getCount() > 0 ? histogram.copy() : null;
+    }
+
+    // Cópias de todas as combinações com frames, chave "tela/interação"
+    public synchronized Map<String, FrameHistogram> snapshot() {
+        Map<String, FrameHistogram> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, FrameHistogram> entry : histograms.entrySet()) {
+            if (entry.getValue().getCount() > 0) {
+                copy.put(entry.getKey(), entry.getValue().copy());
+            }
+        }
+        return copy;
+    }
+
+    // Resumo em JSON para exportar (Logcat, arquivo, relatório de bug)
+    public synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{\"screens\":[");
+        boolean first = true;
+        for (Map.Entry<String, FrameHistogram> entry : histograms.entrySet()) {
+            FrameHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) {
+                continue;
+            }
+            String key = entry.getKey();
+            int separator = key.lastIndexOf('/');
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append("{\"screen\":\"").append(key, 0, separator)
+                    .append("\",\"interaction\":\"").append(key, separator + 1, key.length())
+                    .append("\",\"frames\":").append(histogram.getCount())
+                    .append(",\"p50\":").append(histogram.percentileMs(0.50))
+                    .append(",\"p90\":").append(histogram.percentileMs(0.90))
+                    .append(",\"p99\":").append(histogram.percentileMs(0.99))
+                    .append(",\"max\":").append(histogram.getMaxMs())
+                    .append(",\"mean\":").append(String.format(Locale.ROOT, "%.2f", histogram.getMeanMs()))
+                    .append(",\"slow\":").append(histogram.getSlowCount())
+                    .append(",\"frozen\":").append(histogram.getFrozenCount())
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    public synchronized void reset() {
+        histograms.clear();
+        idleHistogram = histogram(screen, INTERACTION_IDLE);
+        interactionHistogram = histogram(screen, interaction);
+    }
+
+    // Fonte adequada para a API do aparelho; os callbacks chegam na main thread
+    public static FrameSource sourceFor(Activity activity) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return new FrameMetricsSource(activity.getWindow());
+        }
+        return new ChoreographerSource(activity.getWindow().getDecorView());
+    }
+
+    // Duração total de cada frame medida pelo próprio renderizador, incluindo a RenderThread
+    @RequiresApi(Build.VERSION_CODES.N)
+    static final class FrameMetricsSource implements FrameSource, Window.OnFrameMetricsAvailableListener {
+        private final Window window;
+        // Gravar um frame é um incremento em array; não compensa uma thread só para isso
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        private Listener listener;
+
+        FrameMetricsSource(Window window) {
+            this.window = window;
+        }
+
+        @Override
+        public void start(Listener listener) {
+            if (this.listener == null) {
+                window.addOnFrameMetricsAvailableListener(this, handler);
+            }
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            if (listener != null) {
+                window.removeOnFrameMetricsAvailableListener(this);
+                listener = null;
+            }
+        }
+
+        @Override
+        public void onFrameMetricsAvailable(Window window, FrameMetrics frameMetrics, int dropCountSinceLastInvocation) {
+            Listener current = listener;
+            if (current == null) {
+                return;
+            }
+            long duration = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            long start = Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+                    ? frameMetrics.getMetric(FrameMetrics.INTENDED_VSYNC_TIMESTAMP)
+                    : System.nanoTime() - duration;
+            current.onFrame(start, duration);
+        }
+    }
+
+    // Antes da API 24: do vsync até a main thread terminar o frame que desenhou. Não inclui a RenderThread
+    // e exige um callback por vsync enquanto a tela está visível; frames sem desenho não são gravados
+    static final class ChoreographerSource implements FrameSource, Choreographer.FrameCallback, ViewTreeObserver.OnDrawListener {
+        private final View decorView;
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        private final Runnable endOfFrame = this::onEndOfFrame;
+        private Listener listener;
+        private long vsyncNanos;
+        private boolean endPosted;
+
+        ChoreographerSource(View decorView) {
+            this.decorView = decorView;
+        }
+
+        @Override
+        public void start(Listener listener) {
+            if (this.listener == null) {
+                Choreographer.getInstance().postFrameCallback(this);
+                decorView.getViewTreeObserver().addOnDrawListener(this);
+            }
+            this.listener = listener;
+        }
+
+        @Override
+        public void stop() {
+            if (listener == null) {
+                return;
+            }
+            listener = null;
+            Choreographer.getInstance().removeFrameCallback(this);
+            decorView.getViewTreeObserver().removeOnDrawListener(this);
+            handler.removeCallbacks(endOfFrame);
+            endPosted = false;
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            vsyncNanos = frameTimeNanos;
+            if (listener != null) {
+                Choreographer.getInstance().postFrameCallback(this);
+            }
+        }
+
+        @Override
+        public void onDraw() {
+            if (!endPosted && vsyncNanos > 0) {
+                endPosted = true;
+                // Roda logo depois da mensagem do frame atual, antes de qualquer outra da fila
+                handler.postAtFrontOfQueue(endOfFrame);
+            }
+        }
+
+        private void onEndOfFrame() {
+            endPosted = false;
+            Listener current = listener;
+            if (current != null) {
+                current.onFrame(vsyncNanos, System.nanoTime() - vsyncNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.baseapp.utils;
+
+import android.content.Context;
+
+import androidx.credentials.Credential;
+import androidx.credentials.CustomCredential;
+import androidx.credentials.GetCredentialRequest;
+import androidx.credentials.GetCredentialResponse;
+
+import com.example.baseapp.R;
+import com.google.android.libraries.identity.googleid.GetGoogleIdOption;
+import com.google.android.libraries.identity.googleid.GoogleIdTokenCredential;
+
+// Pedido e leitura da credencial do Google, compartilhados entre o login e a reautenticação da sessão
+public final class GoogleCredentials {
+
+    private GoogleCredentials() {
+    }
+
+    // authorizedAccountsOnly: apenas contas que já autorizaram o app, o que permite a seleção automática sem UI
+    public static GetCredentialRequest buildRequest(Context context, boolean authorizedAccountsOnly) {
+        return build(context, authorizedAccountsOnly, true);
+    }
+
+    // Conectar mais uma conta: todas as contas do aparelho e sem seleção automática, senão a conta já
+    // conectada seria escolhida de novo sem o usuário ver o seletor
+    public static GetCredentialRequest buildAddAccountRequest(Context context) {
+        return build(context, false, false);
+    }
+
+    private static GetCredentialRequest build(Context context, boolean authorizedAccountsOnly, boolean autoSelect) {
+        GetGoogleIdOption googleIdOption = new GetGoogleIdOption.Builder()
+                .setServerClientId(context.getString(R.string.default_web_client_id))
+                .setFilterByAuthorizedAccounts(authorizedAccountsOnly)
+                .setAutoSelectEnabled(autoSelect)
+                .build();
+
+        return new GetCredentialRequest.Builder()
+                .addCredentialOption(googleIdOption)
+                .build();
+    }
+
+    // Token do Google contido na resposta; null se a credencial for de outro tipo
+    public static GoogleIdTokenCredential parse(GetCredentialResponse response) {
+        Credential credential = response.getCredential();
+        if (credential instanceof CustomCredential
+                && GoogleIdTokenCredential.TYPE_GOOGLE_ID_TOKEN_CREDENTIAL.equals(credential.getType())) {
+            return GoogleIdTokenCredential.createFrom(credential.getData());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.baseapp.utils;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.CancellationSignal;
+import android.util.Log;
+
+import androidx.annotation.RequiresApi;
+import androidx.credentials.CredentialManager;
+import androidx.credentials.CredentialManagerCallback;
+import androidx.credentials.GetCredentialRequest;
+import androidx.credentials.GetCredentialResponse;
+import androidx.credentials.PrepareGetCredentialResponse;
+import androidx.credentials.exceptions.GetCredentialException;
+import androidx.credentials.exceptions.NoCredentialException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+// Login com Google preparado enquanto a tela de login está visível: pedidos montados uma vez, provedor
+// aquecido pela API de pedido pendente, contas já autorizadas tentadas primeiro e cancelamento ao sair da tela
+public class GoogleSignInFlow {
+
+    private static final String TAG = "GoogleSignInFlow";
+
+    public interface Callback {
+        void onSuccess(GetCredentialResponse response);
+
+        void onError(GetCredentialException e);
+    }
+
+    // Fronteira com o CredentialManager; os testes usam um fake
+    public interface CredentialClient {
+        // Aquece o provedor para o pedido; sem efeito onde a API de pedido pendente não existe
+        void prepare(GetCredentialRequest request, CancellationSignal signal);
+
+        // Usa o pedido preparado, se já estiver pronto, ou o pedido normal
+        void getCredential(GetCredentialRequest request, CancellationSignal signal, Executor executor,
+                           CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback);
+    }
+
+    public interface Clock {
+        long elapsedRealtime();
+    }
+
+    private final CredentialClient client;
+    // Usuários que voltam: seleção automática entre contas que já autorizaram o app, sem escolher de novo.
+    // null ao conectar mais uma conta: só o seletor com todas as contas
+    private final GetCredentialRequest authorizedRequest;
+    private final GetCredentialRequest anyAccountRequest;
+    private final Executor executor;
+    private final Clock clock;
+    private final CancellationSignal signal = new CancellationSignal();
+
+    private volatile boolean inFlight;
+    private volatile boolean cancelled;
+    private volatile long tapAt = -1;
+    private volatile long lastCredentialMs = -1;
+    private volatile boolean lastUsedFallback;
+
+    public GoogleSignInFlow(CredentialClient client, GetCredentialRequest authorizedRequest,
+                            GetCredentialRequest anyAccountRequest, Executor executor, Clock clock) {
+        this.client = client;
+        this.authorizedRequest = authorizedRequest;
+        this.anyAccountRequest = anyAccountRequest;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    // Conectar mais uma conta: sem tentar antes as contas autorizadas, que devolveriam a já conectada
+    public static GoogleSignInFlow forNewAccount(CredentialClient client, GetCredentialRequest anyAccountRequest,
+                                                 Executor executor, Clock clock) {
+        return new GoogleSignInFlow(client, null, anyAccountRequest, executor, clock);
+    }
+
+    // Chamar assim que a tela de login for exibida
+    public void prepare() {
+        if (authorizedRequest != null) {
+            client.prepare(authorizedRequest, signal);
+        }
+        client.prepare(anyAccountRequest, signal);
+    }
+
+    // Toque no botão; toques repetidos enquanto um pedido está em andamento são ignorados
+    public void signIn(Callback callback) {
+        if (cancelled || inFlight) {
+            return;
+        }
+        inFlight = true;
+        tapAt = clock.elapsedRealtime();
+        if (authorizedRequest != null) {
+            request(authorizedRequest, true, callback);
+        } else {
+            request(anyAccountRequest, false, callback);
+        }
+    }
+
+    private void request(GetCredentialRequest request, boolean authorizedOnly, Callback callback) {
+        client.getCredential(request, signal, executor, new CredentialManagerCallback<GetCredentialResponse, GetCredentialException>() {
+            @Override
+            public void onResult(GetCredentialResponse response) {
+                if (cancelled) {
+                    return;
+                }
+                lastCredentialMs = clock.elapsedRealtime() - tapAt;
+                lastUsedFallback = !authorizedOnly;
+                Log.i(TAG, "Credencial em " + lastCredentialMs + " ms" + (authorizedOnly ? "" : " (todas as contas)"));
+                inFlight = false;
+                callback.onSuccess(response);
+            }
+
+            @Override
+            public void onError(GetCredentialException e) {
+                if (cancelled) {
+                    return;
+                }
+                // Nenhuma conta autorizou o app ainda: primeiro login, mostrar todas as contas
+                if (authorizedOnly && e instanceof NoCredentialException) {
+                    request(anyAccountRequest, false, callback);
+                    return;
+                }
+                inFlight = false;
+                callback.onError(e);
+            }
+        });
+    }
+
+    // Ao sair da tela: cancela pedidos preparados e em andamento, e descarta respostas tardias
+    public void cancel() {
+        cancelled = true;
+        signal.cancel();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isInFlight() {
+        return inFlight;
+    }
+
+    // Do toque até a credencial do último login concluído; -1 antes do primeiro
+    public long getLastCredentialMs() {
+        return lastCredentialMs;
+    }
+
+    public boolean lastUsedFallback() {
+        return lastUsedFallback;
+    }
+
+    // Implementação real sobre o CredentialManager; o pedido pendente só existe a partir da API 34
+    public static class CredentialManagerClient implements CredentialClient {
+
+        private final Activity activity;
+        private final CredentialManager credentialManager;
+        private final Map<GetCredentialRequest, PrepareGetCredentialResponse> prepared = new ConcurrentHashMap<>();
+
+        public CredentialManagerClient(Activity activity) {
+            this.activity = activity;
+            this.credentialManager = CredentialManager.create(activity);
+        }
+
+        @Override
+        public void prepare(GetCredentialRequest request, CancellationSignal signal) {
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.UPSIDE_DOWN_CAKE) {
+                return;
+            }
+            credentialManager.prepareGetCredentialAsync(request, signal, Runnable::run,
+                    new CredentialManagerCallback<PrepareGetCredentialResponse, GetCredentialException>() {
+                        @Override
+                        public void onResult(PrepareGetCredentialResponse response) {
+                            prepared.put(request, response);
+                        }
+
+                        @Override
+                        public void onError(GetCredentialException e) {
+                            // Sem preparo o toque usa o pedido normal
+                            Log.w(TAG, "Falha ao preparar o pedido: " + e.getMessage());
+                        }
+                    });
+        }
+
+        @Override
+        public void getCredential(GetCredentialRequest request, CancellationSignal signal, Executor executor,
+                                  CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback) {
+            // O pedido preparado só pode ser usado uma vez
+            PrepareGetCredentialResponse response = prepared.remove(request);
+            if (response != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.UPSIDE_DOWN_CAKE
+                    && getPrepared(response, signal, executor, callback)) {
+                return;
+            }
+            credentialManager.getCredentialAsync(activity, request, signal, executor, callback);
+        }
+
+        @RequiresApi(Build.VERSION_CODES.UPSIDE_DOWN_CAKE)
+        private boolean getPrepared(PrepareGetCredentialResponse response, CancellationSignal signal, Executor executor,
+                                    CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback) {
+            PrepareGetCredentialResponse.PendingGetCredentialHandle handle = response.getPendingGetCredentialHandle();
+            if (handle == null) {
+                return false;
+            }
+            credentialManager.getCredentialAsync(activity, handle, signal, executor, callback);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.baseapp.utils;
+
+import android.app.Activity;
+import android.content.res.TypedArray;
+import android.graphics.Color;
+import android.view.View;
+import android.view.Window;
+
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowCompat;
+import androidx.core.view.WindowInsetsCompat;
+import androidx.core.view.WindowInsetsControllerCompat;
+
+// Edge-to-edge da atividade: atributos do tema lidos uma vez e padding aplicado só quando os insets mudam
+public class InsetsController {
+
+    private final Activity activity;
+    private boolean lightStatusBar;
+    private Insets appliedInsets;
+
+    public InsetsController(Activity activity) {
+        this.activity = activity;
+        this.lightStatusBar = resolveLightStatusBar();
+    }
+
+    private boolean resolveLightStatusBar() {
+        TypedArray attributes = activity.getTheme().obtainStyledAttributes(new int[]{android.R.attr.windowLightStatusBar});
+        try {
+            return attributes.getBoolean(0, false);
+        } finally {
+            attributes.recycle();
+        }
+    }
+
+    public void install() {
+        Window window = activity.getWindow();
+        WindowCompat.setDecorFitsSystemWindows(window, false);
+        window.setStatusBarColor(Color.TRANSPARENT);
+        window.setNavigationBarColor(Color.TRANSPARENT);
+
+        WindowInsetsControllerCompat controller = WindowCompat.getInsetsController(window, window.getDecorView());
+        controller.setAppearanceLightStatusBars(lightStatusBar);
+
+        View contentView = activity.findViewById(android.R.id.content);
+        if (contentView != null) {
+            ViewCompat.setOnApplyWindowInsetsListener(contentView, (view, insets) -> {
+                // Animações do teclado e rotação despacham insets a cada frame; as barras raramente mudam
+                Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+                if (!systemBars.equals(appliedInsets)) {
+                    appliedInsets = systemBars;
+                    view.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+                }
+                return insets;
+            });
+        }
+    }
+
+    // Após uma troca de tema sem recriação, relê a cor dos ícones da barra de status
+    public void onThemeChanged() {
+        boolean light = resolveLightStatusBar();
+        if (light != lightStatusBar) {
+            lightStatusBar = light;
+            Window window = activity.getWindow();
+            WindowCompat.getInsetsController(window, window.getDecorView()).setAppearanceLightStatusBars(light);
+        }
+    }
+
+    // Últimos insets das barras aplicados ao conteúdo; Insets.NONE antes do primeiro despacho
+    public Insets getSystemBarInsets() {
+        return appliedInsets != null ? appliedInsets : Insets.NONE;
+    }
+}
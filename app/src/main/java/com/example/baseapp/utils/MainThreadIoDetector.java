@@ -0,0 +1,178 @@
+package com.example.baseapp.utils;
+
+import android.os.Build;
+import android.os.Looper;
+import android.os.StrictMode;
+import android.os.SystemClock;
+import android.os.strictmode.Violation;
+import android.util.Log;
+
+import androidx.annotation.RequiresApi;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Apenas builds de debug: leituras e escritas em disco e chamadas lentas na main thread, agrupadas pelo
+// trecho do app que as causou. Em vez de uma linha de StrictMode por ocorrência, um ranking por tempo bloqueado
+public final class MainThreadIoDetector {
+
+    private static final String TAG = "MainThreadIo";
+    private static final String APP_PACKAGE = "com.example.baseapp.";
+    // Frames do app que identificam o local; frames do framework entre eles são ignorados
+    private static final int SIGNATURE_FRAMES = 3;
+    // Frames exibidos por local no relatório
+    private static final int REPORT_FRAMES = 8;
+
+    private static final Map<String, Site> sites = new HashMap<>();
+    private static boolean installed;
+    // Duração da última mensagem concluída na main thread; o StrictMode entrega a violação logo depois dela
+    private static long messageStartMs;
+    private static long lastMessageMs;
+
+    private MainThreadIoDetector() {
+    }
+
+    // Chamar na main thread; chamadas repetidas não têm efeito
+    public static void install() {
+        if (installed || Looper.myLooper() != Looper.getMainLooper()) {
+            return;
+        }
+        installed = true;
+        StrictMode.ThreadPolicy.Builder builder = new StrictMode.ThreadPolicy.Builder(StrictMode.getThreadPolicy())
+                .detectDiskReads()
+                .detectDiskWrites()
+                .detectCustomSlowCalls();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            builder.detectUnbufferedIo();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            listen(builder);
+        } else {
+            // Sem listener antes da API 28: apenas o log padrão do StrictMode
+            builder.penaltyLog();
+        }
+        StrictMode.setThreadPolicy(builder.build());
+    }
+
+    @RequiresApi(Build.VERSION_CODES.P)
+    private static void listen(StrictMode.ThreadPolicy.Builder builder) {
+        // O Looper anuncia o início (">>>>> Dispatching") e o fim ("<<<<< Finished") de cada mensagem
+        Looper.getMainLooper().setMessageLogging(line -> {
+            if (line.startsWith(">")) {
+                messageStartMs = SystemClock.uptimeMillis();
+            } else if (line.startsWith("<")) {
+                lastMessageMs = SystemClock.uptimeMillis() - messageStartMs;
+            }
+        });
+        builder.penaltyListener(Runnable::run, MainThreadIoDetector::onViolation);
+    }
+
+    @RequiresApi(Build.VERSION_CODES.P)
+    private static void onViolation(Violation violation) {
+        StackTraceElement[] stack = violation.getStackTrace();
+        String type = violation.getClass().getSimpleName();
+        String key = type + signature(stack);
+        synchronized (sites) {
+            Site site = sites.get(key);
+            if (site == null) {
+                site = new Site(type, stack);
+                sites.put(key, site);
+            }
+            site.count++;
+            site.totalBlockedMs += lastMessageMs;
+            site.maxBlockedMs = Math.max(site.maxBlockedMs, lastMessageMs);
+        }
+    }
+
+    // Primeiros frames do app na pilha; sem nenhum, os primeiros frames de qualquer origem
+    private static String signature(StackTraceElement[] stack) {
+        StringBuilder signature = new StringBuilder();
+        int found = 0;
+        for (StackTraceElement frame : stack) {
+            if (frame.getClassName().startsWith(APP_PACKAGE)) {
+                signature.append('|').append(frame);
+                if (++found == SIGNATURE_FRAMES) {
+                    break;
+                }
+            }
+        }
+        for (int i = 0; found == 0 && i < Math.min(SIGNATURE_FRAMES, stack.length); i++) {
+            signature.append('|').append(stack[i]);
+        }
+        return signature.toString();
+    }
+
+    // Locais ordenados pelo tempo total da main thread nas mensagens em que ocorreram, depois por ocorrências
+    public static String report() {
+        List<Site> ranked;
+        synchronized (sites) {
+            ranked = new ArrayList<>(sites.size());
+            for (Site site : sites.values()) {
+                ranked.add(site.copy());
+            }
+        }
+        Collections.sort(ranked, (a, b) -> a.totalBlockedMs != b.totalBlockedMs
+                ? Long.compare(b.totalBlockedMs, a.totalBlockedMs)
+                : Integer.compare(b.count, a.count));
+
+        int total = 0;
+        for (Site site : ranked) {
+            total += site.count;
+        }
+        StringBuilder report = new StringBuilder("I/O na main thread: ")
+                .append(ranked.size()).append(" locais, ").append(total).append(" ocorrências");
+        for (int i = 0; i < ranked.size(); i++) {
+            Site site = ranked.get(i);
+            report.append("\n#").append(i + 1).append(' ').append(site.type)
+                    .append(" x").append(site.count)
+                    .append(", ").append(site.totalBlockedMs).append(" ms (máx ").append(site.maxBlockedMs).append(" ms)");
+            // A partir da chamada de I/O feita pelo app (ex.: File.exists), sem os frames internos do StrictMode
+            int first = 0;
+            while (first < site.stack.length && !site.stack[first].getClassName().startsWith(APP_PACKAGE)) {
+                first++;
+            }
+            first = first < site.stack.length ? Math.max(0, first - 2) : 0;
+            for (int f = first; f < Math.min(first + REPORT_FRAMES, site.stack.length); f++) {
+                report.append("\n    at ").append(site.stack[f]);
+            }
+        }
+        return report.toString();
+    }
+
+    // Uma entrada do Logcat por local, para não estourar o limite de tamanho de linha
+    public static void logReport() {
+        for (String entry : report().split("\n#")) {
+            Log.w(TAG, entry.startsWith("I/O") ? entry : "#" + entry);
+        }
+    }
+
+    public static void reset() {
+        synchronized (sites) {
+            sites.clear();
+        }
+    }
+
+    private static final class Site {
+        final String type;
+        final StackTraceElement[] stack;
+        int count;
+        long totalBlockedMs;
+        long maxBlockedMs;
+
+        Site(String type, StackTraceElement[] stack) {
+            this.type = type;
+            this.stack = stack;
+        }
+
+        Site copy() {
+            Site copy = new Site(type, stack);
+            copy.count = count;
+            copy.totalBlockedMs = totalBlockedMs;
+            copy.maxBlockedMs = maxBlockedMs;
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.baseapp.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.fragment.app.Fragment;
+import androidx.fragment.app.FragmentManager;
+
+public class NavigationMetrics {
+
+    private static final String TAG = "NavigationMetrics";
+
+    private static long pendingTapMs = -1;
+    private static String pendingLabel;
+    private static long lastSwitchMs = -1;
+    private static long totalSwitchMs;
+    private static int switchCount;
+
+    // Registra o toque no menu; a medição termina no primeiro frame do destino
+    public static void onSwitchRequested(CharSequence label) {
+        pendingTapMs = SystemClock.uptimeMillis();
+        pendingLabel = label != null ? label.toString() : "?";
+    }
+
+    // Observa os fragments do NavHost e fecha a medição quando o destino desenha pela primeira vez
+    public static void observe(FragmentManager navHostFragmentManager) {
+        navHostFragmentManager.registerFragmentLifecycleCallbacks(new FragmentManager.FragmentLifecycleCallbacks() {
+            @Override
+            public void onFragmentResumed(@NonNull FragmentManager fm, @NonNull Fragment f) {
+                View view = f.getView();
+                if (pendingTapMs >= 0 && view != null) {
+                    reportFirstFrame(view);
+                }
+            }
+        }, false);
+    }
+
+    private static void reportFirstFrame(View view) {
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                // Postar para medir depois que o frame foi efetivamente enviado
+                view.post(() -> {
+                    if (pendingTapMs < 0) {
+                        return;
+                    }
+                    lastSwitchMs = SystemClock.uptimeMillis() - pendingTapMs;
+                    totalSwitchMs += lastSwitchMs;
+                    switchCount++;
+                    pendingTapMs = -1;
+                    Log.i(TAG, "Troca de tela [" + pendingLabel + "]: " + lastSwitchMs
+                            + " ms (média " + (totalSwitchMs / switchCount) + " ms em " + switchCount + " trocas)");
+                });
+                return true;
+            }
+        });
+    }
+
+    public static long getLastSwitchMs() {
+        return lastSwitchMs;
+    }
+
+    public static long getAverageSwitchMs() {
+        return switchCount > 0 ? totalSwitchMs / switchCount : -1;
+    }
+
+    // Trocas medidas desde o início do processo; lido na main thread
+    public static int getSwitchCount() {
+        return switchCount;
+    }
+}
@@ -1,27 +1,28 @@
 package com.example.baseapp.utils;
 
-import android.content.Intent;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.widget.Toolbar;
-import androidx.core.content.ContextCompat;
-import androidx.core.view.WindowCompat;
-import androidx.core.view.WindowInsetsCompat;
-import androidx.core.view.WindowInsetsControllerCompat;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.navigation.NavController;
+import androidx.navigation.NavDestination;
+import androidx.navigation.ui.NavigationUI;
 import com.example.baseapp.R;
-import com.example.baseapp.UI.HomeActivity;
-import com.example.baseapp.UI.ProfileActivity;
-import com.example.baseapp.UI.SettingsActivity;
+import com.example.baseapp.data.ProfileRepository;
 import com.google.android.material.navigation.NavigationView;
-import android.os.Build;
+import android.view.MenuItem;
 import android.view.View;
-import android.view.Window;
-import android.view.WindowInsets;
+import android.widget.ImageView;
+import android.widget.TextView;
 
 public class NavigationUtils {
 
-    public static void setupNavigationDrawer(AppCompatActivity activity, Toolbar toolbar, DrawerLayout drawerLayout, NavigationView navigationView) {
+    private static final int TRACE_SETUP_DRAWER = TraceRecorder.register("NavigationUtils.setupNavigationDrawer");
+    private static final int TRACE_NAVIGATE = TraceRecorder.register("NavigationUtils.navigate");
+
+    public static void setupNavigationDrawer(AppCompatActivity activity, Toolbar toolbar, DrawerLayout drawerLayout,
+                                             NavigationView navigationView, NavController navController) {
+        TraceRecorder.begin(TRACE_SETUP_DRAWER);
         activity.setSupportActionBar(toolbar);
 
         ActionBarDrawerToggle toggle = new ActionBarDrawerToggle(
@@ -34,64 +35,51 @@ public class NavigationUtils {
         drawerLayout.addDrawerListener(toggle);
         toggle.syncState();
 
+        // Cada item troca o destino no mesmo host; o estado do destino anterior é salvo e restaurado na volta
         navigationView.setNavigationItemSelectedListener(item -> {
-            int itemId = item.getItemId();
-            if (itemId == R.id.nav_home) {
-                if (!(activity instanceof HomeActivity)) {
-                    Intent intent = new Intent(activity, HomeActivity.class);
-                    intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
-                    activity.startActivity(intent);
-                    activity.finish();
-                }
-            } else if (itemId == R.id.nav_settings) {
-                if (!(activity instanceof SettingsActivity)) {
-                    Intent intent = new Intent(activity, SettingsActivity.class);
-                    intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
-                    activity.startActivity(intent);
-                    activity.finish();
-                }
-            } else if (itemId == R.id.nav_profile) {
-                if (!(activity instanceof ProfileActivity)) {
-                    Intent intent = new Intent(activity, ProfileActivity.class);
-                    intent.setFlags(Intent.FLAG_ACTIVITY_CLEAR_TOP | Intent.FLAG_ACTIVITY_SINGLE_TOP);
-                    activity.startActivity(intent);
-                    activity.finish();
-                }
+            NavDestination current = navController.getCurrentDestination();
+            if (current == null || current.getId() != item.getItemId()) {
+                NavigationMetrics.onSwitchRequested(item.getTitle());
+                TraceRecorder.begin(TRACE_NAVIGATE);
+                NavigationUI.onNavDestinationSelected(item, navController);
+                TraceRecorder.end(TRACE_NAVIGATE);
             }
             drawerLayout.closeDrawers();
             return true;
         });
 
-        setupEdgeToEdge(activity);
-    }
+        // Título e item marcado acompanham o destino atual, inclusive ao voltar com o botão Voltar
+        navController.addOnDestinationChangedListener((controller, destination, arguments) -> {
+            MenuItem menuItem = navigationView.getMenu().findItem(destination.getId());
+            if (menuItem != null) {
+                menuItem.setChecked(true);
+            }
+            if (activity.getSupportActionBar() != null && destination.getLabel() != null) {
+                activity.getSupportActionBar().setTitle(destination.getLabel());
+            }
+        });
 
-    private static void setupEdgeToEdge(AppCompatActivity activity) {
-        Window window = activity.getWindow();
-        WindowCompat.setDecorFitsSystemWindows(window, false);
+        bindHeader(activity, navigationView);
+        TraceRecorder.end(TRACE_SETUP_DRAWER);
+    }
 
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            window.setStatusBarColor(ContextCompat.getColor(activity, android.R.color.transparent));
-            window.setNavigationBarColor(ContextCompat.getColor(activity, android.R.color.transparent));
+    // O cabeçalho observa nome e avatar do perfil; edições feitas em outra tela chegam sem recarregar o drawer.
+    // Usa a variante média já recortada; nada de decodificar a imagem original aqui
+    private static void bindHeader(AppCompatActivity activity, NavigationView navigationView) {
+        if (navigationView.getHeaderCount() == 0) {
+            return;
         }
-
-        WindowInsetsControllerCompat controller = WindowCompat.getInsetsController(window, window.getDecorView());
-        if (controller != null) {
-            controller.setAppearanceLightStatusBars(activity.getTheme().obtainStyledAttributes(
-                    new int[]{android.R.attr.windowLightStatusBar}).getBoolean(0, false));
+        View header = navigationView.getHeaderView(0);
+        ProfileRepository profile = ProfileRepository.getInstance(activity);
+        ImageView headerAvatar = header.findViewById(R.id.nav_header_avatar);
+        if (headerAvatar != null) {
+            AvatarCache avatarCache = new AvatarCache(activity);
+            profile.avatarKey().observe(activity,
+                    key -> avatarCache.loadInto(activity, key, AvatarCache.Variant.MEDIUM, headerAvatar));
         }
-
-        View contentView = activity.findViewById(android.R.id.content);
-        if (contentView != null) {
-            contentView.setOnApplyWindowInsetsListener((view, insets) -> {
-                WindowInsetsCompat insetsCompat = WindowInsetsCompat.toWindowInsetsCompat(insets);
-                view.setPadding(
-                        insetsCompat.getInsets(WindowInsetsCompat.Type.systemBars()).left,
-                        insetsCompat.getInsets(WindowInsetsCompat.Type.systemBars()).top,
-                        insetsCompat.getInsets(WindowInsetsCompat.Type.systemBars()).right,
-                        insetsCompat.getInsets(WindowInsetsCompat.Type.systemBars()).bottom
-                );
-                return insets;
-            });
+        TextView headerName = header.findViewById(R.id.nav_header_name);
+        if (headerName != null) {
+            profile.name().observe(activity, headerName::setText);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,216 @@
+package com.example.baseapp.utils;
+
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.os.Build;
+import android.os.SystemClock;
+import android.service.notification.StatusBarNotification;
+import android.util.Log;
+
+import androidx.annotation.RequiresApi;
+import androidx.core.app.NotificationCompat;
+import androidx.core.app.NotificationManagerCompat;
+
+import com.example.baseapp.R;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fila única de notificações: canais criados uma vez, limite de frequência por canal e rajadas agrupadas sob um
+// resumo por canal
+public class NotificationDispatcher {
+
+    public static final String CHANNEL_DEFAULT = "default_channel";
+
+    private static final String TAG = "NotificationDispatcher";
+
+    // O sistema descarta posts acima de alguns por segundo por app; cada canal fica bem abaixo disso
+    private static final long DEFAULT_MIN_INTERVAL_MS = 500;
+    // Publicações por flush, resumo incluído: duas a cada 500 ms ficam abaixo do limite do sistema
+    private static final int MAX_POSTS_PER_FLUSH = 2;
+
+    private static volatile NotificationDispatcher instance;
+
+    private final Context appContext;
+    private final NotificationManagerCompat notificationManager;
+    private final AppExecutors.SerialQueue queue;
+    // Estado dos canais; acessado apenas dentro da fila serial do dispatcher
+    private final Map<String, Channel> channels = new HashMap<>();
+
+    private final AtomicLong posted = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public static NotificationDispatcher getInstance(Context context) {
+        if (instance == null) {
+            synchronized (NotificationDispatcher.class) {
+                if (instance == null) {
+                    instance = new NotificationDispatcher(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private NotificationDispatcher(Context appContext) {
+        this.appContext = appContext;
+        this.notificationManager = NotificationManagerCompat.from(appContext);
+        this.queue = AppExecutors.getInstance().serial(AppExecutors.Pool.IO, "notify-dispatch");
+        registerChannel(CHANNEL_DEFAULT, "Default Channel", NotificationManager.IMPORTANCE_DEFAULT, DEFAULT_MIN_INTERVAL_MS);
+    }
+
+    // Registra o canal uma única vez; registros repetidos do mesmo id são ignorados
+    public void registerChannel(String id, CharSequence name, int importance, long minIntervalMs) {
+        queue.execute(() -> {
+            if (channels.containsKey(id)) {
+                return;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                NotificationManager manager = (NotificationManager) appContext.getSystemService(Context.NOTIFICATION_SERVICE);
+                manager.createNotificationChannel(new NotificationChannel(id, name, importance));
+            }
+            channels.put(id, new Channel(id, minIntervalMs));
+        });
+    }
+
+    // Enfileira uma notificação; mensagens com a mesma key substituem a anterior em vez de empilhar
+    public void post(String channelId, String key, CharSequence title, CharSequence text) {
+        NotificationGroup.Message message = new NotificationGroup.Message(key, title, text);
+        queue.execute(() -> enqueue(channelId, message));
+    }
+
+    public long getPostedCount() {
+        return posted.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void enqueue(String channelId, NotificationGroup.Message message) {
+        Channel channel = channels.get(channelId);
+        if (channel == null) {
+            Log.w(TAG, "Canal não registrado: " + channelId);
+            dropped.incrementAndGet();
+            return;
+        }
+        NotificationGroup.Enqueued result = channel.group.enqueue(message);
+        if (result == NotificationGroup.Enqueued.REPLACED) {
+            coalesced.incrementAndGet();
+        } else if (result == NotificationGroup.Enqueued.DROPPED_OLDEST) {
+            dropped.incrementAndGet();
+        }
+        scheduleFlush(channel);
+    }
+
+    private void scheduleFlush(Channel channel) {
+        if (channel.flushScheduled) {
+            return;
+        }
+        channel.flushScheduled = true;
+        long wait = channel.lastPostMs + channel.minIntervalMs - SystemClock.elapsedRealtime();
+        queue.schedule(() -> flush(channel), Math.max(0, wait));
+    }
+
+    private void flush(Channel channel) {
+        channel.flushScheduled = false;
+        if (!channel.group.hasPending()) {
+            return;
+        }
+        if (!notificationManager.areNotificationsEnabled()) {
+            dropped.addAndGet(channel.group.clearPending());
+            return;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            channel.group.retainShown(activeIds(channel));
+        }
+        NotificationGroup.Flush flush = channel.group.drain(MAX_POSTS_PER_FLUSH);
+        int sent = 0;
+        try {
+            // Cada mensagem é um filho do grupo com o seu id; rajadas seguidas somam filhos em vez de se substituírem
+            for (NotificationGroup.Post post : flush.children) {
+                notificationManager.notify(channel.id, post.id, buildChild(channel, post.message).build());
+                posted.incrementAndGet();
+                sent++;
+            }
+            if (flush.summaryLines != null) {
+                notificationManager.notify(channel.id, NotificationGroup.SUMMARY_ID,
+                        buildSummary(channel, flush.summaryLines, flush.shownCount).build());
+            }
+        } catch (SecurityException e) {
+            // Permissão POST_NOTIFICATIONS revogada entre o enfileiramento e o post
+            dropped.addAndGet(flush.children.size() - sent + channel.group.clearPending());
+        }
+        channel.lastPostMs = SystemClock.elapsedRealtime();
+        if (channel.group.hasPending()) {
+            scheduleFlush(channel);
+        }
+    }
+
+    // Ids deste canal ainda na barra de notificações
+    @RequiresApi(Build.VERSION_CODES.M)
+    private List<Integer> activeIds(Channel channel) {
+        NotificationManager manager = (NotificationManager) appContext.getSystemService(Context.NOTIFICATION_SERVICE);
+        List<Integer> ids = new ArrayList<>();
+        for (StatusBarNotification notification : manager.getActiveNotifications()) {
+            if (channel.id.equals(notification.getTag())) {
+                ids.add(notification.getId());
+            }
+        }
+        return ids;
+    }
+
+    private NotificationCompat.Builder buildChild(Channel channel, NotificationGroup.Message message) {
+        return new NotificationCompat.Builder(appContext, channel.id)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(message.title)
+                .setContentText(message.text)
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setGroup(channel.groupKey)
+                .setAutoCancel(true);
+    }
+
+    private NotificationCompat.Builder buildSummary(Channel channel, List<NotificationGroup.Message> lines, int count) {
+        NotificationCompat.InboxStyle style = new NotificationCompat.InboxStyle();
+        for (NotificationGroup.Message message : lines) {
+            style.addLine(message.text != null ? message.title + ": " + message.text : message.title);
+        }
+        if (count > lines.size()) {
+            style.setSummaryText("+" + (count - lines.size()) + " mais");
+        }
+        NotificationGroup.Message latest = lines.get(lines.size() - 1);
+        return new NotificationCompat.Builder(appContext, channel.id)
+                .setSmallIcon(R.drawable.ic_notification)
+                .setContentTitle(count + " novas notificações")
+                .setContentText(latest.title)
+                .setStyle(style)
+                .setNumber(count)
+                .setPriority(NotificationCompat.PRIORITY_DEFAULT)
+                .setGroup(channel.groupKey)
+                .setGroupSummary(true)
+                .setAutoCancel(true);
+    }
+
+    private static final class Channel {
+        final String id;
+        final String groupKey;
+        final long minIntervalMs;
+        final NotificationGroup group = new NotificationGroup();
+        long lastPostMs = -1_000_000;
+        boolean flushScheduled;
+
+        Channel(String id, long minIntervalMs) {
+            this.id = id;
+            this.groupKey = "group_" + id;
+            this.minIntervalMs = minIntervalMs;
+        }
+    }
+}
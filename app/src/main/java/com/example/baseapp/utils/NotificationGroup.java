@@ -0,0 +1,156 @@
+package com.example.baseapp.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Estado de um canal do NotificationDispatcher: mensagens à espera, id estável por key e os filhos já exibidos,
+// que alimentam o resumo do grupo. Sem dependências do Android; o dispatcher só executa cada Flush
+final class NotificationGroup {
+
+    // Resumo do grupo; filhos usam ids a partir de 1
+    static final int SUMMARY_ID = 0;
+    // Mensagens aguardando; acima disso as mais antigas são descartadas
+    static final int MAX_PENDING = 50;
+    // Filhos lembrados para o resumo; o sistema também não mantém muito mais que isso por app
+    static final int MAX_SHOWN = 50;
+    // Linhas visíveis no resumo
+    static final int MAX_SUMMARY_LINES = 5;
+
+    enum Enqueued {
+        ADDED,
+        // Mesma key ainda pendente: a mensagem nova toma o lugar da anterior
+        REPLACED,
+        // Fila cheia: a mais antiga saiu
+        DROPPED_OLDEST
+    }
+
+    private final LinkedHashMap<String, Message> pending = new LinkedHashMap<>();
+    // key -> id da notificação, para que atualizações substituam a anterior
+    private final Map<String, Integer> ids = new HashMap<>();
+    // id -> mensagem exibida, da mais antiga para a mais recente
+    private final LinkedHashMap<Integer, Message> shown = new LinkedHashMap<>();
+    private int sequence;
+    private int nextId = SUMMARY_ID + 1;
+
+    Enqueued enqueue(Message message) {
+        String pendingKey = message.key != null ? message.key : "#" + (sequence++);
+        Enqueued result = pending.remove(pendingKey) != null ? Enqueued.REPLACED : Enqueued.ADDED;
+        pending.put(pendingKey, message);
+        if (pending.size() > MAX_PENDING) {
+            Iterator<String> oldest = pending.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+            result = Enqueued.DROPPED_OLDEST;
+        }
+        return result;
+    }
+
+    boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    // Descarta tudo o que aguarda; devolve quantas mensagens saíram
+    int clearPending() {
+        int count = pending.size();
+        pending.clear();
+        return count;
+    }
+
+    // Descarta o que o usuário já dispensou, para o resumo não contar notificações que sumiram
+    void retainShown(Collection<Integer> activeIds) {
+        shown.keySet().retainAll(activeIds);
+    }
+
+    List<Integer> getShownIds() {
+        return new ArrayList<>(shown.keySet());
+    }
+
+    // Até maxPosts publicações: cada mensagem vira um filho com o seu id, e o resumo é atualizado quando a fila
+    // esvazia com mais de um filho exibido. O que não couber fica para o próximo flush
+    Flush drain(int maxPosts) {
+        List<Post> children = new ArrayList<>();
+        Iterator<Message> iterator = pending.values().iterator();
+        while (iterator.hasNext() && children.size() < maxPosts) {
+            Message message = iterator.next();
+            // A última vaga fica para o resumo quando este filho esvaziaria a fila e formaria um grupo
+            boolean last = pending.size() == 1;
+            if (last && children.size() == maxPosts - 1 && visibleAfter(message) > 1 && maxPosts > 1) {
+                break;
+            }
+            iterator.remove();
+            int id = idFor(message.key);
+            shown.remove(id);
+            shown.put(id, message);
+            children.add(new Post(id, message));
+        }
+        while (shown.size() > MAX_SHOWN) {
+            Iterator<Integer> oldest = shown.keySet().iterator();
+            oldest.next();
+            oldest.remove();
+        }
+        if (!pending.isEmpty() || shown.size() < 2 || children.isEmpty()) {
+            return new Flush(children, null, shown.size());
+        }
+        List<Message> lines = new ArrayList<>(shown.values());
+        return new Flush(children, lines.subList(Math.max(0, lines.size() - MAX_SUMMARY_LINES), lines.size()),
+                shown.size());
+    }
+
+    private int visibleAfter(Message message) {
+        Integer id = message.key != null ? ids.get(message.key) : null;
+        return id != null && shown.containsKey(id) ? shown.size() : shown.size() + 1;
+    }
+
+    private int idFor(String key) {
+        if (key == null) {
+            return nextId++;
+        }
+        Integer id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    static final class Message {
+        final String key;
+        final CharSequence title;
+        final CharSequence text;
+
+        Message(String key, CharSequence title, CharSequence text) {
+            this.key = key;
+            this.title = title;
+            this.text = text;
+        }
+    }
+
+    static final class Post {
+        final int id;
+        final Message message;
+
+        Post(int id, Message message) {
+            this.id = id;
+            this.message = message;
+        }
+    }
+
+    static final class Flush {
+        final List<Post> children;
+        // null quando o resumo não precisa ser publicado neste flush
+        final List<Message> summaryLines;
+        // Filhos exibidos ao todo, incluindo os de rajadas anteriores
+        final int shownCount;
+
+        Flush(List<Post> children, List<Message> summaryLines, int shownCount) {
+            this.children = children;
+            this.summaryLines = summaryLines;
+            this.shownCount = shownCount;
+        }
+    }
+}
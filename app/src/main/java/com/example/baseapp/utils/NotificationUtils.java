@@ -1,31 +1,32 @@
 package com.example.baseapp.utils;
 
-import android.app.NotificationChannel;
-import android.app.NotificationManager;
 import android.content.Context;
-import android.os.Build;
-import androidx.core.app.NotificationCompat;
-import com.example.baseapp.R;
 
 public class NotificationUtils {
 
-    private static final String CHANNEL_ID = "default_channel";
-    private static final String CHANNEL_NAME = "Default Channel";
+    private static final String TEST_KEY = "test";
 
+    // Passa pelo NotificationDispatcher; toques repetidos atualizam a mesma notificação de teste
     public static void sendTestNotification(Context context) {
-        NotificationManager notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-            NotificationChannel channel = new NotificationChannel(CHANNEL_ID, CHANNEL_NAME, NotificationManager.IMPORTANCE_DEFAULT);
-            notificationManager.createNotificationChannel(channel);
-        }
+        NotificationDispatcher.getInstance(context).post(
+                NotificationDispatcher.CHANNEL_DEFAULT,
+                TEST_KEY,
+                "Notificação de Teste",
+                "Esta é uma notificação de teste ativada nas configurações.");
+    }
 
-        NotificationCompat.Builder builder = new NotificationCompat.Builder(context, CHANNEL_ID)
-                .setSmallIcon(R.drawable.ic_notification)
-                .setContentTitle("Notificação de Teste")
-                .setContentText("Esta é uma notificação de teste ativada nas configurações.")
-                .setPriority(NotificationCompat.PRIORITY_DEFAULT);
+    // Agenda uma notificação para daqui a delayMs; a mesma key substitui o lembrete anterior.
+    // Ainda sem chamadores no app: é a API para telas que queiram lembrar o usuário mais tarde
+    public static void scheduleReminder(Context context, String key, long delayMs, String title, String text) {
+        ReminderScheduler.getInstance(context).schedule(
+                key,
+                System.currentTimeMillis() + delayMs,
+                NotificationDispatcher.CHANNEL_DEFAULT,
+                title,
+                text);
+    }
 
-        notificationManager.notify(1, builder.build());
+    public static void cancelReminder(Context context, String key) {
+        ReminderScheduler.getInstance(context).cancel(key);
     }
-}
\ No newline at end of file
+}
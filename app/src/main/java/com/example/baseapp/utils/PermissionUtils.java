@@ -12,6 +12,8 @@ public class PermissionUtils {
     public static final int NOTIFICATION_PERMISSION_CODE = 1001;
     public static final int STORAGE_PERMISSION_CODE = 1002;
 
+    public static final String NOTIFICATION_PERMISSION = "android.permission.POST_NOTIFICATIONS";
+
     public static boolean isNotificationPermissionGranted(Context context) {
         return ContextCompat.checkSelfPermission(context, "android.permission.POST_NOTIFICATIONS") == PackageManager.PERMISSION_GRANTED;
     }
@@ -30,9 +32,14 @@ public class PermissionUtils {
         }
     }
 
-    public static void requestStoragePermission(Activity activity) {
-        String permission = Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU ?
+    // Permissão de leitura da galeria conforme a versão; usada também pelos launchers dos fragments
+    public static String getStoragePermission() {
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU ?
                 "android.permission.READ_MEDIA_IMAGES" : "android.permission.READ_EXTERNAL_STORAGE";
+    }
+
+    public static void requestStoragePermission(Activity activity) {
+        String permission = getStoragePermission();
         if (!isStoragePermissionGranted(activity)) {
             ActivityCompat.requestPermissions(activity, new String[]{permission}, STORAGE_PERMISSION_CODE);
         }
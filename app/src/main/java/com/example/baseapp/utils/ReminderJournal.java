@@ -0,0 +1,190 @@
+package com.example.baseapp.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Diário append-only dos lembretes: cada registro tem tamanho e CRC, e uma cauda corrompida é descartada na leitura
+class ReminderJournal {
+
+    private static final byte TYPE_ADD = 1;
+    private static final byte TYPE_REMOVE = 2;
+    // Registros maiores que isso só podem ser lixo de uma escrita interrompida
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    static final class Entry {
+        final String key;
+        final long dueAt;
+        final String channelId;
+        final String title;
+        final String text;
+
+        Entry(String key, long dueAt, String channelId, String title, String text) {
+            this.key = key;
+            this.dueAt = dueAt;
+            this.channelId = channelId;
+            this.title = title;
+            this.text = text;
+        }
+    }
+
+    private final File file;
+    private FileOutputStream out;
+    // Registros no arquivo que não correspondem mais a um lembrete pendente
+    private int deadRecords;
+
+    ReminderJournal(File file) {
+        this.file = file;
+    }
+
+    // Reproduz o diário e devolve os lembretes pendentes, na ordem em que foram agendados
+    Map<String, Entry> load() throws IOException {
+        Map<String, Entry> live = new LinkedHashMap<>();
+        deadRecords = 0;
+        long validLength = 0;
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                CRC32 crc = new CRC32();
+                while (true) {
+                    byte[] payload;
+                    // EOF no meio de um registro ou do seu conteúdo: escrita interrompida
+                    try {
+                        int length = in.readInt();
+                        int checksum = in.readInt();
+                        if (length <= 0 || length > MAX_RECORD_BYTES) {
+                            break;
+                        }
+                        payload = new byte[length];
+                        in.readFully(payload);
+                        crc.reset();
+                        crc.update(payload);
+                        if ((int) crc.getValue() != checksum) {
+                            break;
+                        }
+                        apply(live, payload);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    validLength += 8 + payload.length;
+                }
+            }
+            // Uma escrita interrompida deixa lixo no fim; cortar para que novos registros não fiquem atrás dele
+            if (validLength < file.length()) {
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(validLength);
+                }
+            }
+        }
+        return live;
+    }
+
+    private void apply(Map<String, Entry> live, byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        String key = in.readUTF();
+        if (type == TYPE_ADD) {
+            Entry entry = new Entry(key, in.readLong(), in.readUTF(), in.readUTF(), in.readBoolean() ? in.readUTF() : null);
+            if (live.put(key, entry) != null) {
+                deadRecords++;
+            }
+        } else if (type == TYPE_REMOVE) {
+            if (live.remove(key) != null) {
+                deadRecords++;
+            }
+            deadRecords++;
+        }
+    }
+
+    void appendAdd(Entry entry, boolean replaces) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeByte(TYPE_ADD);
+        data.writeUTF(entry.key);
+        data.writeLong(entry.dueAt);
+        data.writeUTF(entry.channelId);
+        data.writeUTF(entry.title);
+        data.writeBoolean(entry.text != null);
+        if (entry.text != null) {
+            data.writeUTF(entry.text);
+        }
+        append(bytes.toByteArray());
+        if (replaces) {
+            deadRecords++;
+        }
+    }
+
+    void appendRemove(String key) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeByte(TYPE_REMOVE);
+        data.writeUTF(key);
+        append(bytes.toByteArray());
+        // O ADD correspondente e o próprio REMOVE passam a ser registros mortos
+        deadRecords += 2;
+    }
+
+    int getDeadRecords() {
+        return deadRecords;
+    }
+
+    // Reescreve apenas os lembretes pendentes num arquivo novo e troca pelo atual
+    void compact(Collection<Entry> live) throws IOException {
+        close();
+        File temp = new File(file.getPath() + ".tmp");
+        ReminderJournal rewritten = new ReminderJournal(temp);
+        try {
+            rewritten.out = new FileOutputStream(temp, false);
+            for (Entry entry : live) {
+                rewritten.appendAdd(entry, false);
+            }
+            rewritten.out.getFD().sync();
+        } finally {
+            rewritten.close();
+        }
+        if (!temp.renameTo(file)) {
+            temp.delete();
+            throw new IOException("Falha ao substituir " + file);
+        }
+        deadRecords = 0;
+    }
+
+    void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    // Tamanho, CRC e conteúdo numa única escrita
+    private void append(byte[] payload) throws IOException {
+        if (out == null) {
+            out = new FileOutputStream(file, true);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        byte[] record = new byte[8 + payload.length];
+        writeInt(record, 0, payload.length);
+        writeInt(record, 4, (int) crc.getValue());
+        System.arraycopy(payload, 0, record, 8, payload.length);
+        out.write(record);
+    }
+
+    private static void writeInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
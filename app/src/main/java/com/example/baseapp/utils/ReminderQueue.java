@@ -0,0 +1,101 @@
+package com.example.baseapp.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+// Min-heap por vencimento com índice por key: inserir, substituir e remover custam O(log n) mesmo com milhares
+// de lembretes, sem deixar entradas mortas no heap
+final class ReminderQueue {
+
+    private final ArrayList<ReminderJournal.Entry> heap = new ArrayList<>();
+    // Posição atual de cada key no heap
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    int size() {
+        return heap.size();
+    }
+
+    ReminderJournal.Entry peek() {
+        return heap.isEmpty() ? null : heap.get(0);
+    }
+
+    // Insere o lembrete ou substitui o da mesma key; devolve o substituído
+    ReminderJournal.Entry put(ReminderJournal.Entry entry) {
+        Integer index = positions.get(entry.key);
+        if (index == null) {
+            heap.add(entry);
+            positions.put(entry.key, heap.size() - 1);
+            siftUp(heap.size() - 1);
+            return null;
+        }
+        ReminderJournal.Entry previous = heap.get(index);
+        heap.set(index, entry);
+        if (entry.dueAt < previous.dueAt) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+        return previous;
+    }
+
+    ReminderJournal.Entry remove(String key) {
+        Integer index = positions.remove(key);
+        if (index == null) {
+            return null;
+        }
+        ReminderJournal.Entry removed = heap.get(index);
+        ReminderJournal.Entry last = heap.remove(heap.size() - 1);
+        if (index < heap.size()) {
+            // O último ocupa a vaga e desce ou sobe até a posição certa
+            heap.set(index, last);
+            positions.put(last.key, index);
+            if (last.dueAt < removed.dueAt) {
+                siftUp(index);
+            } else {
+                siftDown(index);
+            }
+        }
+        return removed;
+    }
+
+    private void siftUp(int index) {
+        ReminderJournal.Entry entry = heap.get(index);
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            ReminderJournal.Entry above = heap.get(parent);
+            if (above.dueAt <= entry.dueAt) {
+                break;
+            }
+            place(above, index);
+            index = parent;
+        }
+        place(entry, index);
+    }
+
+    private void siftDown(int index) {
+        ReminderJournal.Entry entry = heap.get(index);
+        int size = heap.size();
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap.get(child + 1).dueAt < heap.get(child).dueAt) {
+                child++;
+            }
+            ReminderJournal.Entry below = heap.get(child);
+            if (entry.dueAt <= below.dueAt) {
+                break;
+            }
+            place(below, index);
+            index = child;
+        }
+        place(entry, index);
+    }
+
+    private void place(ReminderJournal.Entry entry, int index) {
+        heap.set(index, entry);
+        positions.put(entry.key, index);
+    }
+}
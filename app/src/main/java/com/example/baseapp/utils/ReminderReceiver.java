@@ -0,0 +1,20 @@
+package com.example.baseapp.utils;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+// Acorda o ReminderScheduler no alarme agendado e após o boot, quando os alarmes do sistema são perdidos
+public class ReminderReceiver extends BroadcastReceiver {
+
+    static final String ACTION_FIRE = "com.example.baseapp.action.FIRE_REMINDERS";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        String action = intent.getAction();
+        if (ACTION_FIRE.equals(action) || Intent.ACTION_BOOT_COMPLETED.equals(action)) {
+            PendingResult result = goAsync();
+            ReminderScheduler.getInstance(context).onWakeup(result::finish);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.baseapp.utils;
+
+import android.app.AlarmManager;
+import android.app.PendingIntent;
+import android.content.Context;
+import android.content.Intent;
+import android.util.Log;
+
+import com.example.baseapp.data.PrefKeys;
+import com.example.baseapp.data.PreferencesStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// Lembretes para depois que sobrevivem ao fim do processo: diário em disco, heap em memória e um único alarme
+public class ReminderScheduler {
+
+    private static final String TAG = "ReminderScheduler";
+    private static final String JOURNAL_FILE = "reminders.journal";
+    // Lembretes que vencem até esta janela após o primeiro disparam juntos, num único despertar
+    static final long BATCH_WINDOW_MS = 60_000;
+    // Compactar o diário quando houver mais registros mortos que isso e que lembretes pendentes
+    private static final int COMPACT_MIN_DEAD = 256;
+
+    private static volatile ReminderScheduler instance;
+
+    private final Context appContext;
+    private final AppExecutors.SerialQueue queue;
+    private final ReminderJournal journal;
+    // Estado abaixo acessado apenas dentro da fila serial do scheduler
+    private final Map<String, ReminderJournal.Entry> live = new HashMap<>();
+    // Exatamente os lembretes de live, por vencimento; substituídos, cancelados e disparados saem na hora
+    private final ReminderQueue dueQueue = new ReminderQueue();
+    private boolean loaded;
+    private long alarmAt = -1;
+
+    public static ReminderScheduler getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ReminderScheduler.class) {
+                if (instance == null) {
+                    instance = new ReminderScheduler(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private ReminderScheduler(Context appContext) {
+        this.appContext = appContext;
+        this.journal = new ReminderJournal(new File(appContext.getFilesDir(), JOURNAL_FILE));
+        this.queue = AppExecutors.getInstance().serial(AppExecutors.Pool.IO, "reminders-io", AppExecutors.Priority.LOW);
+    }
+
+    // Agenda (ou reagenda, se a key já existir) um lembrete para o horário informado em System.currentTimeMillis()
+    public void schedule(String key, long dueAtMillis, String channelId, String title, String text) {
+        ReminderJournal.Entry entry = new ReminderJournal.Entry(key, dueAtMillis, channelId, title, text);
+        queue.execute(() -> {
+            if (!ensureLoaded()) {
+                return;
+            }
+            boolean replaces = live.containsKey(key);
+            try {
+                journal.appendAdd(entry, replaces);
+            } catch (IOException e) {
+                Log.e(TAG, "Falha ao gravar lembrete " + key, e);
+                return;
+            }
+            live.put(key, entry);
+            dueQueue.put(entry);
+            updateAlarm();
+        });
+    }
+
+    public void cancel(String key) {
+        queue.execute(() -> {
+            if (!ensureLoaded() || !live.containsKey(key)) {
+                return;
+            }
+            remove(key);
+            updateAlarm();
+        });
+    }
+
+    // Chamado pelo alarme ou após o boot; dispara os lembretes vencidos e rearma para o próximo
+    void onWakeup(Runnable done) {
+        queue.execute(() -> {
+            try {
+                alarmAt = -1;
+                if (ensureLoaded()) {
+                    fireDue(System.currentTimeMillis());
+                    updateAlarm();
+                }
+            } finally {
+                done.run();
+            }
+        });
+    }
+
+    private boolean ensureLoaded() {
+        if (loaded) {
+            return true;
+        }
+        try {
+            live.putAll(journal.load());
+        } catch (IOException e) {
+            Log.e(TAG, "Falha ao ler o diário de lembretes", e);
+            return false;
+        }
+        for (ReminderJournal.Entry entry : live.values()) {
+            dueQueue.put(entry);
+        }
+        loaded = true;
+        return true;
+    }
+
+    private void fireDue(long now) {
+        ReminderJournal.Entry head = dueQueue.peek();
+        if (head == null || head.dueAt > now) {
+            return;
+        }
+        // Tudo que vence até a janela do primeiro sai neste mesmo despertar
+        long limit = Math.max(now, head.dueAt + BATCH_WINDOW_MS);
+        boolean enabled = PreferencesStore.getInstance(appContext).get(PrefKeys.NOTIFICATIONS_ENABLED);
+        NotificationDispatcher dispatcher = NotificationDispatcher.getInstance(appContext);
+        ReminderJournal.Entry entry;
+        while ((entry = dueQueue.peek()) != null && entry.dueAt <= limit) {
+            if (enabled) {
+                dispatcher.post(entry.channelId, entry.key, entry.title, entry.text);
+            }
+            remove(entry.key);
+        }
+        if (journal.getDeadRecords() > COMPACT_MIN_DEAD && journal.getDeadRecords() > live.size()) {
+            try {
+                journal.compact(live.values());
+            } catch (IOException e) {
+                Log.w(TAG, "Falha ao compactar o diário de lembretes", e);
+            }
+        }
+    }
+
+    private void remove(String key) {
+        try {
+            journal.appendRemove(key);
+        } catch (IOException e) {
+            // Sem o registro de remoção o lembrete pode disparar de novo após reiniciar; melhor que perdê-lo
+            Log.e(TAG, "Falha ao gravar remoção de " + key, e);
+        }
+        live.remove(key);
+        dueQueue.remove(key);
+    }
+
+    // Um único alarme inexato para o próximo vencimento; só é refeito quando o topo do heap muda
+    private void updateAlarm() {
+        ReminderJournal.Entry head = dueQueue.peek();
+        long next = head != null ? head.dueAt : -1;
+        if (next == alarmAt) {
+            return;
+        }
+        AlarmManager alarmManager = (AlarmManager) appContext.getSystemService(Context.ALARM_SERVICE);
+        PendingIntent wakeup = PendingIntent.getBroadcast(appContext, 0,
+                new Intent(appContext, ReminderReceiver.class).setAction(ReminderReceiver.ACTION_FIRE),
+                PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE);
+        if (head == null) {
+            alarmManager.cancel(wakeup);
+        } else {
+            alarmManager.setWindow(AlarmManager.RTC_WAKEUP, next, BATCH_WINDOW_MS, wakeup);
+        }
+        alarmAt = next;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.baseapp.utils;
+
+import android.app.Activity;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+public class StartupMetrics {
+
+    public static final String PATH_SIGNED_IN = "signed_in";
+    public static final String PATH_LOGIN = "login";
+    // Do toque no botão de login até o primeiro frame da Home
+    public static final String PATH_SIGN_IN = "sign_in";
+
+    private static final String TAG = "StartupMetrics";
+
+    // Fallback para APIs < 24: momento em que esta classe foi carregada
+    private static final long CLASS_LOAD_TIME = SystemClock.elapsedRealtime();
+
+    private static String pendingPath;
+    private static long routeDecidedMs = -1;
+    private static long lastColdStartMs = -1;
+    private static String lastPath;
+    private static long signInTapMs = -1;
+    private static long lastSignInMs = -1;
+
+    // Registra o caminho escolhido pela etapa de roteamento da inicialização
+    public static void onRouteDecided(String path) {
+        if (routeDecidedMs >= 0) {
+            return; // Apenas o primeiro roteamento do processo é uma inicialização a frio
+        }
+        pendingPath = path;
+        routeDecidedMs = SystemClock.elapsedRealtime() - processStartTime();
+    }
+
+    public static void onSignInTapped() {
+        pendingPath = PATH_SIGN_IN;
+        signInTapMs = SystemClock.elapsedRealtime();
+    }
+
+    // Mede até o primeiro frame desenhado pela atividade de destino do caminho informado
+    public static void reportFirstFrame(Activity activity, String path) {
+        if (pendingPath == null || !pendingPath.equals(path)) {
+            return;
+        }
+        pendingPath = null;
+        View decorView = activity.getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                decorView.getViewTreeObserver().removeOnPreDrawListener(this);
+                // Postar para medir depois que o frame foi efetivamente enviado
+                decorView.post(() -> {
+                    if (PATH_SIGN_IN.equals(path)) {
+                        lastSignInMs = SystemClock.elapsedRealtime() - signInTapMs;
+                        Log.i(TAG, "Login: toque até a Home em " + lastSignInMs + " ms");
+                        return;
+                    }
+                    lastPath = path;
+                    lastColdStartMs = SystemClock.elapsedRealtime() - processStartTime();
+                    Log.i(TAG, "Cold start [" + path + "]: roteamento em " + routeDecidedMs
+                            + " ms, primeiro frame em " + lastColdStartMs + " ms");
+                    activity.reportFullyDrawn();
+                });
+                return true;
+            }
+        });
+    }
+
+    public static long getLastColdStartMs() {
+        return lastColdStartMs;
+    }
+
+    public static long getLastSignInMs() {
+        return lastSignInMs;
+    }
+
+    public static String getLastPath() {
+        return lastPath;
+    }
+
+    private static long processStartTime() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return Process.getStartElapsedRealtime();
+        }
+        return CLASS_LOAD_TIME;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.baseapp.utils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Contadores de um tipo de tarefa do AppExecutors: profundidade da fila, tempo de espera e tempo de execução
+public final class TaskStats {
+
+    private final String type;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+    private final AtomicLong totalWaitNs = new AtomicLong();
+    private final AtomicLong maxWaitNs = new AtomicLong();
+    private final AtomicLong totalRunNs = new AtomicLong();
+    private final AtomicLong maxRunNs = new AtomicLong();
+
+    TaskStats(String type) {
+        this.type = type;
+    }
+
+    void onEnqueued() {
+        submitted.incrementAndGet();
+        int depth = queued.incrementAndGet();
+        int max;
+        while (depth > (max = maxQueued.get()) && !maxQueued.compareAndSet(max, depth)) {
+            // Outra thread atualizou o máximo; tentar de novo
+        }
+    }
+
+    void onStarted(long waitNs) {
+        queued.decrementAndGet();
+        totalWaitNs.addAndGet(waitNs);
+        updateMax(maxWaitNs, waitNs);
+    }
+
+    void onFinished(long runNs) {
+        completed.incrementAndGet();
+        totalRunNs.addAndGet(runNs);
+        updateMax(maxRunNs, runNs);
+    }
+
+    void onCancelled() {
+        queued.decrementAndGet();
+        cancelled.incrementAndGet();
+    }
+
+    // AtomicLong.accumulateAndGet só existe a partir da API 24
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // Outra thread atualizou o máximo; tentar de novo
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    // Tarefas aguardando para começar neste momento
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueued.get();
+    }
+
+    public long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    public double getAverageWaitMs() {
+        long started = completed.get() + running();
+        return started > 0 ? totalWaitNs.get() / 1e6 / started : 0;
+    }
+
+    public double getMaxWaitMs() {
+        return maxWaitNs.get() / 1e6;
+    }
+
+    public double getAverageRunMs() {
+        long done = completed.get();
+        return done > 0 ? totalRunNs.get() / 1e6 / done : 0;
+    }
+
+    public double getMaxRunMs() {
+        return maxRunNs.get() / 1e6;
+    }
+
+    private long running() {
+        return Math.max(0, submitted.get() - cancelled.get() - completed.get() - queued.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%s: fila=%d (máx %d), espera média=%.1fms (máx %.1fms), execução média=%.1fms (máx %.1fms), concluídas=%d, canceladas=%d",
+                type, getQueueDepth(), getMaxQueueDepth(), getAverageWaitMs(), getMaxWaitMs(),
+                getAverageRunMs(), getMaxRunMs(), getCompletedCount(), getCancelledCount());
+    }
+}
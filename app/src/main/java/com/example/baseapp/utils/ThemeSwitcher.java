@@ -0,0 +1,272 @@
+package com.example.baseapp.utils;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.app.Activity;
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatDelegate;
+import androidx.core.view.ViewCompat;
+import androidx.core.widget.ImageViewCompat;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.baseapp.data.PrefKeys;
+import com.example.baseapp.data.PreferencesStore;
+import com.google.android.material.navigation.NavigationBarView;
+import com.google.android.material.navigation.NavigationView;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// Troca de tema sem recriar a atividade: foto da tela, cores remapeadas na árvore viva e cross-fade
+public class ThemeSwitcher {
+
+    private static final long CROSSFADE_MS = 200;
+
+    // Atributos de cor usados pelos layouts; o valor antigo de cada um é trocado pelo novo
+    private static final int[] COLOR_ATTRS = {
+            androidx.appcompat.R.attr.colorPrimary,
+            com.google.android.material.R.attr.colorOnPrimary,
+            com.google.android.material.R.attr.colorSecondary,
+            com.google.android.material.R.attr.colorOnSecondary,
+            com.google.android.material.R.attr.colorSurface,
+            com.google.android.material.R.attr.colorOnSurface,
+            android.R.attr.colorBackground,
+            android.R.attr.textColorPrimary,
+            android.R.attr.textColorSecondary,
+    };
+
+    // Alterna o modo noturno; atividades que tratam uiMode recebem onConfigurationChanged em vez de serem recriadas.
+    // Quem chama grava PrefKeys.THEME_SELECTION, a única cópia do modo escolhido
+    public static void switchTo(Activity activity, boolean darkMode) {
+        int nightMode = darkMode ? AppCompatDelegate.MODE_NIGHT_YES : AppCompatDelegate.MODE_NIGHT_NO;
+        if (AppCompatDelegate.getDefaultNightMode() == nightMode) {
+            return;
+        }
+        // A foto cobre a tela enquanto as cores são trocadas e some em seguida
+        View decorView = activity.getWindow().getDecorView();
+        BitmapDrawable snapshot = capture(decorView);
+        if (snapshot != null) {
+            ((ViewGroup) decorView).getOverlay().add(snapshot);
+        }
+        AppCompatDelegate.setDefaultNightMode(nightMode);
+        if (snapshot != null) {
+            crossfade((ViewGroup) decorView, snapshot);
+        }
+    }
+
+    // Chamar antes de super.onCreate de cada atividade. Na primeira tela da execução espera a carga do
+    // PreferencesStore, iniciada no Application, que o roteamento dela já esperaria logo depois; nas seguintes
+    // o snapshot já está em memória e o modo já é o aplicado
+    public static void applySaved(Context context) {
+        applyMode(PreferencesStore.getInstance(context).get(PrefKeys.THEME_SELECTION));
+    }
+
+    // Define o modo noturno padrão; atividades já criadas são atualizadas pelo AppCompat
+    public static void applyMode(boolean darkMode) {
+        int nightMode = darkMode ? AppCompatDelegate.MODE_NIGHT_YES : AppCompatDelegate.MODE_NIGHT_NO;
+        if (AppCompatDelegate.getDefaultNightMode() != nightMode) {
+            AppCompatDelegate.setDefaultNightMode(nightMode);
+        }
+    }
+
+    // Reaplica as cores do tema atual sobre uma árvore desenhada com a paleta anterior; retorna a paleta nova
+    public static Palette reapply(Activity activity, Palette rendered) {
+        Palette current = Palette.resolve(activity);
+        if (current.equals(rendered)) {
+            return rendered;
+        }
+        Map<Integer, Integer> remap = rendered.mappingTo(current);
+
+        TypedArray window = activity.getTheme().obtainStyledAttributes(new int[]{android.R.attr.windowBackground});
+        try {
+            Drawable background = window.getDrawable(0);
+            if (background != null) {
+                activity.getWindow().setBackgroundDrawable(background);
+            }
+        } finally {
+            window.recycle();
+        }
+        if (!remap.isEmpty()) {
+            remapTree(activity.getWindow().getDecorView(), remap);
+        }
+        return current;
+    }
+
+    private static void remapTree(View view, Map<Integer, Integer> remap) {
+        Drawable background = view.getBackground();
+        if (background instanceof ColorDrawable) {
+            Integer color = remap.get(((ColorDrawable) background).getColor());
+            if (color != null) {
+                view.setBackgroundColor(color);
+            }
+        }
+        ColorStateList backgroundTint = ViewCompat.getBackgroundTintList(view);
+        ColorStateList remappedTint = remap(backgroundTint, remap);
+        if (remappedTint != backgroundTint) {
+            ViewCompat.setBackgroundTintList(view, remappedTint);
+        }
+
+        if (view instanceof TextView) {
+            TextView textView = (TextView) view;
+            ColorStateList textColors = remap(textView.getTextColors(), remap);
+            if (textColors != textView.getTextColors()) {
+                textView.setTextColor(textColors);
+            }
+            ColorStateList hintColors = remap(textView.getHintTextColors(), remap);
+            if (hintColors != textView.getHintTextColors()) {
+                textView.setHintTextColor(hintColors);
+            }
+        } else if (view instanceof ImageView) {
+            ImageView imageView = (ImageView) view;
+            ColorStateList tint = ImageViewCompat.getImageTintList(imageView);
+            ColorStateList remapped = remap(tint, remap);
+            if (remapped != tint) {
+                ImageViewCompat.setImageTintList(imageView, remapped);
+            }
+        }
+
+        if (view instanceof NavigationBarView) {
+            NavigationBarView bar = (NavigationBarView) view;
+            ColorStateList iconTint = remap(bar.getItemIconTintList(), remap);
+            if (iconTint != bar.getItemIconTintList()) {
+                bar.setItemIconTintList(iconTint);
+            }
+            ColorStateList textColor = remap(bar.getItemTextColor(), remap);
+            if (textColor != bar.getItemTextColor()) {
+                bar.setItemTextColor(textColor);
+            }
+        } else if (view instanceof NavigationView) {
+            NavigationView navigationView = (NavigationView) view;
+            ColorStateList iconTint = remap(navigationView.getItemIconTintList(), remap);
+            if (iconTint != navigationView.getItemIconTintList()) {
+                navigationView.setItemIconTintList(iconTint);
+            }
+            ColorStateList textColor = remap(navigationView.getItemTextColor(), remap);
+            if (textColor != navigationView.getItemTextColor()) {
+                navigationView.setItemTextColor(textColor);
+            }
+        }
+
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                remapTree(group.getChildAt(i), remap);
+            }
+        }
+
+        if (view instanceof RecyclerView) {
+            // Holders fora da tela ainda têm as cores antigas; descartá-los força novas inflações com o tema atual
+            RecyclerView recyclerView = (RecyclerView) view;
+            recyclerView.setItemViewCacheSize(0);
+            recyclerView.getRecycledViewPool().clear();
+            recyclerView.setItemViewCacheSize(2);
+        }
+    }
+
+    // Listas com estados não expõem suas cores; só listas de cor única são remapeadas
+    private static ColorStateList remap(ColorStateList colors, Map<Integer, Integer> remap) {
+        if (colors == null || colors.isStateful()) {
+            return colors;
+        }
+        Integer color = remap.get(colors.getDefaultColor());
+        return color != null ? ColorStateList.valueOf(color) : colors;
+    }
+
+    private static BitmapDrawable capture(View decorView) {
+        int width = decorView.getWidth();
+        int height = decorView.getHeight();
+        if (width == 0 || height == 0) {
+            return null;
+        }
+        try {
+            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            decorView.draw(new Canvas(bitmap));
+            BitmapDrawable drawable = new BitmapDrawable(decorView.getResources(), bitmap);
+            drawable.setBounds(0, 0, width, height);
+            return drawable;
+        } catch (OutOfMemoryError e) {
+            // Sem memória para a foto a troca ainda funciona, apenas sem transição
+            return null;
+        }
+    }
+
+    private static void crossfade(ViewGroup decorView, BitmapDrawable snapshot) {
+        ValueAnimator animator = ValueAnimator.ofInt(255, 0);
+        animator.setDuration(CROSSFADE_MS);
+        animator.addUpdateListener(animation -> snapshot.setAlpha((Integer) animation.getAnimatedValue()));
+        animator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                decorView.getOverlay().remove(snapshot);
+                snapshot.getBitmap().recycle();
+            }
+        });
+        animator.start();
+    }
+
+    // Cores resolvidas de COLOR_ATTRS para um tema; imutável
+    public static final class Palette {
+        private final int[] colors;
+
+        private Palette(int[] colors) {
+            this.colors = colors;
+        }
+
+        public static Palette resolve(Activity activity) {
+            TypedArray attributes = activity.getTheme().obtainStyledAttributes(COLOR_ATTRS);
+            try {
+                int[] colors = new int[COLOR_ATTRS.length];
+                for (int i = 0; i < colors.length; i++) {
+                    colors[i] = attributes.getColor(i, 0);
+                }
+                return new Palette(colors);
+            } finally {
+                attributes.recycle();
+            }
+        }
+
+        // Cor antiga -> cor nova; quando dois atributos compartilham a cor antiga vale o primeiro da lista,
+        // e uma cor que algum atributo mantém não é remapeada
+        Map<Integer, Integer> mappingTo(Palette next) {
+            Set<Integer> unchanged = new HashSet<>();
+            for (int i = 0; i < colors.length; i++) {
+                if (colors[i] == next.colors[i]) {
+                    unchanged.add(colors[i]);
+                }
+            }
+            Map<Integer, Integer> remap = new HashMap<>();
+            for (int i = 0; i < colors.length; i++) {
+                if (!unchanged.contains(colors[i]) && !remap.containsKey(colors[i])) {
+                    remap.put(colors[i], next.colors[i]);
+                }
+            }
+            return remap;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Palette && Arrays.equals(colors, ((Palette) o).colors);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(colors);
+        }
+    }
+}
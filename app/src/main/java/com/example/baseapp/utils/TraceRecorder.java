@@ -0,0 +1,203 @@
+package com.example.baseapp.utils;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Looper;
+import android.os.Trace;
+import android.util.Log;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gravador de spans do próprio app: buffer circular de primitivos preenchido sem alocação no caminho quente,
+// espelhado no android.os.Trace (systrace/Perfetto) e exportado sob demanda no formato JSON do Chrome
+public final class TraceRecorder {
+
+    private static final String TAG = "TraceRecorder";
+
+    // Potência de dois: o índice no buffer é o cursor com máscara
+    private static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_NAMES = 64;
+    // Limite do android.os.Trace para nomes de seção
+    private static final int MAX_NAME_LENGTH = 127;
+
+    private static final int TYPE_BEGIN = 0;
+    private static final int TYPE_END = 1;
+    private static final int TYPE_ASYNC_BEGIN = 2;
+    private static final int TYPE_ASYNC_END = 3;
+
+    private static final String[] names = new String[MAX_NAMES];
+    private static int nameCount;
+
+    // Um evento ocupa a mesma posição nos quatro arrays; o tipo fica nos 2 bits baixos de events
+    private static final long[] timestamps = new long[CAPACITY];
+    private static final int[] events = new int[CAPACITY];
+    private static final long[] threads = new long[CAPACITY];
+    private static final int[] cookies = new int[CAPACITY];
+    private static final AtomicLong cursor = new AtomicLong();
+
+    private TraceRecorder() {
+    }
+
+    // Registra o nome de um span uma única vez (em uma constante estática) e devolve o id usado nas gravações
+    public static synchronized int register(String name) {
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Nome de span muito longo: " + name);
+        }
+        for (int i = 0; i < nameCount; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        if (nameCount == MAX_NAMES) {
+            throw new IllegalStateException("Limite de " + MAX_NAMES + " spans registrados atingido");
+        }
+        names[nameCount] = name;
+        return nameCount++;
+    }
+
+    // Abre um span aninhado na thread atual; fechar com end(id) na mesma thread
+    public static void begin(int nameId) {
+        Trace.beginSection(names[nameId]);
+        record(nameId, TYPE_BEGIN, 0);
+    }
+
+    public static void end(int nameId) {
+        record(nameId, TYPE_END, 0);
+        Trace.endSection();
+    }
+
+    // Span que começa e termina em callbacks diferentes (ex.: carga de imagem); o cookie distingue instâncias simultâneas
+    public static void beginAsync(int nameId, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(names[nameId], cookie);
+        }
+        record(nameId, TYPE_ASYNC_BEGIN, cookie);
+    }
+
+    public static void endAsync(int nameId, int cookie) {
+        record(nameId, TYPE_ASYNC_END, cookie);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(names[nameId], cookie);
+        }
+    }
+
+    private static void record(int nameId, int type, int cookie) {
+        int slot = (int) (cursor.getAndIncrement() & MASK);
+        timestamps[slot] = System.nanoTime();
+        events[slot] = nameId << 2 | type;
+        threads[slot] = Thread.currentThread().getId();
+        cookies[slot] = cookie;
+    }
+
+    public interface DumpCallback {
+        // Chamado na thread de I/O; file é null se a gravação falhar
+        void onDumped(File file);
+    }
+
+    // Exporta os eventos atuais para um arquivo que pode ser aberto em ui.perfetto.dev ou chrome://tracing
+    public static void dumpAsync(Context context, DumpCallback callback) {
+        Context appContext = context.getApplicationContext();
+        AppExecutors.getInstance().execute(AppExecutors.Pool.IO, "trace-dump", AppExecutors.Priority.LOW, () -> {
+            File directory = appContext.getExternalFilesDir("traces");
+            if (directory == null) {
+                directory = new File(appContext.getFilesDir(), "traces");
+            }
+            File file = new File(directory, "trace-" + System.currentTimeMillis() + ".json");
+            try {
+                if (!directory.exists() && !directory.mkdirs()) {
+                    throw new IOException("Não foi possível criar " + directory);
+                }
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                    writeChromeTrace(writer);
+                }
+                Log.i(TAG, "Trace gravado em " + file);
+            } catch (IOException e) {
+                Log.e(TAG, "Falha ao gravar o trace", e);
+                file = null;
+            }
+            callback.onDumped(file);
+        });
+    }
+
+    // Formato "Trace Event" do Chrome; a cópia evita que gravações concorrentes embaralhem a exportação
+    public static void writeChromeTrace(Writer writer) throws IOException {
+        long end = cursor.get();
+        long start = Math.max(0, end - CAPACITY);
+        int count = (int) (end - start);
+        long[] copyTimestamps = new long[count];
+        int[] copyEvents = new int[count];
+        long[] copyThreads = new long[count];
+        int[] copyCookies = new int[count];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((start + i) & MASK);
+            copyTimestamps[i] = timestamps[slot];
+            copyEvents[i] = events[slot];
+            copyThreads[i] = threads[slot];
+            copyCookies[i] = cookies[slot];
+        }
+        String[] namesCopy;
+        synchronized (TraceRecorder.class) {
+            namesCopy = names.clone();
+        }
+
+        long mainThread = Looper.getMainLooper().getThread().getId();
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        writer.write("{\"ph\":\"M\",\"name\":\"thread_name\",\"pid\":0,\"tid\":" + mainThread + ",\"args\":{\"name\":\"main\"}}");
+        // Abertura descartada pela volta do buffer: o fechamento correspondente também é omitido
+        Map<Long, Integer> depth = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            int type = copyEvents[i] & 3;
+            String name = namesCopy[copyEvents[i] >>> 2];
+            long thread = copyThreads[i];
+            Integer open = depth.get(thread);
+            int current = open != null ? open : 0;
+            String phase;
+            switch (type) {
+                case TYPE_BEGIN:
+                    depth.put(thread, current + 1);
+                    phase = "B";
+                    break;
+                case TYPE_END:
+                    if (current == 0) {
+                        continue;
+                    }
+                    depth.put(thread, current - 1);
+                    phase = "E";
+                    break;
+                case TYPE_ASYNC_BEGIN:
+                    phase = "b";
+                    break;
+                default:
+                    phase = "e";
+                    break;
+            }
+            writer.write(",{\"ph\":\"" + phase + "\",\"name\":\"" + escape(name) + "\",\"cat\":\"app\",\"pid\":0,\"tid\":" + thread
+                    + ",\"ts\":" + (copyTimestamps[i] / 1000) + "." + String.format(Locale.ROOT, "%03d", copyTimestamps[i] % 1000));
+            if (type == TYPE_ASYNC_BEGIN || type == TYPE_ASYNC_END) {
+                writer.write(",\"id\":" + copyCookies[i]);
+            }
+            writer.write("}");
+        }
+        writer.write("]}");
+    }
+
+    // Total de eventos gravados desde o início do processo, incluindo os já sobrescritos
+    public static long getRecordedCount() {
+        return cursor.get();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
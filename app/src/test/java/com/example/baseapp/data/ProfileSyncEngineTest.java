@@ -0,0 +1,308 @@
+package com.example.baseapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.baseapp.testing.FakeHttpServer;
+import com.example.baseapp.testing.MemoryStorage;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Sincronização do perfil contra um servidor HTTP falso no próprio processo: edições do mesmo campo
+ * agrupadas, lotes repetidos com a mesma chave de idempotência, recuo exponencial em falhas de rede
+ * e resolução de conflitos pelos vetores de versão.
+ */
+public class ProfileSyncEngineTest {
+
+    private static final String DEVICE = "aparelho";
+    private static final String OTHER = "outro";
+
+    private FakeSyncServer server;
+    private MemoryStorage storage;
+    private ProfileOutbox outbox;
+    private List<String> applied;
+    private ProfileSyncEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new FakeSyncServer();
+        storage = new MemoryStorage();
+        applied = new ArrayList<>();
+        outbox = new ProfileOutbox(storage, DEVICE);
+        engine = newEngine(outbox);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    private ProfileSyncEngine newEngine(ProfileOutbox target) {
+        return new ProfileSyncEngine(server.url(), DEVICE, target,
+                (field, value) -> applied.add(field + "=" + value), new Random(7));
+    }
+
+    @Test
+    public void editsToTheSameFieldAreMergedIntoOneChange() throws JSONException {
+        outbox.record("name", "Ana", 100);
+        outbox.record("name", "Ana Maria", 200);
+        outbox.record("email", "ana@exemplo.com", 300);
+
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce("token"));
+
+        assertEquals(1, server.requests.size());
+        JSONArray changes = server.requests.get(0).getJSONArray("changes");
+        assertEquals(2, changes.length());
+        assertEquals("Ana Maria", changes.getJSONObject(0).getString("value"));
+        assertEquals(2, changes.getJSONObject(0).getJSONObject("vector").getLong(DEVICE));
+        assertEquals("Bearer token", server.http.getAuthorizations().get(0));
+        assertEquals("Ana Maria", server.fields.get("name").value);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void lostResponseIsRetriedWithTheSameKeyAndAppliedOnce() {
+        outbox.record("name", "Ana", 100);
+        server.faults.add(Fault.DROP_AFTER_PROCESSING);
+
+        long delay = engine.syncOnce(null);
+        assertTrue(delay >= ProfileSyncEngine.BASE_BACKOFF_MS / 2 && delay <= ProfileSyncEngine.BASE_BACKOFF_MS);
+        assertEquals("Ana", outbox.getPendingValue("name"));
+
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+        assertEquals(2, server.keys.size());
+        assertEquals(server.keys.get(0), server.keys.get(1));
+        assertEquals(1, server.writes);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void backoffGrowsWithConsecutiveFailures() {
+        outbox.record("name", "Ana", 100);
+        server.faults.add(Fault.DROP_CONNECTION);
+        server.faults.add(Fault.SERVER_ERROR);
+        server.faults.add(Fault.SERVER_ERROR);
+
+        long base = ProfileSyncEngine.BASE_BACKOFF_MS;
+        long first = engine.syncOnce(null);
+        long second = engine.syncOnce(null);
+        long third = engine.syncOnce(null);
+        assertTrue(first >= base / 2 && first <= base);
+        assertTrue(second >= base && second <= 2 * base);
+        assertTrue(third >= 2 * base && third <= 4 * base);
+
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+        assertEquals(1, new HashSet<>(server.keys).size());
+        assertEquals(1, server.writes);
+    }
+
+    @Test
+    public void retryAfterHeaderIsHonored() {
+        outbox.record("name", "Ana", 100);
+        server.faults.add(Fault.TOO_MANY_REQUESTS);
+
+        assertTrue(engine.syncOnce(null) >= 30_000);
+        assertEquals("Ana", outbox.getPendingValue("name"));
+    }
+
+    @Test
+    public void rejectedBatchIsDropped() {
+        outbox.record("name", "Ana", 100);
+        server.faults.add(Fault.BAD_REQUEST);
+
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+        assertTrue(outbox.isEmpty());
+        assertEquals(0, server.writes);
+    }
+
+    @Test
+    public void newerConcurrentServerValueWins() {
+        server.seed("name", "Servidor", VersionVector.EMPTY.increment(OTHER), 500);
+        outbox.record("name", "Local", 100);
+
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+
+        assertEquals(Collections.singletonList("name=Servidor"), applied);
+        assertEquals("Servidor", server.fields.get("name").value);
+        VersionVector known = outbox.getKnownVersion("name");
+        assertEquals(1, known.get(DEVICE));
+        assertEquals(1, known.get(OTHER));
+    }
+
+    @Test
+    public void newerConcurrentLocalValueIsResentAfterTheServerVersion() {
+        server.seed("name", "Servidor", VersionVector.EMPTY.increment(OTHER), 100);
+        outbox.record("name", "Local", 500);
+
+        assertEquals(0, engine.syncOnce(null));
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+
+        assertTrue(applied.isEmpty());
+        FakeSyncServer.Stored stored = server.fields.get("name");
+        assertEquals("Local", stored.value);
+        assertEquals(VersionVector.Order.AFTER,
+                stored.vector.compare(VersionVector.EMPTY.increment(OTHER).increment(DEVICE)));
+        assertNotEquals(server.keys.get(0), server.keys.get(1));
+    }
+
+    @Test
+    public void editDuringUploadGoesInTheNextBatch() throws JSONException {
+        outbox.record("name", "Ana", 100);
+        server.onRequest = () -> outbox.record("name", "Ana Maria", 200);
+
+        assertEquals(0, engine.syncOnce(null));
+        server.onRequest = null;
+        assertEquals(ProfileSyncEngine.IDLE, engine.syncOnce(null));
+
+        JSONObject second = server.requests.get(1).getJSONArray("changes").getJSONObject(0);
+        assertEquals("Ana Maria", second.getString("value"));
+        assertEquals(2, second.getJSONObject("vector").getLong(DEVICE));
+        assertEquals("Ana Maria", server.fields.get("name").value);
+        assertTrue(outbox.isEmpty());
+    }
+
+    @Test
+    public void unsentBatchSurvivesRestartWithItsKey() {
+        outbox.record("name", "Ana", 100);
+        server.faults.add(Fault.DROP_CONNECTION);
+        engine.syncOnce(null);
+
+        // Novo processo: fila relida do armazenamento
+        ProfileOutbox restored = new ProfileOutbox(storage, DEVICE);
+        assertEquals("Ana", restored.getPendingValue("name"));
+        assertEquals(ProfileSyncEngine.IDLE, newEngine(restored).syncOnce(null));
+
+        assertEquals(server.keys.get(0), server.keys.get(1));
+        assertNull(restored.getPendingValue("name"));
+        assertEquals(1, server.writes);
+    }
+
+    private enum Fault {
+        // Conexão fechada antes de processar o lote
+        DROP_CONNECTION,
+        // Lote gravado, mas a resposta se perde
+        DROP_AFTER_PROCESSING,
+        SERVER_ERROR,
+        TOO_MANY_REQUESTS,
+        BAD_REQUEST
+    }
+
+    // Servidor de sincronização mínimo: grava um campo se a versão recebida conhece a guardada, senão responde
+    // conflito; respostas guardadas por chave de idempotência
+    private static final class FakeSyncServer {
+        final FakeHttpServer http;
+        final Map<String, Stored> fields = new HashMap<>();
+        final Map<String, String> responses = new HashMap<>();
+        final List<JSONObject> requests = new ArrayList<>();
+        final List<String> keys = new ArrayList<>();
+        final Deque<Fault> faults = new ArrayDeque<>();
+        volatile Runnable onRequest;
+        int writes;
+
+        FakeSyncServer() throws IOException {
+            http = new FakeHttpServer("/profile/sync", this::handle);
+        }
+
+        URL url() {
+            return http.url("/profile/sync");
+        }
+
+        void stop() {
+            http.stop();
+        }
+
+        void seed(String field, String value, VersionVector vector, long editedAt) {
+            fields.put(field, new Stored(value, vector, editedAt));
+        }
+
+        private void handle(FakeHttpServer.Exchange exchange) throws IOException, JSONException {
+            String body = exchange.bodyText();
+            String key = exchange.header("Idempotency-Key");
+            keys.add(key);
+            Runnable hook = onRequest;
+            if (hook != null) {
+                hook.run();
+            }
+            Fault fault = faults.poll();
+            if (fault == Fault.DROP_CONNECTION) {
+                exchange.drop();
+                return;
+            }
+            if (fault == Fault.SERVER_ERROR || fault == Fault.BAD_REQUEST) {
+                exchange.respond(fault == Fault.SERVER_ERROR ? 500 : 400);
+                return;
+            }
+            if (fault == Fault.TOO_MANY_REQUESTS) {
+                exchange.withHeader("Retry-After", "30").respond(429);
+                return;
+            }
+            String response = responses.get(key);
+            if (response == null) {
+                JSONObject request = new JSONObject(body);
+                requests.add(request);
+                response = process(request);
+                responses.put(key, response);
+            }
+            if (fault == Fault.DROP_AFTER_PROCESSING) {
+                exchange.drop();
+                return;
+            }
+            exchange.respond(200, response);
+        }
+
+        private String process(JSONObject request) throws JSONException {
+            JSONArray changes = request.getJSONArray("changes");
+            JSONArray results = new JSONArray();
+            for (int i = 0; i < changes.length(); i++) {
+                JSONObject change = changes.getJSONObject(i);
+                String field = change.getString("field");
+                VersionVector incoming = VersionVector.fromJson(change.getJSONObject("vector"));
+                Stored stored = fields.get(field);
+                VersionVector.Order order = stored != null ? incoming.compare(stored.vector) : VersionVector.Order.AFTER;
+                if (order == VersionVector.Order.AFTER || order == VersionVector.Order.EQUAL) {
+                    fields.put(field, new Stored(change.getString("value"), incoming, change.getLong("editedAt")));
+                    writes++;
+                    results.put(new JSONObject().put("field", field).put("status", "applied")
+                            .put("vector", incoming.toJson()));
+                } else {
+                    results.put(new JSONObject().put("field", field).put("status", "conflict")
+                            .put("value", stored.value).put("vector", stored.vector.toJson())
+                            .put("editedAt", stored.editedAt));
+                }
+            }
+            return new JSONObject().put("results", results).toString();
+        }
+
+        static final class Stored {
+            final String value;
+            final VersionVector vector;
+            final long editedAt;
+
+            Stored(String value, VersionVector vector, long editedAt) {
+                this.value = value;
+                this.vector = vector;
+                this.editedAt = editedAt;
+            }
+        }
+    }
+}
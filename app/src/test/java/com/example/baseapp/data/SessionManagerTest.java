@@ -0,0 +1,70 @@
+package com.example.baseapp.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Claims do ID token (exp, sub, email, name) e o estado da sessão ao longo do tempo: ativa, perto de
+ * vencer (margem de renovação), vencida, e tokens ilegíveis tratados como vencidos.
+ */
+public class SessionManagerTest {
+
+    private static final long EXP_SECONDS = 1_700_000_000L;
+    private static final long EXP_MILLIS = EXP_SECONDS * 1000;
+    private static final String CLAIMS = "{\"exp\":" + EXP_SECONDS + ",\"sub\":\"1234\","
+            + "\"email\":\"ana@exemplo.com\",\"name\":\"Ana\"}";
+
+    @Test
+    public void claimsAreReadFromThePayload() {
+        SessionManager.Session session = SessionManager.Session.fromClaims("token", CLAIMS, null);
+
+        assertEquals("token", session.getIdToken());
+        assertEquals(EXP_MILLIS, session.getExpiresAtMillis());
+        assertEquals("1234", session.getSubject());
+        assertEquals("ana@exemplo.com", session.getEmail());
+        assertEquals("Ana", session.getName());
+    }
+
+    @Test
+    public void nameEditedInTheProfileWinsOverTheClaim() {
+        SessionManager.Session session = SessionManager.Session.fromClaims("token", CLAIMS, "Ana Maria");
+
+        assertEquals("Ana Maria", session.getName());
+    }
+
+    @Test
+    public void missingClaimsAreNull() {
+        SessionManager.Session session = SessionManager.Session.fromClaims("token", "{\"exp\":10}", null);
+
+        assertEquals(10_000, session.getExpiresAtMillis());
+        assertNull(session.getSubject());
+        assertNull(session.getEmail());
+        assertNull(session.getName());
+    }
+
+    @Test
+    public void unreadableTokensAreExpired() {
+        SessionManager.Session notJson = SessionManager.Session.fromClaims("token", "{exp", "Ana");
+        SessionManager.Session noPayload = SessionManager.Session.parse("sem-pontos", null);
+
+        assertEquals(0, notJson.getExpiresAtMillis());
+        assertEquals("Ana", notJson.getName());
+        assertEquals(0, noPayload.getExpiresAtMillis());
+        assertEquals(SessionManager.State.EXPIRED, SessionManager.stateAt(notJson, 1));
+        assertEquals(SessionManager.State.EXPIRED, SessionManager.stateAt(noPayload, 1));
+    }
+
+    @Test
+    public void stateFollowsTheExpiry() {
+        SessionManager.Session session = SessionManager.Session.fromClaims("token", CLAIMS, null);
+        long refreshAt = EXP_MILLIS - SessionManager.REFRESH_MARGIN_MS;
+
+        assertEquals(SessionManager.State.ACTIVE, SessionManager.stateAt(session, refreshAt - 1));
+        assertEquals(SessionManager.State.EXPIRING, SessionManager.stateAt(session, refreshAt));
+        assertEquals(SessionManager.State.EXPIRING, SessionManager.stateAt(session, EXP_MILLIS - 1));
+        assertEquals(SessionManager.State.EXPIRED, SessionManager.stateAt(session, EXP_MILLIS));
+        assertEquals(SessionManager.State.SIGNED_OUT, SessionManager.stateAt(null, EXP_MILLIS));
+    }
+}
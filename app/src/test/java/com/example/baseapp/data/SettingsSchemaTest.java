@@ -0,0 +1,241 @@
+package com.example.baseapp.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.example.baseapp.data.PreferencesStore.Key;
+import com.example.baseapp.model.BooleanSettingItem;
+import com.example.baseapp.model.EnumSettingItem;
+import com.example.baseapp.model.IntSettingItem;
+import com.example.baseapp.model.SettingItem;
+import com.example.baseapp.model.SettingSection;
+import com.example.baseapp.model.StringSettingItem;
+
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+/**
+ * Leitura do esquema de configurações: cada tipo de elemento vira a entrada certa ligada à chave de
+ * PrefKeys, e intervalos, listas e chaves inconsistentes são recusados. O settings_schema.xml do app
+ * também precisa resolver todas as suas chaves.
+ */
+public class SettingsSchemaTest {
+
+    private static final Key<Boolean> SOUNDS = new Key<>(PreferencesStore.FILE_APP, "sounds", Boolean.class, true);
+    private static final Key<Integer> TEXT_SIZE = new Key<>(PreferencesStore.FILE_APP, "text_size", Integer.class, 14);
+    private static final Key<String> LANGUAGE = new Key<>(PreferencesStore.FILE_APP, "language", String.class, "pt");
+    private static final Key<String> NICKNAME = new Key<>(PreferencesStore.FILE_APP, "nickname", String.class, "");
+
+    private static final Map<String, Key<?>> KEYS = keys(SOUNDS, TEXT_SIZE, LANGUAGE, NICKNAME);
+    private static final String[] LABELS = {"Português", "English"};
+    private static final String[] VALUES = {"pt", "en"};
+
+    @Test
+    public void eachItemTypeResolvesToItsKey() {
+        SettingsSchema schema = new SettingsSchema(Arrays.asList(
+                parse("section", attrs("key", "general", "title", "Geral")),
+                parse("boolean", attrs("key", "sounds", "title", "Sons", "description", "Tocar sons")),
+                parse("int", attrs("key", "text_size", "title", "Texto", "min", "8", "max", "32")),
+                parse("enum", attrs("key", "language", "title", "Idioma")
+                        .withArray("entries", LABELS).withArray("entryValues", VALUES)),
+                parse("string", attrs("key", "nickname", "title", "Apelido"))), "pt_BR");
+
+        List<SettingItem> items = schema.buildItems(snapshot("text_size", 40, "language", "en"));
+
+        assertEquals("Geral", ((SettingSection) items.get(0)).getTitle());
+        assertEquals(true, ((BooleanSettingItem) items.get(1)).getValue());
+        assertEquals("Tocar sons", items.get(1).getDescription());
+        IntSettingItem textSize = (IntSettingItem) items.get(2);
+        assertEquals(8, textSize.getMin());
+        assertEquals(32, textSize.getMax());
+        // Valor salvo fora do intervalo é limitado ao máximo
+        assertEquals(32, textSize.getIntValue());
+        EnumSettingItem language = (EnumSettingItem) items.get(3);
+        assertEquals("en", language.getStringValue());
+        assertArrayEquals(LABELS, language.getLabels());
+        assertArrayEquals(VALUES, language.getValues());
+        assertEquals("", ((StringSettingItem) items.get(4)).getValue());
+    }
+
+    @Test
+    public void itemsAreWrittenToTheResolvedKey() {
+        SettingsSchema.Entry entry = parse("int", attrs("key", "text_size", "min", "8", "max", "32"));
+
+        assertSame(TEXT_SIZE, entry.prefKey);
+        assertNull(entry.labels);
+    }
+
+    @Test
+    public void intWithoutBoundsAcceptsAnyValue() {
+        SettingsSchema.Entry entry = parse("int", attrs("key", "text_size"));
+
+        assertEquals(Integer.MIN_VALUE, entry.min);
+        assertEquals(Integer.MAX_VALUE, entry.max);
+    }
+
+    @Test
+    public void invalidIntBoundsAreRejected() {
+        assertRejected("int", attrs("key", "text_size", "min", "32", "max", "8"));
+        // Padrão da chave (14) fora do intervalo
+        assertRejected("int", attrs("key", "text_size", "min", "16", "max", "32"));
+        assertRejected("int", attrs("key", "text_size", "min", "oito"));
+    }
+
+    @Test
+    public void invalidEnumEntriesAreRejected() {
+        assertRejected("enum", attrs("key", "language").withArray("entryValues", VALUES));
+        assertRejected("enum", attrs("key", "language")
+                .withArray("entries", new String[]{"Português"}).withArray("entryValues", VALUES));
+        assertRejected("enum", attrs("key", "language")
+                .withArray("entries", new String[0]).withArray("entryValues", new String[0]));
+        // Padrão da chave ("pt") ausente de entryValues
+        assertRejected("enum", attrs("key", "language")
+                .withArray("entries", LABELS).withArray("entryValues", new String[]{"en", "es"}));
+    }
+
+    @Test
+    public void keysMustExistInPrefKeysWithTheSameType() {
+        assertRejected("boolean", attrs("key", "unknown"));
+        assertRejected("boolean", attrs("key", "text_size"));
+        assertRejected("string", attrs("key", "sounds"));
+        assertRejected("int", attrs("key", "language"));
+    }
+
+    @Test
+    public void malformedElementsAreRejected() {
+        assertRejected("boolean", attrs("title", "Sem key"));
+        assertRejected("boolean", attrs("key", "sounds", "defaultValue", "false"));
+        assertRejected("color", attrs("key", "sounds"));
+    }
+
+    @Test
+    public void shippedSchemaResolvesAgainstPrefKeys() throws Exception {
+        Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new File("src/main/res/xml/settings_schema.xml")).getDocumentElement();
+        List<SettingsSchema.Entry> entries = new ArrayList<>();
+        collect(root, entries);
+
+        List<String> keys = new ArrayList<>();
+        for (SettingsSchema.Entry entry : entries) {
+            if (entry.prefKey != null) {
+                assertSame(PrefKeys.SETTINGS.get(entry.key), entry.prefKey);
+                keys.add(entry.key);
+            }
+        }
+        assertEquals(Arrays.asList("notifications_enabled", "theme_selection"), keys);
+    }
+
+    private static void collect(Element element, List<SettingsSchema.Entry> entries) {
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element) {
+                Element childElement = (Element) child;
+                entries.add(SettingsSchema.parseEntry(childElement.getTagName(), new ElementAttributes(childElement),
+                        PrefKeys.SETTINGS));
+                collect(childElement, entries);
+            }
+        }
+    }
+
+    private static SettingsSchema.Entry parse(String type, MapAttributes attributes) {
+        return SettingsSchema.parseEntry(type, attributes, KEYS);
+    }
+
+    private static void assertRejected(String type, MapAttributes attributes) {
+        try {
+            parse(type, attributes);
+            fail("Esperava IllegalStateException para <" + type + "> " + attributes.values);
+        } catch (IllegalStateException expected) {
+            // esperado
+        }
+    }
+
+    private static PreferencesStore.Snapshot snapshot(Object... namesAndValues) {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            values.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return PreferencesStore.Snapshot.EMPTY.withFile(PreferencesStore.FILE_APP, values);
+    }
+
+    private static Map<String, Key<?>> keys(Key<?>... keys) {
+        Map<String, Key<?>> byName = new HashMap<>();
+        for (Key<?> key : keys) {
+            byName.put(key.getName(), key);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    private static MapAttributes attrs(String... namesAndValues) {
+        MapAttributes attributes = new MapAttributes();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            attributes.values.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return attributes;
+    }
+
+    private static final class MapAttributes implements SettingsSchema.Attributes {
+        final Map<String, String> values = new HashMap<>();
+        final Map<String, String[]> arrays = new HashMap<>();
+
+        MapAttributes withArray(String name, String[] array) {
+            arrays.put(name, array);
+            return this;
+        }
+
+        @Override
+        public String text(String name) {
+            return values.get(name);
+        }
+
+        @Override
+        public String[] array(String name) {
+            return arrays.get(name);
+        }
+
+        @Override
+        public String position() {
+            return "no teste";
+        }
+    }
+
+    // Referências (@string/...) ficam como texto; o esquema do app não usa arrays
+    private static final class ElementAttributes implements SettingsSchema.Attributes {
+        private final Element element;
+
+        ElementAttributes(Element element) {
+            this.element = element;
+        }
+
+        @Override
+        public String text(String name) {
+            return element.hasAttribute(name) ? element.getAttribute(name) : null;
+        }
+
+        @Override
+        public String[] array(String name) {
+            return null;
+        }
+
+        @Override
+        public String position() {
+            return "em <" + element.getTagName() + ">";
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.baseapp.data;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Busca nas configurações: prefixos de palavras, trechos no meio das palavras (trigramas), acentos e
+ * maiúsculas ignorados, todos os termos obrigatórios e título valendo mais que descrição.
+ */
+public class SettingsSearchIndexTest {
+
+    private static final List<String> TITLES = Arrays.asList(
+            "Notificações",
+            null,
+            "Modo Escuro",
+            "Tema do Aplicativo",
+            "Sons");
+    private static final List<String> DESCRIPTIONS = Arrays.asList(
+            "Receber alertas e lembretes",
+            "Aparência",
+            "Tema escuro para a noite",
+            "Escolha cores claras ou escuras",
+            "Sons das notificações");
+
+    private final SettingsSearchIndex index = new SettingsSearchIndex(TITLES, DESCRIPTIONS);
+
+    @Test
+    public void prefixOfAWordMatches() {
+        assertArrayEquals(new int[]{0, 4}, index.search("notif"));
+        assertArrayEquals(new int[]{4}, index.search("so"));
+    }
+
+    @Test
+    public void accentsAndCaseAreIgnored() {
+        assertArrayEquals(index.search("notificações"), index.search("NOTIFICACOES"));
+        assertArrayEquals(new int[]{0, 4}, index.search("Notificacoes"));
+    }
+
+    @Test
+    public void titleRanksAboveDescription() {
+        // "Modo Escuro" tem o termo no título; "Tema do Aplicativo" só na descrição
+        assertArrayEquals(new int[]{2, 3}, index.search("escur"));
+        // Primeira palavra do título vale mais que as seguintes
+        assertArrayEquals(new int[]{3, 2}, index.search("tema"));
+    }
+
+    @Test
+    public void substringInsideAWordMatchesThroughTrigrams() {
+        // No título de "Notificações" e na descrição de "Sons"
+        assertArrayEquals(new int[]{0, 4}, index.search("ficac"));
+        assertArrayEquals(new int[]{0}, index.search("embret"));
+    }
+
+    @Test
+    public void everyTermMustMatch() {
+        assertArrayEquals(new int[]{2}, index.search("tema noite"));
+        assertArrayEquals(new int[0], index.search("tema sons"));
+    }
+
+    @Test
+    public void hiddenDocumentsAndBlankQueriesReturnNothing() {
+        // O documento 1 é uma seção: sem título, fora da busca
+        assertArrayEquals(new int[0], index.search("aparencia"));
+        assertArrayEquals(new int[0], index.search("   "));
+        assertArrayEquals(new int[0], index.search("xyz"));
+    }
+}
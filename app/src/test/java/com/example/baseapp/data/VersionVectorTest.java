@@ -0,0 +1,59 @@
+package com.example.baseapp.data;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Ordem entre vetores de versão (anterior, posterior, concorrente), junção e ida e volta pelo JSON.
+ */
+public class VersionVectorTest {
+
+    private static final VersionVector A1 = VersionVector.EMPTY.increment("a");
+    private static final VersionVector B1 = VersionVector.EMPTY.increment("b");
+
+    @Test
+    public void incrementIsAfterTheOriginal() {
+        VersionVector a2 = A1.increment("a");
+
+        assertEquals(2, a2.get("a"));
+        assertEquals(1, A1.get("a"));
+        assertEquals(VersionVector.Order.AFTER, a2.compare(A1));
+        assertEquals(VersionVector.Order.BEFORE, A1.compare(a2));
+    }
+
+    @Test
+    public void writesThatNeverSawEachOtherAreConcurrent() {
+        assertEquals(VersionVector.Order.CONCURRENT, A1.compare(B1));
+        // Os dois partiram de A1 e editaram sem sincronizar
+        assertEquals(VersionVector.Order.CONCURRENT, A1.increment("a").compare(A1.increment("b")));
+    }
+
+    @Test
+    public void mergeKnowsBothSides() {
+        VersionVector merged = A1.merge(B1.increment("b"));
+
+        assertEquals(1, merged.get("a"));
+        assertEquals(2, merged.get("b"));
+        assertEquals(VersionVector.Order.AFTER, merged.compare(A1));
+        assertEquals(VersionVector.Order.AFTER, merged.compare(B1));
+        assertEquals(VersionVector.Order.AFTER, merged.increment("a").compare(merged));
+    }
+
+    @Test
+    public void missingNodesCountAsZero() {
+        assertEquals(VersionVector.Order.EQUAL, VersionVector.EMPTY.compare(VersionVector.fromJson(null)));
+        assertEquals(VersionVector.Order.AFTER, A1.compare(VersionVector.EMPTY));
+        assertEquals(0, A1.get("b"));
+    }
+
+    @Test
+    public void jsonRoundTripKeepsTheCounters() {
+        VersionVector original = A1.increment("a").merge(B1);
+
+        VersionVector restored = VersionVector.fromJson(original.toJson());
+
+        assertEquals(original, restored);
+        assertEquals(VersionVector.Order.EQUAL, original.compare(restored));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.baseapp.testing;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servidor HTTP no próprio processo para os testes de rede. Conta as requisições e guarda o cabeçalho
+ * Authorization de cada uma; o que responder fica com o Handler de cada teste, que também decide quando
+ * derrubar a conexão. As requisições são atendidas uma de cada vez.
+ */
+public final class FakeHttpServer {
+
+    public interface Handler {
+        void handle(Exchange exchange) throws IOException, JSONException;
+    }
+
+    private final HttpServer http;
+    private final Handler handler;
+    private final List<String> authorizations = new ArrayList<>();
+    private int requestCount;
+
+    public FakeHttpServer(String contextPath, Handler handler) throws IOException {
+        this.handler = handler;
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        http.createContext(contextPath, this::dispatch);
+        http.start();
+    }
+
+    public URL url(String path) {
+        try {
+            return new URL("http://127.0.0.1:" + http.getAddress().getPort() + path);
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void stop() {
+        http.stop(0);
+    }
+
+    public synchronized int getRequestCount() {
+        return requestCount;
+    }
+
+    public synchronized List<String> getAuthorizations() {
+        return new ArrayList<>(authorizations);
+    }
+
+    private synchronized void dispatch(HttpExchange exchange) throws IOException {
+        requestCount++;
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        try {
+            handler.handle(new Exchange(exchange));
+        } catch (JSONException e) {
+            throw new IOException(e);
+        }
+    }
+
+    public static final class Exchange {
+        private final HttpExchange exchange;
+
+        Exchange(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        // Segmentos do caminho; o primeiro é vazio
+        public String[] path() {
+            return exchange.getRequestURI().getPath().split("/");
+        }
+
+        public String header(String name) {
+            return exchange.getRequestHeaders().getFirst(name);
+        }
+
+        public byte[] body() throws IOException {
+            return read(-1);
+        }
+
+        public String bodyText() throws IOException {
+            return new String(read(-1), StandardCharsets.UTF_8);
+        }
+
+        // Lê só os primeiros bytes do corpo e fecha sem resposta: a conexão cai no meio do envio
+        public void dropAfter(int bytes) throws IOException {
+            read(bytes);
+            exchange.close();
+        }
+
+        // Fecha sem resposta
+        public void drop() {
+            exchange.close();
+        }
+
+        public Exchange withHeader(String name, String value) {
+            exchange.getResponseHeaders().add(name, value);
+            return this;
+        }
+
+        public void respond(int code) throws IOException {
+            exchange.sendResponseHeaders(code, -1);
+            exchange.close();
+        }
+
+        public void respond(int code, String body) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+
+        // limit -1 lê tudo
+        private byte[] read(int limit) throws IOException {
+            InputStream in = exchange.getRequestBody();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((limit < 0 || out.size() < limit) && (read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.baseapp.testing;
+
+import com.example.baseapp.data.ProfileOutbox;
+import com.example.baseapp.utils.ChunkedUploader;
+
+/**
+ * Armazenamento em memória no lugar das preferências: o conteúdo sobrevive a um novo ProfileOutbox ou
+ * ChunkedUploader criado no mesmo teste, como se o app tivesse reiniciado.
+ */
+public final class MemoryStorage implements ProfileOutbox.Storage, ChunkedUploader.Storage {
+    private String json;
+
+    @Override
+    public String read() {
+        return json;
+    }
+
+    @Override
+    public void write(String json) {
+        this.json = json;
+    }
+
+    public String getJson() {
+        return json;
+    }
+}
@@ -0,0 +1,345 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.baseapp.testing.FakeHttpServer;
+import com.example.baseapp.testing.MemoryStorage;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Envio em pedaços contra um servidor HTTP falso no próprio processo: conexões que caem no meio do pedaço,
+ * retomada a partir do último pedaço confirmado, conteúdo que o servidor já tem e limite em rede tarifada.
+ * As esperas pedidas pelo uploader entre os passos são anotadas em vez de cumpridas.
+ */
+public class ChunkedUploaderTest {
+
+    private static final int CHUNK = 4096;
+
+    private FakeUploadServer server;
+    private MemoryStorage storage;
+    private List<Long> delays;
+    private boolean metered;
+    private File file;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new FakeUploadServer();
+        storage = new MemoryStorage();
+        delays = new ArrayList<>();
+        content = new byte[CHUNK * 2 + 1000];
+        new Random(3).nextBytes(content);
+        file = File.createTempFile("avatar", ".webp");
+        write(file, content);
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+        file.delete();
+    }
+
+    // Um uploader novo por chamada, como um processo novo: só o progresso gravado sobrevive
+    private ChunkedUploader.Result upload(String authToken, ChunkedUploader.ProgressListener listener)
+            throws IOException {
+        ChunkedUploader uploader = new ChunkedUploader(server.url(), CHUNK, storage, () -> metered);
+        ChunkedUploader.Result result;
+        while ((result = uploader.step(file, authToken, listener)) == ChunkedUploader.Result.IN_PROGRESS) {
+            if (uploader.getDelayMs() > 0) {
+                delays.add(uploader.getDelayMs());
+            }
+        }
+        return result;
+    }
+
+    private ChunkedUploader.Result upload() throws IOException {
+        return upload(null, null);
+    }
+
+    @Test
+    public void fileArrivesInFixedSizeChunksWithChecksums() throws Exception {
+        List<Long> progress = new ArrayList<>();
+
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload("token", (sent, total) -> progress.add(sent)));
+
+        assertEquals(3, server.chunkRequests.size());
+        assertEquals(3, server.checksums.size());
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+        assertEquals((long) content.length, (long) progress.get(progress.size() - 1));
+        assertEquals("Bearer token", server.http.getAuthorizations().get(0));
+        assertTrue(delays.isEmpty());
+    }
+
+    @Test
+    public void droppedConnectionRepeatsOnlyThatChunk() throws Exception {
+        server.faultsByChunk.put(1, faults(Fault.DROP_MID_CHUNK));
+
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+
+        assertEquals(List.of(0, 1, 1, 2), server.chunkRequests);
+        assertEquals(List.of(ChunkedUploader.BASE_RETRY_MS), delays);
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+    }
+
+    @Test
+    public void interruptedUploadResumesFromTheLastAcknowledgedChunk() throws Exception {
+        server.faultsByChunk.put(1, dropEveryAttempt());
+
+        assertEquals(ChunkedUploader.Result.INTERRUPTED, upload());
+        assertNull(server.stored.get(ChunkedUploader.hashFile(file)));
+
+        // Novo processo: só o progresso gravado sobrevive
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+
+        assertEquals(1, server.sessionsCreated);
+        assertEquals(1, count(server.chunkRequests, 0));
+        assertEquals(2, (int) server.chunkRequests.get(server.chunkRequests.size() - 1));
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+    }
+
+    @Test
+    public void corruptedChunkIsSentAgain() throws Exception {
+        server.faultsByChunk.put(0, faults(Fault.CORRUPT));
+
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+
+        assertEquals(List.of(0, 0, 1, 2), server.chunkRequests);
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+    }
+
+    @Test
+    public void contentAlreadyOnTheServerIsNotSent() throws Exception {
+        server.stored.put(ChunkedUploader.hashFile(file), content);
+
+        assertEquals(ChunkedUploader.Result.ALREADY_ON_SERVER, upload());
+        assertTrue(server.chunkRequests.isEmpty());
+
+        // Já confirmado: nem a verificação é repetida
+        int requests = server.http.getRequestCount();
+        assertEquals(ChunkedUploader.Result.ALREADY_ON_SERVER, upload());
+        assertEquals(requests, server.http.getRequestCount());
+    }
+
+    @Test
+    public void uploadedFileIsNotSentTwice() throws Exception {
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+        int requests = server.http.getRequestCount();
+
+        assertEquals(ChunkedUploader.Result.ALREADY_ON_SERVER, upload());
+
+        assertEquals(requests, server.http.getRequestCount());
+    }
+
+    @Test
+    public void changedFileStartsANewSession() throws Exception {
+        server.faultsByChunk.put(1, dropEveryAttempt());
+        assertEquals(ChunkedUploader.Result.INTERRUPTED, upload());
+
+        content[0]++;
+        write(file, content);
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+
+        assertEquals(2, server.sessionsCreated);
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+    }
+
+    @Test
+    public void lostSessionStartsOverOnTheNextCall() throws Exception {
+        server.faultsByChunk.put(1, faults(Fault.FORGET_SESSION));
+
+        assertEquals(ChunkedUploader.Result.INTERRUPTED, upload());
+        assertNull(storage.getJson());
+
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+        assertEquals(2, server.sessionsCreated);
+        assertArrayEquals(content, server.stored.get(ChunkedUploader.hashFile(file)));
+    }
+
+    @Test
+    public void meteredNetworkWaitsBetweenChunks() throws Exception {
+        metered = true;
+
+        assertEquals(ChunkedUploader.Result.UPLOADED, upload());
+
+        // Esperas entre os pedaços, nunca além do tempo que um pedaço levaria no limite
+        assertFalse(delays.isEmpty());
+        long budget = CHUNK * 1000L / ChunkedUploader.METERED_BYTES_PER_SECOND;
+        for (long delay : delays) {
+            assertTrue(delay <= budget);
+        }
+    }
+
+    private static Deque<Fault> faults(Fault... faults) {
+        Deque<Fault> deque = new ArrayDeque<>();
+        for (Fault fault : faults) {
+            deque.add(fault);
+        }
+        return deque;
+    }
+
+    // Derruba todas as tentativas de um pedaço numa mesma chamada
+    private static Deque<Fault> dropEveryAttempt() {
+        Fault[] drops = new Fault[ChunkedUploader.MAX_ATTEMPTS];
+        Arrays.fill(drops, Fault.DROP_MID_CHUNK);
+        return faults(drops);
+    }
+
+    private static int count(List<Integer> values, int value) {
+        int count = 0;
+        for (int v : values) {
+            if (v == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void write(File file, byte[] bytes) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+    }
+
+    private enum Fault {
+        // Metade do pedaço lida e a conexão fechada, sem resposta
+        DROP_MID_CHUNK,
+        // Pedaço chegou com bytes trocados: o checksum não confere
+        CORRUPT,
+        // O servidor descartou a sessão (ex.: expirou)
+        FORGET_SESSION
+    }
+
+    // Servidor de envio mínimo: sessões por hash, pedaços conferidos pelo SHA-256 e aceitos só na ordem,
+    // arquivo inteiro conferido na conclusão
+    private static final class FakeUploadServer {
+        final FakeHttpServer http;
+        final Map<String, byte[]> stored = new HashMap<>();
+        final Map<String, Session> sessions = new HashMap<>();
+        final Map<Integer, Deque<Fault>> faultsByChunk = new HashMap<>();
+        final List<Integer> chunkRequests = new ArrayList<>();
+        final Set<String> checksums = new HashSet<>();
+        int sessionsCreated;
+
+        FakeUploadServer() throws IOException {
+            http = new FakeHttpServer("/avatar/uploads", this::handle);
+        }
+
+        URL url() {
+            return http.url("/avatar/");
+        }
+
+        void stop() {
+            http.stop();
+        }
+
+        private void handle(FakeHttpServer.Exchange exchange) throws IOException, JSONException {
+            String[] path = exchange.path();
+            if (path.length == 3) {
+                create(exchange);
+            } else if (path.length == 6 && "chunks".equals(path[4])) {
+                chunk(exchange, path[3], Integer.parseInt(path[5]));
+            } else if (path.length == 5 && "complete".equals(path[4])) {
+                complete(exchange, path[3]);
+            } else {
+                exchange.respond(404);
+            }
+        }
+
+        private void create(FakeHttpServer.Exchange exchange) throws IOException, JSONException {
+            String sha256 = new JSONObject(exchange.bodyText()).getString("sha256");
+            if (stored.containsKey(sha256)) {
+                exchange.respond(200, new JSONObject().put("status", "exists").toString());
+                return;
+            }
+            String id = "u" + (++sessionsCreated);
+            sessions.put(id, new Session(sha256));
+            exchange.respond(201, new JSONObject().put("uploadId", id).put("nextChunk", 0).toString());
+        }
+
+        private void chunk(FakeHttpServer.Exchange exchange, String id, int index) throws IOException, JSONException {
+            chunkRequests.add(index);
+            Deque<Fault> faults = faultsByChunk.get(index);
+            Fault fault = faults != null ? faults.poll() : null;
+            if (fault == Fault.DROP_MID_CHUNK) {
+                exchange.dropAfter(CHUNK / 2);
+                return;
+            }
+            if (fault == Fault.FORGET_SESSION) {
+                sessions.remove(id);
+            }
+            byte[] body = exchange.body();
+            Session session = sessions.get(id);
+            if (session == null) {
+                exchange.respond(404);
+                return;
+            }
+            if (fault == Fault.CORRUPT) {
+                body[0] ^= 1;
+            }
+            String checksum = exchange.header("X-Chunk-SHA256");
+            if (!ChunkedUploader.hex(ChunkedUploader.sha256(body, body.length)).equals(checksum)) {
+                exchange.respond(422);
+                return;
+            }
+            if (index != session.next) {
+                exchange.respond(409, new JSONObject().put("nextChunk", session.next).toString());
+                return;
+            }
+            checksums.add(checksum);
+            session.data.write(body);
+            session.next++;
+            exchange.respond(200, new JSONObject().put("nextChunk", session.next).toString());
+        }
+
+        private void complete(FakeHttpServer.Exchange exchange, String id) throws IOException {
+            Session session = sessions.remove(id);
+            if (session == null) {
+                exchange.respond(404);
+                return;
+            }
+            byte[] data = session.data.toByteArray();
+            if (!ChunkedUploader.hex(ChunkedUploader.sha256(data, data.length)).equals(session.sha256)) {
+                exchange.respond(422);
+                return;
+            }
+            stored.put(session.sha256, data);
+            exchange.respond(200);
+        }
+
+        static final class Session {
+            final String sha256;
+            final ByteArrayOutputStream data = new ByteArrayOutputStream();
+            int next;
+
+            Session(String sha256) {
+                this.sha256 = sha256;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Percentis e contagens do histograma de frames: baldes de 1 ms até 100 ms, de 100 ms até 1 s
+ * e frames lentos (acima de 16 ms) e congelados (acima de 700 ms) contados à parte.
+ */
+public class FrameHistogramTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    public void empty_reportsNoPercentiles() {
+        FrameHistogram histogram = new FrameHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(-1, histogram.percentileMs(0.5));
+    }
+
+    @Test
+    public void percentiles_followTheDistribution() {
+        FrameHistogram histogram = new FrameHistogram();
+        record(histogram, 8 * MS, 50);
+        record(histogram, 12 * MS, 40);
+        record(histogram, 30 * MS, 9);
+        record(histogram, 250 * MS, 1);
+
+        assertEquals(8, histogram.percentileMs(0.50));
+        assertEquals(12, histogram.percentileMs(0.90));
+        assertEquals(30, histogram.percentileMs(0.99));
+        assertEquals(300, histogram.percentileMs(1.0));
+        assertEquals(250, histogram.getMaxMs());
+    }
+
+    @Test
+    public void durations_roundUpToTheNextMillisecond() {
+        FrameHistogram histogram = new FrameHistogram();
+        histogram.record(16 * MS + 200_000);
+
+        assertEquals(17, histogram.percentileMs(0.5));
+    }
+
+    @Test
+    public void slowAndFrozen_useVitalsThresholds() {
+        FrameHistogram histogram = new FrameHistogram();
+        histogram.record(16 * MS);
+        histogram.record(17 * MS);
+        histogram.record(700 * MS);
+        histogram.record(701 * MS);
+
+        assertEquals(3, histogram.getSlowCount());
+        assertEquals(1, histogram.getFrozenCount());
+    }
+
+    @Test
+    public void overflow_reportsTheLongestFrame() {
+        FrameHistogram histogram = new FrameHistogram();
+        histogram.record(5 * MS);
+        histogram.record(2_500 * MS);
+
+        assertEquals(2_500, histogram.percentileMs(0.99));
+    }
+
+    @Test
+    public void copy_isIndependent() {
+        FrameHistogram histogram = new FrameHistogram();
+        histogram.record(10 * MS);
+        FrameHistogram copy = histogram.copy();
+        histogram.record(20 * MS);
+
+        assertEquals(1, copy.getCount());
+        assertEquals(10, copy.percentileMs(1.0));
+    }
+
+    private static void record(FrameHistogram histogram, long durationNanos, int times) {
+        for (int i = 0; i < times; i++) {
+            histogram.record(durationNanos);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+/**
+ * Atribuição de frames a telas e interações com uma fonte de frames falsa: abertura e toques
+ * ficam separados dos frames ociosos, e nada é gravado depois que a fonte é desligada.
+ */
+public class FrameTrackerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private long now;
+    private FrameTracker tracker;
+    private FakeFrameSource source;
+
+    @Before
+    public void setUp() {
+        now = 1_000 * MS;
+        tracker = new FrameTracker(() -> now);
+        source = new FakeFrameSource();
+    }
+
+    @Test
+    public void attach_startsTheSourceAndDetachStopsIt() {
+        tracker.attach(source);
+        assertTrue(source.isRunning());
+
+        tracker.detach();
+        assertFalse(source.isRunning());
+    }
+
+    @Test
+    public void framesAfterOpening_countAsOpenThenIdle() {
+        tracker.attach(source);
+        tracker.setScreen("nav_profile");
+
+        source.emit(now + 16 * MS, 40 * MS);
+        source.emit(now + 32 * MS, 24 * MS);
+        source.emit(now + FrameTracker.INTERACTION_WINDOW_NS + 16 * MS, 8 * MS);
+
+        FrameHistogram open = tracker.getHistogram("nav_profile", FrameTracker.INTERACTION_OPEN);
+        FrameHistogram idle = tracker.getHistogram("nav_profile", FrameTracker.INTERACTION_IDLE);
+        assertEquals(2, open.getCount());
+        assertEquals(2, open.getSlowCount());
+        assertEquals(40, open.percentileMs(0.99));
+        assertEquals(1, idle.getCount());
+        assertEquals(0, idle.getSlowCount());
+    }
+
+    @Test
+    public void markedInteraction_isKeptPerScreen() {
+        tracker.attach(source);
+        tracker.setScreen("nav_settings");
+        now += 5_000 * MS;
+        tracker.markInteraction(FrameTracker.INTERACTION_TOGGLE);
+        source.emit(now + 16 * MS, 120 * MS);
+
+        tracker.setScreen("nav_home");
+        source.emit(now + 16 * MS, 10 * MS);
+
+        assertEquals(1, tracker.getHistogram("nav_settings", FrameTracker.INTERACTION_TOGGLE).getCount());
+        assertNull(tracker.getHistogram("nav_home", FrameTracker.INTERACTION_TOGGLE));
+        assertEquals(1, tracker.getHistogram("nav_home", FrameTracker.INTERACTION_OPEN).getCount());
+    }
+
+    @Test
+    public void lateFramesFromBeforeTheMark_stayIdle() {
+        tracker.attach(source);
+        tracker.setScreen("nav_settings");
+        now += 5_000 * MS;
+        long idleFrameStart = now - 16 * MS;
+        tracker.markInteraction(FrameTracker.INTERACTION_TOGGLE);
+
+        // Métricas de um frame ocioso entregues depois do toque
+        source.emit(idleFrameStart, 90 * MS);
+        source.emit(now + 16 * MS, 30 * MS);
+
+        assertEquals(1, tracker.getHistogram("nav_settings", FrameTracker.INTERACTION_TOGGLE).getCount());
+        assertEquals(30, tracker.getHistogram("nav_settings", FrameTracker.INTERACTION_TOGGLE).percentileMs(1.0));
+        assertEquals(1, tracker.getHistogram("nav_settings", FrameTracker.INTERACTION_IDLE).getCount());
+    }
+
+    @Test
+    public void frozenFrames_areCounted() {
+        tracker.attach(source);
+        tracker.setScreen("nav_profile");
+        source.emit(now, 900 * MS);
+
+        FrameHistogram open = tracker.getHistogram("nav_profile", FrameTracker.INTERACTION_OPEN);
+        assertEquals(1, open.getFrozenCount());
+        assertEquals(1, open.getSlowCount());
+    }
+
+    @Test
+    public void framesAfterDetach_areIgnored() {
+        tracker.attach(source);
+        tracker.setScreen("nav_home");
+        FrameTracker.Listener listener = source.listener;
+        tracker.detach();
+
+        listener.onFrame(now, 30 * MS);
+
+        assertTrue(tracker.snapshot().isEmpty());
+    }
+
+    @Test
+    public void attach_replacesThePreviousSource() {
+        FakeFrameSource other = new FakeFrameSource();
+        tracker.attach(source);
+        tracker.attach(other);
+
+        assertFalse(source.isRunning());
+        assertTrue(other.isRunning());
+    }
+
+    @Test
+    public void snapshot_andJsonListOnlyCombinationsWithFrames() {
+        tracker.attach(source);
+        tracker.setScreen("nav_settings");
+        source.emit(now, 12 * MS);
+        tracker.setScreen("nav_profile");
+
+        Map<String, FrameHistogram> snapshot = tracker.snapshot();
+        assertEquals(1, snapshot.size());
+        assertTrue(snapshot.containsKey("nav_settings/open"));
+        assertEquals("{\"screens\":[{\"screen\":\"nav_settings\",\"interaction\":\"open\",\"frames\":1,"
+                        + "\"p50\":12,\"p90\":12,\"p99\":12,\"max\":12,\"mean\":12.00,\"slow\":0,\"frozen\":0}]}",
+                tracker.toJson());
+    }
+
+    @Test
+    public void reset_clearsRecordedFrames() {
+        tracker.attach(source);
+        tracker.setScreen("nav_home");
+        source.emit(now, 12 * MS);
+        tracker.reset();
+        source.emit(now, 14 * MS);
+
+        assertEquals(14, tracker.getHistogram("nav_home", FrameTracker.INTERACTION_OPEN).percentileMs(1.0));
+        assertEquals(1, tracker.snapshot().size());
+    }
+
+    // Entrega frames só enquanto ligada, como as fontes reais
+    private static final class FakeFrameSource implements FrameTracker.FrameSource {
+        FrameTracker.Listener listener;
+        private boolean running;
+
+        @Override
+        public void start(FrameTracker.Listener listener) {
+            this.listener = listener;
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        boolean isRunning() {
+            return running;
+        }
+
+        void emit(long frameStartNanos, long durationNanos) {
+            if (running) {
+                listener.onFrame(frameStartNanos, durationNanos);
+            }
+        }
+    }
+}
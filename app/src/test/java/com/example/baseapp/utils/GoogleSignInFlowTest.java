@@ -0,0 +1,230 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.os.CancellationSignal;
+
+import androidx.credentials.CredentialManagerCallback;
+import androidx.credentials.GetCredentialRequest;
+import androidx.credentials.GetCredentialResponse;
+import androidx.credentials.GetPasswordOption;
+import androidx.credentials.PasswordCredential;
+import androidx.credentials.exceptions.GetCredentialCancellationException;
+import androidx.credentials.exceptions.GetCredentialException;
+import androidx.credentials.exceptions.NoCredentialException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Fluxo de login contra um CredentialManager falso: pedidos preparados antes do toque,
+ * contas autorizadas primeiro (exceto ao conectar mais uma conta), cancelamento ao sair da tela e
+ * medição do toque até a credencial.
+ */
+public class GoogleSignInFlowTest {
+
+    private final GetCredentialRequest authorizedRequest = request();
+    private final GetCredentialRequest anyAccountRequest = request();
+
+    private FakeCredentialClient client;
+    private long now;
+    private GoogleSignInFlow flow;
+    private RecordingCallback callback;
+
+    @Before
+    public void setUp() {
+        client = new FakeCredentialClient();
+        now = 1_000;
+        flow = new GoogleSignInFlow(client, authorizedRequest, anyAccountRequest, Runnable::run, () -> now);
+        callback = new RecordingCallback();
+    }
+
+    @Test
+    public void prepare_preparesBothRequestsBeforeTheTap() {
+        flow.prepare();
+
+        assertEquals(2, client.prepared.size());
+        assertSame(authorizedRequest, client.prepared.get(0));
+        assertSame(anyAccountRequest, client.prepared.get(1));
+        assertTrue(client.calls.isEmpty());
+    }
+
+    @Test
+    public void signIn_triesAuthorizedAccountsFirst() {
+        flow.prepare();
+        flow.signIn(callback);
+
+        assertEquals(1, client.calls.size());
+        assertSame(authorizedRequest, client.calls.get(0).request);
+
+        GetCredentialResponse response = response();
+        client.calls.get(0).callback.onResult(response);
+
+        assertSame(response, callback.response);
+        assertFalse(flow.lastUsedFallback());
+        assertFalse(flow.isInFlight());
+    }
+
+    @Test
+    public void signIn_fallsBackToAllAccountsWhenNoneAuthorized() {
+        flow.signIn(callback);
+        client.calls.get(0).callback.onError(new NoCredentialException());
+
+        assertEquals(2, client.calls.size());
+        assertSame(anyAccountRequest, client.calls.get(1).request);
+        assertNull(callback.error);
+
+        client.calls.get(1).callback.onResult(response());
+        assertTrue(flow.lastUsedFallback());
+        assertEquals(1, callback.successes);
+    }
+
+    @Test
+    public void forNewAccount_goesStraightToAllAccounts() {
+        flow = GoogleSignInFlow.forNewAccount(client, anyAccountRequest, Runnable::run, () -> now);
+        flow.prepare();
+        flow.signIn(callback);
+
+        assertEquals(1, client.prepared.size());
+        assertSame(anyAccountRequest, client.prepared.get(0));
+        assertEquals(1, client.calls.size());
+        assertSame(anyAccountRequest, client.calls.get(0).request);
+
+        client.calls.get(0).callback.onResult(response());
+        assertTrue(flow.lastUsedFallback());
+        assertEquals(1, callback.successes);
+    }
+
+    @Test
+    public void forNewAccount_reportsNoCredentialInsteadOfRetrying() {
+        flow = GoogleSignInFlow.forNewAccount(client, anyAccountRequest, Runnable::run, () -> now);
+        flow.signIn(callback);
+        GetCredentialException none = new NoCredentialException();
+        client.calls.get(0).callback.onError(none);
+
+        assertEquals(1, client.calls.size());
+        assertSame(none, callback.error);
+        assertFalse(flow.isInFlight());
+    }
+
+    @Test
+    public void signIn_doesNotFallBackWhenUserDismisses() {
+        flow.signIn(callback);
+        GetCredentialException dismissed = new GetCredentialCancellationException();
+        client.calls.get(0).callback.onError(dismissed);
+
+        assertEquals(1, client.calls.size());
+        assertSame(dismissed, callback.error);
+        assertFalse(flow.isInFlight());
+    }
+
+    @Test
+    public void signIn_ignoresRepeatedTapsWhileInFlight() {
+        flow.signIn(callback);
+        flow.signIn(callback);
+        flow.signIn(callback);
+
+        assertEquals(1, client.calls.size());
+    }
+
+    @Test
+    public void signIn_passesTheScreenCancellationSignal() {
+        flow.prepare();
+        flow.signIn(callback);
+
+        assertSame(client.prepareSignals.get(0), client.calls.get(0).signal);
+    }
+
+    @Test
+    public void cancel_dropsLateResultsAndFurtherTaps() {
+        flow.signIn(callback);
+        flow.cancel();
+        client.calls.get(0).callback.onResult(response());
+        flow.signIn(callback);
+
+        assertTrue(flow.isCancelled());
+        assertEquals(0, callback.successes);
+        assertNull(callback.error);
+        assertEquals(1, client.calls.size());
+    }
+
+    @Test
+    public void signIn_measuresTapToCredential() {
+        assertEquals(-1, flow.getLastCredentialMs());
+
+        flow.signIn(callback);
+        now += 180;
+        client.calls.get(0).callback.onError(new NoCredentialException());
+        now += 320;
+        client.calls.get(1).callback.onResult(response());
+
+        assertEquals(500, flow.getLastCredentialMs());
+    }
+
+    private static GetCredentialRequest request() {
+        return new GetCredentialRequest.Builder()
+                .addCredentialOption(new GetPasswordOption())
+                .build();
+    }
+
+    private static GetCredentialResponse response() {
+        return new GetCredentialResponse(new PasswordCredential("usuario", "senha"));
+    }
+
+    private static final class Call {
+        final GetCredentialRequest request;
+        final CancellationSignal signal;
+        final CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback;
+
+        Call(GetCredentialRequest request, CancellationSignal signal,
+             CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback) {
+            this.request = request;
+            this.signal = signal;
+            this.callback = callback;
+        }
+    }
+
+    // Guarda cada chamada para que o teste decida quando e como o "provedor" responde
+    private static final class FakeCredentialClient implements GoogleSignInFlow.CredentialClient {
+        final List<GetCredentialRequest> prepared = new ArrayList<>();
+        final List<CancellationSignal> prepareSignals = new ArrayList<>();
+        final List<Call> calls = new ArrayList<>();
+
+        @Override
+        public void prepare(GetCredentialRequest request, CancellationSignal signal) {
+            prepared.add(request);
+            prepareSignals.add(signal);
+        }
+
+        @Override
+        public void getCredential(GetCredentialRequest request, CancellationSignal signal, Executor executor,
+                                  CredentialManagerCallback<GetCredentialResponse, GetCredentialException> callback) {
+            calls.add(new Call(request, signal, callback));
+        }
+    }
+
+    private static final class RecordingCallback implements GoogleSignInFlow.Callback {
+        GetCredentialResponse response;
+        GetCredentialException error;
+        int successes;
+
+        @Override
+        public void onSuccess(GetCredentialResponse response) {
+            this.response = response;
+            successes++;
+        }
+
+        @Override
+        public void onError(GetCredentialException e) {
+            this.error = e;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Agrupamento de um canal de notificações: cada mensagem vira um filho com id próprio, rajadas seguidas
+ * somam filhos sob o mesmo resumo e cada flush respeita o limite de publicações.
+ */
+public class NotificationGroupTest {
+
+    private static final int BUDGET = 2;
+
+    @Test
+    public void twoBurstsInARowKeepEveryNotificationVisible() {
+        NotificationGroup group = new NotificationGroup();
+        List<Integer> posted = new ArrayList<>();
+
+        burst(group, "a", "b", "c");
+        NotificationGroup.Flush last = drainAll(group, posted);
+        assertEquals(3, last.shownCount);
+
+        burst(group, "d", "e");
+        last = drainAll(group, posted);
+
+        Set<Integer> ids = new HashSet<>(posted);
+        assertEquals(5, ids.size());
+        assertFalse(ids.contains(NotificationGroup.SUMMARY_ID));
+        assertEquals(ids, new HashSet<>(group.getShownIds()));
+        // O resumo final conta as duas rajadas
+        assertNotNull(last.summaryLines);
+        assertEquals(5, last.shownCount);
+        assertEquals("e", last.summaryLines.get(last.summaryLines.size() - 1).title);
+    }
+
+    @Test
+    public void singleMessageHasNoSummary() {
+        NotificationGroup group = new NotificationGroup();
+        burst(group, "a");
+
+        NotificationGroup.Flush flush = group.drain(BUDGET);
+
+        assertEquals(1, flush.children.size());
+        assertNull(flush.summaryLines);
+    }
+
+    @Test
+    public void eachFlushStaysWithinTheBudget() {
+        NotificationGroup group = new NotificationGroup();
+        burst(group, "a", "b", "c", "d", "e");
+
+        while (group.hasPending()) {
+            NotificationGroup.Flush flush = group.drain(BUDGET);
+            int posts = flush.children.size() + (flush.summaryLines != null ? 1 : 0);
+            assertTrue(posts > 0 && posts <= BUDGET);
+        }
+    }
+
+    @Test
+    public void sameKeyUpdatesTheSameNotification() {
+        NotificationGroup group = new NotificationGroup();
+        group.enqueue(message("pedido", "enviado"));
+        int first = group.drain(BUDGET).children.get(0).id;
+
+        assertEquals(NotificationGroup.Enqueued.ADDED, group.enqueue(message("pedido", "a caminho")));
+        assertEquals(NotificationGroup.Enqueued.REPLACED, group.enqueue(message("pedido", "entregue")));
+        NotificationGroup.Flush flush = group.drain(BUDGET);
+
+        assertEquals(1, flush.children.size());
+        assertEquals(first, flush.children.get(0).id);
+        assertEquals("entregue", flush.children.get(0).message.text);
+        assertEquals(1, group.getShownIds().size());
+    }
+
+    @Test
+    public void dismissedNotificationsLeaveTheSummary() {
+        NotificationGroup group = new NotificationGroup();
+        List<Integer> posted = new ArrayList<>();
+        burst(group, "a", "b", "c");
+        drainAll(group, posted);
+
+        // Usuário dispensou "a" e "b"
+        group.retainShown(Arrays.asList(posted.get(2)));
+        burst(group, "d");
+        NotificationGroup.Flush flush = group.drain(BUDGET);
+
+        assertEquals(2, flush.shownCount);
+    }
+
+    @Test
+    public void fullQueueDropsTheOldest() {
+        NotificationGroup group = new NotificationGroup();
+        for (int i = 0; i < NotificationGroup.MAX_PENDING; i++) {
+            assertEquals(NotificationGroup.Enqueued.ADDED, group.enqueue(message(null, "m" + i)));
+        }
+
+        assertEquals(NotificationGroup.Enqueued.DROPPED_OLDEST, group.enqueue(message(null, "novo")));
+        assertEquals(NotificationGroup.MAX_PENDING, group.clearPending());
+    }
+
+    private static void burst(NotificationGroup group, String... keys) {
+        for (String key : keys) {
+            group.enqueue(message(key, "texto " + key));
+        }
+    }
+
+    private static NotificationGroup.Message message(String key, String text) {
+        return new NotificationGroup.Message(key, key, text);
+    }
+
+    // Flushes seguidos até esvaziar a fila, como o dispatcher faz a cada intervalo do canal
+    private static NotificationGroup.Flush drainAll(NotificationGroup group, List<Integer> posted) {
+        NotificationGroup.Flush flush = null;
+        while (group.hasPending()) {
+            flush = group.drain(BUDGET);
+            for (NotificationGroup.Post post : flush.children) {
+                posted.add(post.id);
+            }
+        }
+        return flush;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Diário de lembretes em disco: reprodução após reiniciar, cauda cortada ou corrompida por uma escrita
+ * interrompida (descartada e removida do arquivo) e compactação mantendo só os pendentes.
+ */
+public class ReminderJournalTest {
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("reminders", ".journal");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+        new File(file.getPath() + ".tmp").delete();
+    }
+
+    @Test
+    public void replayAfterRestartKeepsOnlyPendingReminders() throws IOException {
+        ReminderJournal journal = new ReminderJournal(file);
+        journal.appendAdd(entry("perfil", 1_000), false);
+        journal.appendAdd(entry("foto", 2_000), false);
+        journal.appendAdd(entry("perfil", 3_000), true);
+        journal.appendRemove("foto");
+        journal.close();
+
+        ReminderJournal restarted = new ReminderJournal(file);
+        Map<String, ReminderJournal.Entry> live = restarted.load();
+
+        assertEquals(Arrays.asList("perfil"), new ArrayList<>(live.keySet()));
+        assertEquals(3_000, live.get("perfil").dueAt);
+        // ADD substituído, mais ADD e REMOVE de "foto"
+        assertEquals(3, restarted.getDeadRecords());
+    }
+
+    @Test
+    public void fieldsSurviveTheRoundTrip() throws IOException {
+        ReminderJournal journal = new ReminderJournal(file);
+        journal.appendAdd(new ReminderJournal.Entry("a", 42, "canal", "Título", null), false);
+        journal.appendAdd(new ReminderJournal.Entry("b", 43, "canal", "Título", "Texto com acentuação"), false);
+        journal.close();
+
+        Map<String, ReminderJournal.Entry> live = new ReminderJournal(file).load();
+
+        assertEquals(Arrays.asList("a", "b"), new ArrayList<>(live.keySet()));
+        assertEquals("canal", live.get("a").channelId);
+        assertEquals("Título", live.get("a").title);
+        assertNull(live.get("a").text);
+        assertEquals("Texto com acentuação", live.get("b").text);
+    }
+
+    @Test
+    public void truncatedLastRecordIsDroppedAndCutFromTheFile() throws IOException {
+        long firstRecordEnd = writeTwoReminders();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        Map<String, ReminderJournal.Entry> live = new ReminderJournal(file).load();
+
+        assertEquals(Arrays.asList("primeiro"), new ArrayList<>(live.keySet()));
+        assertEquals(firstRecordEnd, file.length());
+    }
+
+    @Test
+    public void corruptedLastRecordIsDroppedAndCutFromTheFile() throws IOException {
+        long firstRecordEnd = writeTwoReminders();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Um byte do conteúdo do último registro: o CRC não confere mais
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        }
+
+        Map<String, ReminderJournal.Entry> live = new ReminderJournal(file).load();
+
+        assertEquals(Arrays.asList("primeiro"), new ArrayList<>(live.keySet()));
+        assertEquals(firstRecordEnd, file.length());
+    }
+
+    @Test
+    public void garbageLengthInTheTailIsDropped() throws IOException {
+        long firstRecordEnd = writeTwoReminders();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // Cabeçalho do segundo registro com um tamanho impossível
+            raf.seek(firstRecordEnd);
+            raf.writeInt(Integer.MAX_VALUE);
+        }
+
+        assertEquals(Arrays.asList("primeiro"), new ArrayList<>(new ReminderJournal(file).load().keySet()));
+        assertEquals(firstRecordEnd, file.length());
+    }
+
+    @Test
+    public void recordsAppendedAfterATornTailAreReadBack() throws IOException {
+        writeTwoReminders();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        ReminderJournal journal = new ReminderJournal(file);
+        journal.load();
+        journal.appendAdd(entry("terceiro", 3_000), false);
+        journal.close();
+
+        Map<String, ReminderJournal.Entry> live = new ReminderJournal(file).load();
+
+        assertEquals(Arrays.asList("primeiro", "terceiro"), new ArrayList<>(live.keySet()));
+    }
+
+    @Test
+    public void compactionKeepsOnlyPendingReminders() throws IOException {
+        ReminderJournal journal = new ReminderJournal(file);
+        for (int i = 0; i < 10; i++) {
+            journal.appendAdd(entry("r" + i, i), false);
+        }
+        for (int i = 0; i < 9; i++) {
+            journal.appendRemove("r" + i);
+        }
+        long before = file.length();
+
+        Map<String, ReminderJournal.Entry> live = new ReminderJournal(file).load();
+        journal.compact(live.values());
+
+        assertEquals(0, journal.getDeadRecords());
+        assertTrue(file.length() < before);
+        ReminderJournal restarted = new ReminderJournal(file);
+        assertEquals(Arrays.asList("r9"), new ArrayList<>(restarted.load().keySet()));
+        assertEquals(0, restarted.getDeadRecords());
+    }
+
+    // Devolve o tamanho do arquivo logo após o primeiro registro
+    private long writeTwoReminders() throws IOException {
+        ReminderJournal journal = new ReminderJournal(file);
+        journal.appendAdd(entry("primeiro", 1_000), false);
+        long firstRecordEnd = file.length();
+        journal.appendAdd(entry("segundo", 2_000), false);
+        journal.close();
+        return firstRecordEnd;
+    }
+
+    private static ReminderJournal.Entry entry(String key, long dueAt) {
+        return new ReminderJournal.Entry(key, dueAt, "default", "Lembrete " + key, "Texto");
+    }
+}
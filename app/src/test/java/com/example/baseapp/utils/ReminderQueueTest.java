@@ -0,0 +1,103 @@
+package com.example.baseapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Heap indexado dos lembretes: ordem por vencimento, substituição pela mesma key e remoção de qualquer
+ * posição sem deixar entradas mortas, conferidos contra um mapa ordenado com milhares de lembretes.
+ */
+public class ReminderQueueTest {
+
+    @Test
+    public void peekReturnsTheEarliestReminder() {
+        ReminderQueue queue = new ReminderQueue();
+        queue.put(entry("b", 300));
+        queue.put(entry("a", 100));
+        queue.put(entry("c", 200));
+
+        assertEquals("a", queue.peek().key);
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void replacingAKeyMovesItWithoutDuplicating() {
+        ReminderQueue queue = new ReminderQueue();
+        ReminderJournal.Entry first = entry("a", 100);
+        queue.put(first);
+        queue.put(entry("b", 200));
+
+        assertSame(first, queue.put(entry("a", 300)));
+        assertEquals(2, queue.size());
+        assertEquals("b", queue.peek().key);
+        queue.remove("b");
+        assertEquals(300, queue.peek().dueAt);
+    }
+
+    @Test
+    public void removeDropsTheEntryFromAnyPosition() {
+        ReminderQueue queue = new ReminderQueue();
+        for (int i = 0; i < 10; i++) {
+            queue.put(entry("k" + i, i * 10));
+        }
+
+        assertEquals(50, queue.remove("k5").dueAt);
+        assertNull(queue.remove("k5"));
+        assertEquals(9, queue.size());
+        assertEquals("k0", queue.remove("k0").key);
+        assertEquals("k1", queue.peek().key);
+    }
+
+    @Test
+    public void randomOperationsMatchASortedMap() {
+        ReminderQueue queue = new ReminderQueue();
+        // Vencimento -> key; vencimentos únicos para a ordem do topo ser determinística
+        TreeMap<Long, String> expected = new TreeMap<>();
+        Map<String, Long> dueByKey = new HashMap<>();
+        Random random = new Random(42);
+        long nextDue = 0;
+        for (int i = 0; i < 20_000; i++) {
+            String key = "k" + random.nextInt(5_000);
+            int op = random.nextInt(3);
+            if (op < 2) {
+                long due = random.nextInt(1_000_000) * 100_000L + nextDue++;
+                Long previous = dueByKey.put(key, due);
+                if (previous != null) {
+                    expected.remove(previous);
+                }
+                expected.put(due, key);
+                queue.put(entry(key, due));
+            } else {
+                Long previous = dueByKey.remove(key);
+                if (previous != null) {
+                    expected.remove(previous);
+                    assertEquals(key, queue.remove(key).key);
+                } else {
+                    assertNull(queue.remove(key));
+                }
+            }
+            assertEquals(expected.size(), queue.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.firstEntry().getValue(), queue.peek().key);
+            }
+        }
+        while (!expected.isEmpty()) {
+            String key = expected.pollFirstEntry().getValue();
+            assertEquals(key, queue.peek().key);
+            queue.remove(key);
+        }
+        assertNull(queue.peek());
+    }
+
+    private static ReminderJournal.Entry entry(String key, long dueAt) {
+        return new ReminderJournal.Entry(key, dueAt, "reminders", "Título", "Texto");
+    }
+}
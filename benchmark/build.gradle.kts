@@ -0,0 +1,93 @@
+import java.util.Properties
+
+// Benchmarks JMH dos caminhos do app que rodam fora do dispositivo.
+// Executar com: ./gradlew :benchmark:jmh  (resultados em benchmark/build/results/jmh/results.json)
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+// As classes do app são compiladas direto das fontes do módulo app; só entram arquivos
+// que não dependem de recursos (R) nem de comportamento real do framework
+sourceSets {
+    main {
+        java {
+            srcDir("../app/src/main/java")
+            include(
+                "com/example/baseapp/model/**",
+                "com/example/baseapp/adapter/ItemDiff.java",
+                "com/example/baseapp/adapter/SettingItemCallback.java",
+                "com/example/baseapp/data/SettingsSearchIndex.java",
+                "com/example/baseapp/data/PreferencesStore.java",
+                "com/example/baseapp/data/PrefKeys.java",
+                "com/example/baseapp/utils/AppExecutors.java",
+                "com/example/baseapp/utils/TaskStats.java",
+                "com/example/baseapp/utils/TraceRecorder.java",
+                "com/example/baseapp/utils/ReminderJournal.java",
+            )
+        }
+    }
+}
+
+// API do Android só para compilar PreferencesStore e TraceRecorder (Context, SharedPreferences, Trace), que os
+// benchmarks não executam: o android.jar do SDK local, se houver; senão o android-all do Robolectric, do Maven Central
+val localAndroidJar: File? = run {
+    val localProperties = Properties()
+    val localFile = rootProject.file("local.properties")
+    if (localFile.exists()) {
+        localFile.inputStream().use { localProperties.load(it) }
+    }
+    val sdkDir = localProperties.getProperty("sdk.dir")
+        ?: System.getenv("ANDROID_HOME")
+        ?: System.getenv("ANDROID_SDK_ROOT")
+    sdkDir?.let { file("$it/platforms/android-34/android.jar") }?.takeIf { it.exists() }
+}
+
+// DiffUtil vem num AAR; o classes.jar dele é Java puro e roda na JVM
+val recyclerViewAar: Configuration by configurations.creating {
+    isTransitive = false
+}
+
+val extractRecyclerView by tasks.registering(Copy::class) {
+    from(provider { recyclerViewAar.map { zipTree(it) } })
+    include("classes.jar")
+    into(layout.buildDirectory.dir("aar/recyclerview"))
+}
+
+val recyclerViewClasses = files(layout.buildDirectory.file("aar/recyclerview/classes.jar")).builtBy(extractRecyclerView)
+
+dependencies {
+    // Em tempo de execução só para a verificação de bytecode das classes do app
+    if (localAndroidJar != null) {
+        compileOnly(files(localAndroidJar))
+        jmhRuntimeOnly(files(localAndroidJar))
+    } else {
+        compileOnly(libs.robolectric.android.all)
+        jmhRuntimeOnly(libs.robolectric.android.all)
+    }
+    compileOnly(libs.androidx.lifecycle.common)
+    compileOnly(libs.androidx.annotation)
+
+    recyclerViewAar("androidx.recyclerview:recyclerview:${libs.versions.recyclerView.get()}@aar")
+    // Também no main: o callback e o diff do adapter são compilados das fontes do app
+    implementation(recyclerViewClasses)
+    jmhImplementation(libs.androidx.annotation)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // JSON para comparar execuções (ex.: jmh.morethan.io ou um diff entre dois arquivos)
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+    // Filtro opcional: ./gradlew :benchmark:jmh -Pjmh.includes=SettingsSearch
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,125 @@
+package com.example.baseapp.adapter;
+
+import androidx.recyclerview.widget.DiffUtil;
+
+import com.example.baseapp.model.BooleanSettingItem;
+import com.example.baseapp.model.EnumSettingItem;
+import com.example.baseapp.model.IntSettingItem;
+import com.example.baseapp.model.SettingItem;
+import com.example.baseapp.model.SettingSection;
+import com.example.baseapp.model.StringSettingItem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diff das listas de configurações como o IncrementalAdapter faz: DiffUtil real sobre os modelos reais,
+ * com o próprio callback do SettingsAdapter (SettingItemCallback).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemDiffBenchmark {
+
+    @Param({"20", "200", "2000"})
+    public int size;
+
+    private List<SettingItem> oldItems;
+    // Um valor alterado: o caso comum de um toque num switch
+    private List<SettingItem> oneValueChanged;
+    // Um item removido e outro inserido em posições distantes
+    private List<SettingItem> moved;
+    private List<SettingItem> reversed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        oldItems = items(size);
+
+        oneValueChanged = new ArrayList<>(oldItems);
+        int toggle = firstToggle(oneValueChanged, size / 2);
+        oneValueChanged.set(toggle, ((BooleanSettingItem) oneValueChanged.get(toggle)).withToggleValue(
+                !oneValueChanged.get(toggle).getToggleValue()));
+
+        moved = new ArrayList<>(oldItems);
+        SettingItem removed = moved.remove(size / 4);
+        moved.add(size - size / 4 - 1, removed);
+
+        reversed = new ArrayList<>(oldItems);
+        Collections.reverse(reversed);
+    }
+
+    @Benchmark
+    public DiffUtil.DiffResult identical() {
+        return diff(oldItems, new ArrayList<>(oldItems));
+    }
+
+    @Benchmark
+    public DiffUtil.DiffResult oneValueChanged() {
+        return diff(oldItems, oneValueChanged);
+    }
+
+    @Benchmark
+    public DiffUtil.DiffResult oneItemMoved() {
+        return diff(oldItems, moved);
+    }
+
+    @Benchmark
+    public DiffUtil.DiffResult reversed() {
+        return diff(oldItems, reversed);
+    }
+
+    // O mesmo diff do IncrementalAdapter.submitList, com o callback do SettingsAdapter
+    private static DiffUtil.DiffResult diff(List<SettingItem> oldList, List<SettingItem> newList) {
+        return ItemDiff.calculate(oldList, newList, SettingItemCallback.INSTANCE);
+    }
+
+    // Mistura dos tipos do esquema, com uma seção a cada dez itens
+    static List<SettingItem> items(int count) {
+        String[] labels = {"Claro", "Escuro", "Sistema"};
+        String[] values = {"light", "dark", "system"};
+        List<SettingItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String key = "setting_" + i;
+            switch (i % 10) {
+                case 0:
+                    items.add(new SettingSection("Seção " + i, key));
+                    break;
+                case 3:
+                case 7:
+                    items.add(new IntSettingItem("Tamanho " + i, "Valor em pontos", key, 14, 8, 32));
+                    break;
+                case 5:
+                    items.add(new EnumSettingItem("Aparência " + i, "Tema do aplicativo", key, "system", labels, values));
+                    break;
+                case 9:
+                    items.add(new StringSettingItem("Apelido " + i, "Nome exibido", key, "valor " + i));
+                    break;
+                default:
+                    items.add(new BooleanSettingItem("Opção " + i, "Ativa a opção " + i, key, i % 2 == 0));
+                    break;
+            }
+        }
+        return items;
+    }
+
+    private static int firstToggle(List<SettingItem> items, int from) {
+        for (int i = from; i < items.size(); i++) {
+            if (items.get(i) instanceof BooleanSettingItem) {
+                return i;
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.baseapp.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras e escritas no snapshot imutável do PreferencesStore: leituras são buscas em mapa,
+ * cada escrita copia o arquivo alterado para um novo snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PreferencesSnapshotBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int keysPerFile;
+
+    private PreferencesStore.Snapshot snapshot;
+    private final PreferencesStore.Key<String> stringKey =
+            new PreferencesStore.Key<>(PreferencesStore.FILE_USER, "key_1", String.class, "");
+    private final PreferencesStore.Key<Boolean> missingKey =
+            new PreferencesStore.Key<>(PreferencesStore.FILE_APP, "missing", Boolean.class, false);
+    private Map<String, Map<String, Object>> singleChange;
+    private Map<String, Map<String, Object>> batchChange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Map<String, ?>> files = new HashMap<>();
+        files.put(PreferencesStore.FILE_USER, values("key_", keysPerFile));
+        files.put(PreferencesStore.FILE_APP, values("app_", keysPerFile));
+        snapshot = new PreferencesStore.Snapshot(files);
+
+        singleChange = new HashMap<>();
+        singleChange.put(PreferencesStore.FILE_USER, Collections.singletonMap("key_1", "novo"));
+
+        // Lote de um formulário de perfil: vários campos do mesmo arquivo num único apply
+        batchChange = new HashMap<>();
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            fields.put("key_" + i, "novo " + i);
+        }
+        batchChange.put(PreferencesStore.FILE_USER, fields);
+    }
+
+    @Benchmark
+    public String readPresent() {
+        return snapshot.get(stringKey);
+    }
+
+    @Benchmark
+    public Boolean readDefault() {
+        return snapshot.get(missingKey);
+    }
+
+    @Benchmark
+    public PreferencesStore.Snapshot writeOne() {
+        return snapshot.with(singleChange);
+    }
+
+    @Benchmark
+    public PreferencesStore.Snapshot writeBatch() {
+        return snapshot.with(batchChange);
+    }
+
+    private static Map<String, ?> values(String prefix, int count) {
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            values.put(prefix + i, i % 3 == 0 ? Boolean.valueOf(i % 2 == 0) : "valor " + i);
+        }
+        return Collections.unmodifiableMap(values);
+    }
+}
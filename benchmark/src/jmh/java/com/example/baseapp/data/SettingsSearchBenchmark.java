@@ -0,0 +1,81 @@
+package com.example.baseapp.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montagem do índice de busca das configurações (feita uma vez por idioma) e consultas
+ * digitadas na busca, por prefixo, por trecho e com vários termos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SettingsSearchBenchmark {
+
+    private static final String[] TITLES = {
+            "Notificações", "Modo escuro", "Tamanho do texto", "Idioma", "Sincronização automática",
+            "Privacidade", "Localização", "Armazenamento", "Conta", "Segurança",
+    };
+    private static final String[] DESCRIPTIONS = {
+            "Receber alertas e lembretes", "Usar cores escuras em todas as telas", "Ajustar a fonte do aplicativo",
+            "Escolher o idioma da interface", "Sincronizar o perfil em segundo plano", "Controlar dados compartilhados",
+            "Permitir acesso à localização", "Limpar o cache de imagens", "Gerenciar a conta conectada",
+            "Bloqueio de tela e autenticação",
+    };
+
+    @Param({"10", "100", "1000"})
+    public int entries;
+
+    private List<String> titles;
+    private List<String> descriptions;
+    private SettingsSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        titles = new ArrayList<>(entries);
+        descriptions = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            // Uma seção a cada cinco entradas, como no esquema (seções não entram na busca)
+            titles.add(i % 5 == 4 ? null : TITLES[i % TITLES.length] + " " + i);
+            descriptions.add(DESCRIPTIONS[i % DESCRIPTIONS.length]);
+        }
+        index = new SettingsSearchIndex(titles, descriptions);
+    }
+
+    @Benchmark
+    public SettingsSearchIndex buildIndex() {
+        return new SettingsSearchIndex(titles, descriptions);
+    }
+
+    @Benchmark
+    public int[] searchPrefix() {
+        return index.search("not");
+    }
+
+    // Sem acento e no meio da palavra: passa pela normalização e pelos trigramas
+    @Benchmark
+    public int[] searchSubstring() {
+        return index.search("ficacoes");
+    }
+
+    @Benchmark
+    public int[] searchMultipleTerms() {
+        return index.search("modo esc");
+    }
+
+    @Benchmark
+    public int[] searchNoMatch() {
+        return index.search("bluetooth");
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.baseapp.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escrita em arquivo do app que roda na JVM: o diário dos lembretes, com append de um registro,
+ * releitura completa na primeira chamada após o boot e compactação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReminderJournalBenchmark {
+
+    @Param({"100", "5000"})
+    public int reminders;
+
+    private File directory;
+    private ReminderJournal appendJournal;
+    private File replayFile;
+    private List<ReminderJournal.Entry> entries;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("reminders-bench").toFile();
+        entries = new ArrayList<>(reminders);
+        for (int i = 0; i < reminders; i++) {
+            entries.add(new ReminderJournal.Entry("lembrete_" + i, 1_700_000_000_000L + i * 60_000L,
+                    "default_channel", "Lembrete " + i, i % 2 == 0 ? "Texto do lembrete " + i : null));
+        }
+        // Diário com metade dos registros já mortos, como antes de uma compactação
+        replayFile = new File(directory, "replay.journal");
+        ReminderJournal writer = new ReminderJournal(replayFile);
+        for (ReminderJournal.Entry entry : entries) {
+            writer.appendAdd(entry, false);
+        }
+        for (int i = 0; i < reminders / 2; i++) {
+            writer.appendRemove(entries.get(i).key);
+        }
+        writer.close();
+
+        appendJournal = new ReminderJournal(new File(directory, "append.journal"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        appendJournal.close();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public void appendOne() throws IOException {
+        ReminderJournal.Entry entry = entries.get((int) (sequence++ % reminders));
+        appendJournal.appendAdd(entry, true);
+    }
+
+    @Benchmark
+    public Map<String, ReminderJournal.Entry> replay() throws IOException {
+        return new ReminderJournal(replayFile).load();
+    }
+
+    @Benchmark
+    public void compact() throws IOException {
+        ReminderJournal journal = new ReminderJournal(new File(directory, "compact.journal"));
+        journal.compact(entries);
+    }
+}
@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "BaseApp"
 include(":app")
+include(":benchmark")
  
\ No newline at end of file